@@ -0,0 +1,356 @@
+package com.cultureradar.cache;
+
+import com.cultureradar.model.Event;
+import com.cultureradar.model.EventCategory;
+import com.cultureradar.model.Location;
+import com.cultureradar.model.User;
+import com.cultureradar.util.StringDictionary;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Read-only copy of an {@link Event} and its location for long-lived
+ * in-memory structures such as caches and the recommendation snapshot.
+ *
+ * <p>An entity spends most of its footprint on headers and boxing: a
+ * {@code LocalDateTime} is three objects, every {@code Double} and
+ * {@code Long} one, and each loaded location brings its own copies of
+ * the city and province. Here times are longs, numbers are primitives,
+ * flags share one byte, and the city, province and external source,
+ * which repeat across many events and come from a small set, are
+ * {@link StringDictionary} codes. The venue name, address and postal
+ * code are interned instead: the dictionary never forgets a string, and
+ * venues keep being added, so they are shared between the events of a
+ * venue but released with them. The name, description, image URL and
+ * external ID, which are unique per event, stay plain strings.
+ *
+ * <p>Start and end times are kept to the second. Creation and update
+ * times keep their full precision because they are compared to detect
+ * changes, e.g. by {@link com.cultureradar.json.EventFragmentCache}.
+ */
+public final class CompactEvent {
+
+    private static final long NONE = Long.MIN_VALUE;
+    private static final long DEFAULT_DURATION_SECONDS = Event.DEFAULT_DURATION.toSeconds();
+    private static final EventCategory[] CATEGORIES = EventCategory.values();
+
+    private static final byte FREE = 1;
+    private static final byte APPROVED = 2;
+    private static final byte HAS_LOCATION = 4;
+
+    private final long id;
+    private final String name;
+    private final String description;
+    private final String imageUrl;
+    private final String externalId;
+    private final int externalSource;
+    private final long startTime;
+    private final long endTime;
+    private final double price;
+    private final byte category;
+    private final byte flags;
+    private final long viewCount;
+    private final long clickCount;
+    private final long createdAt;
+    private final long updatedAt;
+    private final long creatorId;
+
+    private final long locationId;
+    private final String locationName;
+    private final String address;
+    private final int city;
+    private final int province;
+    private final String postalCode;
+    private final double latitude;
+    private final double longitude;
+
+    private CompactEvent(Event event, StringDictionary dictionary) {
+        this.id = orNone(event.getId());
+        this.name = event.getName();
+        this.description = event.getDescription();
+        this.imageUrl = event.getImageUrl();
+        this.externalId = event.getExternalId();
+        this.externalSource = dictionary.encode(event.getExternalSource());
+        this.startTime = seconds(event.getStartTime());
+        this.endTime = seconds(event.getEndTime());
+        this.price = event.getPrice() != null ? event.getPrice() : Double.NaN;
+        this.category = (byte) (event.getCategory() != null ? event.getCategory().ordinal() : -1);
+        this.viewCount = event.getViewCount() != null ? event.getViewCount() : 0;
+        this.clickCount = event.getClickCount() != null ? event.getClickCount() : 0;
+        this.createdAt = nanos(event.getCreatedAt());
+        this.updatedAt = nanos(event.getUpdatedAt());
+        this.creatorId = event.getCreator() != null ? orNone(event.getCreator().getId()) : NONE;
+
+        Location location = event.getLocation();
+        byte flags = 0;
+        if (Boolean.TRUE.equals(event.getIsFree())) {
+            flags |= FREE;
+        }
+        if (Boolean.TRUE.equals(event.getApproved())) {
+            flags |= APPROVED;
+        }
+        if (location != null) {
+            flags |= HAS_LOCATION;
+            this.locationId = orNone(location.getId());
+            this.locationName = intern(location.getName());
+            this.address = intern(location.getAddress());
+            this.city = dictionary.encode(location.getCity());
+            this.province = dictionary.encode(location.getProvince());
+            this.postalCode = intern(location.getPostalCode());
+            this.latitude = location.getLatitude() != null ? location.getLatitude() : Double.NaN;
+            this.longitude = location.getLongitude() != null ? location.getLongitude() : Double.NaN;
+        } else {
+            this.locationId = NONE;
+            this.locationName = null;
+            this.address = null;
+            this.city = StringDictionary.NULL;
+            this.province = StringDictionary.NULL;
+            this.postalCode = null;
+            this.latitude = Double.NaN;
+            this.longitude = Double.NaN;
+        }
+        this.flags = flags;
+    }
+
+    /**
+     * Reads the fields in the order {@link #write(DataOutput)} wrote them.
+     */
+    private CompactEvent(ByteBuffer in, int[] codes) {
+        this.id = in.getLong();
+        this.name = EventSnapshot.readString(in);
+        this.description = EventSnapshot.readString(in);
+        this.imageUrl = EventSnapshot.readString(in);
+        this.externalId = EventSnapshot.readString(in);
+        this.externalSource = code(in.getInt(), codes);
+        this.startTime = in.getLong();
+        this.endTime = in.getLong();
+        this.price = in.getDouble();
+        this.category = in.get();
+        this.flags = in.get();
+        this.viewCount = in.getLong();
+        this.clickCount = in.getLong();
+        this.createdAt = in.getLong();
+        this.updatedAt = in.getLong();
+        this.creatorId = in.getLong();
+        this.locationId = in.getLong();
+        this.locationName = intern(EventSnapshot.readString(in));
+        this.address = intern(EventSnapshot.readString(in));
+        this.city = code(in.getInt(), codes);
+        this.province = code(in.getInt(), codes);
+        this.postalCode = intern(EventSnapshot.readString(in));
+        this.latitude = in.getDouble();
+        this.longitude = in.getDouble();
+    }
+
+    /**
+     * @param event Event to copy; its lazy creator is only read for its ID
+     * @param dictionary Dictionary for the repeating strings
+     * @return Compact copy of the event
+     */
+    public static CompactEvent of(Event event, StringDictionary dictionary) {
+        return new CompactEvent(event, dictionary);
+    }
+
+    /**
+     * Builds a new, detached entity equal to the one this was made from.
+     * The creator is a reference carrying only its ID, which is enough for
+     * the entity to be merged back.
+     *
+     * @param dictionary Dictionary the event was encoded with
+     * @return The event
+     */
+    public Event toEvent(StringDictionary dictionary) {
+        Event event = new Event();
+        event.setId(orNull(id));
+        event.setName(name);
+        event.setDescription(description);
+        event.setImageUrl(imageUrl);
+        event.setExternalId(externalId);
+        event.setExternalSource(dictionary.decode(externalSource));
+        event.setStartTime(dateTime(startTime));
+        event.setEndTime(dateTime(endTime));
+        event.setPrice(Double.isNaN(price) ? null : price);
+        event.setCategory(getCategory());
+        event.setIsFree((flags & FREE) != 0);
+        event.setApproved((flags & APPROVED) != 0);
+        event.setViewCount(viewCount);
+        event.setClickCount(clickCount);
+        event.setCreatedAt(dateTimeOfNanos(createdAt));
+        event.setUpdatedAt(dateTimeOfNanos(updatedAt));
+        if (creatorId != NONE) {
+            User creator = new User();
+            creator.setId(creatorId);
+            event.setCreator(creator);
+        }
+
+        if (hasLocation()) {
+            Location location = new Location();
+            location.setId(orNull(locationId));
+            location.setName(locationName);
+            location.setAddress(address);
+            location.setCity(dictionary.decode(city));
+            location.setProvince(dictionary.decode(province));
+            location.setPostalCode(postalCode);
+            location.setLatitude(Double.isNaN(latitude) ? null : latitude);
+            location.setLongitude(Double.isNaN(longitude) ? null : longitude);
+            event.setLocation(location);
+        }
+        return event;
+    }
+
+    /**
+     * Writes the event for {@link EventSnapshot}. Dictionary codes are
+     * written as they are; the snapshot stores the dictionary alongside.
+     */
+    void write(DataOutput out) throws IOException {
+        out.writeLong(id);
+        EventSnapshot.writeString(out, name);
+        EventSnapshot.writeString(out, description);
+        EventSnapshot.writeString(out, imageUrl);
+        EventSnapshot.writeString(out, externalId);
+        out.writeInt(externalSource);
+        out.writeLong(startTime);
+        out.writeLong(endTime);
+        out.writeDouble(price);
+        out.writeByte(category);
+        out.writeByte(flags);
+        out.writeLong(viewCount);
+        out.writeLong(clickCount);
+        out.writeLong(createdAt);
+        out.writeLong(updatedAt);
+        out.writeLong(creatorId);
+        out.writeLong(locationId);
+        EventSnapshot.writeString(out, locationName);
+        EventSnapshot.writeString(out, address);
+        out.writeInt(city);
+        out.writeInt(province);
+        EventSnapshot.writeString(out, postalCode);
+        out.writeDouble(latitude);
+        out.writeDouble(longitude);
+    }
+
+    /**
+     * @param in Buffer positioned at an event written by {@link #write(DataOutput)}
+     * @param codes Current dictionary code of each code in the written dictionary
+     * @return The event
+     */
+    static CompactEvent read(ByteBuffer in, int[] codes) {
+        return new CompactEvent(in, codes);
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * @return The category, or null if unknown
+     */
+    public EventCategory getCategory() {
+        return category >= 0 ? CATEGORIES[category] : null;
+    }
+
+    /**
+     * @return Start time in seconds since the epoch, reading the local time as UTC
+     */
+    public long getStartEpochSecond() {
+        return startTime;
+    }
+
+    /**
+     * @return End time, or start plus {@link Event#DEFAULT_DURATION}, encoded like the start time
+     */
+    public long getEffectiveEndEpochSecond() {
+        return endTime != NONE ? endTime : startTime + DEFAULT_DURATION_SECONDS;
+    }
+
+    /**
+     * Same rule as {@link Event#isFreeEvent()}.
+     *
+     * @return true if the event is free
+     */
+    public boolean isFreeEvent() {
+        return (flags & FREE) != 0 || price <= 0;
+    }
+
+    public boolean hasLocation() {
+        return (flags & HAS_LOCATION) != 0;
+    }
+
+    /**
+     * @return Dictionary code of the location's city
+     */
+    public int getCityCode() {
+        return city;
+    }
+
+    /**
+     * @return Dictionary code of the location's province
+     */
+    public int getProvinceCode() {
+        return province;
+    }
+
+    public boolean hasCoordinates() {
+        return !Double.isNaN(latitude) && !Double.isNaN(longitude);
+    }
+
+    public double getLatitude() {
+        return latitude;
+    }
+
+    public double getLongitude() {
+        return longitude;
+    }
+
+    /**
+     * @param dateTime A local date-time, or null
+     * @return Seconds since the epoch, reading the local time as UTC, as used by the compact times
+     */
+    public static long epochSecond(LocalDateTime dateTime) {
+        return seconds(dateTime);
+    }
+
+    private static long seconds(LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.toEpochSecond(ZoneOffset.UTC) : NONE;
+    }
+
+    private static long nanos(LocalDateTime dateTime) {
+        if (dateTime == null) {
+            return NONE;
+        }
+        // Exact for 1677 to 2262
+        return Math.addExact(Math.multiplyExact(dateTime.toEpochSecond(ZoneOffset.UTC), 1_000_000_000L),
+            dateTime.getNano());
+    }
+
+    private static LocalDateTime dateTime(long seconds) {
+        return seconds != NONE ? LocalDateTime.ofEpochSecond(seconds, 0, ZoneOffset.UTC) : null;
+    }
+
+    private static LocalDateTime dateTimeOfNanos(long nanos) {
+        return nanos != NONE
+            ? LocalDateTime.ofEpochSecond(Math.floorDiv(nanos, 1_000_000_000L),
+                (int) Math.floorMod(nanos, 1_000_000_000L), ZoneOffset.UTC)
+            : null;
+    }
+
+    private static String intern(String value) {
+        return value != null ? value.intern() : null;
+    }
+
+    private static int code(int written, int[] codes) {
+        return written == StringDictionary.NULL ? StringDictionary.NULL : codes[written];
+    }
+
+    private static long orNone(Long value) {
+        return value != null ? value : NONE;
+    }
+
+    private static Long orNull(long value) {
+        return value != NONE ? value : null;
+    }
+}
@@ -0,0 +1,88 @@
+package com.cultureradar.cache;
+
+import com.cultureradar.metrics.InstrumentedConcurrentMapCache;
+import com.cultureradar.model.Event;
+import com.cultureradar.util.StringDictionary;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Event cache that stores events and pages of events as
+ * {@link CompactEvent}s and rebuilds the entities on every read. A cached
+ * search page thus costs a fraction of the memory of its entities, and
+ * callers get fresh copies they may modify without corrupting the cache.
+ * Other values are stored as given.
+ */
+public class CompactEventCache extends InstrumentedConcurrentMapCache {
+
+    /**
+     * Stored form of a {@code Page<Event>}.
+     */
+    public record CompactPage(CompactEvent[] content, Pageable pageable, long total) {
+
+        /**
+         * @param ids Event IDs
+         * @return true if the page lists any of the events
+         */
+        public boolean containsAny(Set<Long> ids) {
+            for (CompactEvent event : content) {
+                if (ids.contains(event.getId())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private final StringDictionary dictionary;
+
+    public CompactEventCache(String name, boolean allowNullValues, StringDictionary dictionary) {
+        super(name, allowNullValues);
+        this.dictionary = dictionary;
+    }
+
+    @Override
+    protected Object toStoreValue(Object userValue) {
+        if (userValue instanceof Event event) {
+            return CompactEvent.of(event, dictionary);
+        }
+        if (userValue instanceof Page<?> page && isEventPage(page)) {
+            List<?> content = page.getContent();
+            CompactEvent[] events = new CompactEvent[content.size()];
+            for (int i = 0; i < events.length; i++) {
+                events[i] = CompactEvent.of((Event) content.get(i), dictionary);
+            }
+            return new CompactPage(events, page.getPageable(), page.getTotalElements());
+        }
+        return super.toStoreValue(userValue);
+    }
+
+    @Override
+    protected Object fromStoreValue(Object storeValue) {
+        if (storeValue instanceof CompactEvent event) {
+            return event.toEvent(dictionary);
+        }
+        if (storeValue instanceof CompactPage page) {
+            List<Event> content = new ArrayList<>(page.content().length);
+            for (CompactEvent event : page.content()) {
+                content.add(event.toEvent(dictionary));
+            }
+            return new PageImpl<>(content, page.pageable(), page.total());
+        }
+        return super.fromStoreValue(storeValue);
+    }
+
+    private static boolean isEventPage(Page<?> page) {
+        for (Object item : page.getContent()) {
+            if (!(item instanceof Event)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
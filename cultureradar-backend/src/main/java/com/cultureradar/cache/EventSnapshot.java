@@ -0,0 +1,252 @@
+package com.cultureradar.cache;
+
+import com.cultureradar.model.EventCategory;
+import com.cultureradar.util.StringDictionary;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Contents of the event snapshot file, which carries the in-memory event
+ * structures of a node over a restart: the events referenced, the IDs in
+ * the recommendation pool and the {@code events} cache, and the cached
+ * search pages.
+ *
+ * <p>The file holds the dictionary once, then each event once; the other
+ * sections refer to events by ID. Codes are remapped into the reading
+ * node's dictionary. Files are written to a temporary file and moved into
+ * place, end with a CRC-32 of their content, and are read through a
+ * memory mapping, so a node decodes straight from the page cache.
+ *
+ * @param writtenAt When the snapshot was taken, in the writer's local time
+ * @param events Every event the other sections refer to, by ID
+ * @param upcomingIds Events of the recommendation pool
+ * @param cachedIds Events of the {@code events} cache
+ * @param searches Cached search pages
+ */
+public record EventSnapshot(LocalDateTime writtenAt, Map<Long, CompactEvent> events,
+                            List<Long> upcomingIds, List<Long> cachedIds, List<SearchPage> searches) {
+
+    private static final int MAGIC = 0x43525331; // "CRS1"
+    private static final int VERSION = 1;
+
+    /**
+     * A cached page of a search without a date range.
+     *
+     * @param cache Name of the cache holding it
+     * @param city Normalized city, or null
+     * @param isFree Free filter, or null
+     * @param category Category filter, or null
+     * @param pageable Page requested
+     * @param total Total number of results
+     * @param eventIds Events on the page, in order
+     */
+    public record SearchPage(String cache, String city, Boolean isFree, EventCategory category,
+                             PageRequest pageable, long total, List<Long> eventIds) {
+    }
+
+    /**
+     * Writes the snapshot, replacing any previous file only once complete.
+     *
+     * @param path Snapshot file
+     * @param dictionary Dictionary the events were encoded with
+     */
+    public void write(Path path, StringDictionary dictionary) throws IOException {
+        Path directory = path.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+        try {
+            CRC32 crc = new CRC32();
+            try (OutputStream file = Files.newOutputStream(temp);
+                 DataOutputStream out = new DataOutputStream(
+                     new CheckedOutputStream(new BufferedOutputStream(file, 1 << 16), crc))) {
+                writeContent(out, dictionary);
+                out.flush();
+                // The checksum itself is not part of the checksum
+                file.write(ByteBuffer.allocate(Long.BYTES).putLong(crc.getValue()).array());
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Reads a snapshot through a memory mapping.
+     *
+     * @param path Snapshot file
+     * @param dictionary Dictionary to encode the events with
+     * @return The snapshot
+     * @throws IOException If the file cannot be read, or is not a complete snapshot of this version
+     */
+    public static EventSnapshot read(Path path, StringDictionary dictionary) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < 2 * Integer.BYTES + Long.BYTES || size > Integer.MAX_VALUE) {
+                throw new IOException("Not a snapshot file: " + path);
+            }
+            MappedByteBuffer in = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+
+            int contentLength = (int) size - Long.BYTES;
+            CRC32 crc = new CRC32();
+            crc.update(in.slice(0, contentLength));
+            if (crc.getValue() != in.getLong(contentLength)) {
+                throw new IOException("Snapshot file is truncated or corrupt: " + path);
+            }
+            if (in.getInt() != MAGIC || in.getInt() != VERSION) {
+                throw new IOException("Unknown snapshot format: " + path);
+            }
+            try {
+                return readContent(in, dictionary);
+            } catch (RuntimeException e) {
+                throw new IOException("Unreadable snapshot file: " + path, e);
+            }
+        }
+    }
+
+    private void writeContent(DataOutputStream out, StringDictionary dictionary) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeLong(writtenAt.toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(writtenAt.getNano());
+
+        // Every code used by the events was assigned before this size was read
+        int dictionarySize = dictionary.size();
+        out.writeInt(dictionarySize);
+        for (int code = 0; code < dictionarySize; code++) {
+            writeString(out, dictionary.decode(code));
+        }
+
+        out.writeInt(events.size());
+        for (CompactEvent event : events.values()) {
+            event.write(out);
+        }
+        writeIds(out, upcomingIds);
+        writeIds(out, cachedIds);
+
+        out.writeInt(searches.size());
+        for (SearchPage page : searches) {
+            writeString(out, page.cache());
+            writeString(out, page.city());
+            out.writeByte(page.isFree() == null ? -1 : page.isFree() ? 1 : 0);
+            out.writeByte(page.category() == null ? -1 : page.category().ordinal());
+            out.writeInt(page.pageable().getPageNumber());
+            out.writeInt(page.pageable().getPageSize());
+            List<Sort.Order> orders = page.pageable().getSort().toList();
+            out.writeInt(orders.size());
+            for (Sort.Order order : orders) {
+                writeString(out, order.getProperty());
+                out.writeByte(order.getDirection().ordinal());
+                out.writeBoolean(order.isIgnoreCase());
+                out.writeByte(order.getNullHandling().ordinal());
+            }
+            out.writeLong(page.total());
+            writeIds(out, page.eventIds());
+        }
+    }
+
+    private static EventSnapshot readContent(ByteBuffer in, StringDictionary dictionary) {
+        LocalDateTime writtenAt = LocalDateTime.ofEpochSecond(in.getLong(), in.getInt(), ZoneOffset.UTC);
+
+        int[] codes = new int[in.getInt()];
+        for (int code = 0; code < codes.length; code++) {
+            codes[code] = dictionary.encode(readString(in));
+        }
+
+        int eventCount = in.getInt();
+        Map<Long, CompactEvent> events = new HashMap<>(eventCount * 4 / 3 + 1);
+        for (int i = 0; i < eventCount; i++) {
+            CompactEvent event = CompactEvent.read(in, codes);
+            events.put(event.getId(), event);
+        }
+        List<Long> upcomingIds = readIds(in);
+        List<Long> cachedIds = readIds(in);
+
+        EventCategory[] categories = EventCategory.values();
+        Sort.Direction[] directions = Sort.Direction.values();
+        Sort.NullHandling[] nullHandlings = Sort.NullHandling.values();
+        int searchCount = in.getInt();
+        List<SearchPage> searches = new ArrayList<>(searchCount);
+        for (int i = 0; i < searchCount; i++) {
+            String cache = readString(in);
+            String city = readString(in);
+            byte isFree = in.get();
+            byte category = in.get();
+            int pageNumber = in.getInt();
+            int pageSize = in.getInt();
+            List<Sort.Order> orders = new ArrayList<>();
+            for (int o = in.getInt(); o > 0; o--) {
+                String property = readString(in);
+                Sort.Direction direction = directions[in.get()];
+                boolean ignoreCase = in.get() == 1;
+                Sort.Order order = new Sort.Order(direction, property, nullHandlings[in.get()]);
+                orders.add(ignoreCase ? order.ignoreCase() : order);
+            }
+            searches.add(new SearchPage(cache, city, isFree < 0 ? null : isFree == 1,
+                category < 0 ? null : categories[category],
+                PageRequest.of(pageNumber, pageSize, Sort.by(orders)), in.getLong(), readIds(in)));
+        }
+        return new EventSnapshot(writtenAt, events, upcomingIds, cachedIds, searches);
+    }
+
+    private static void writeIds(DataOutput out, Collection<Long> ids) throws IOException {
+        out.writeInt(ids.size());
+        for (long id : ids) {
+            out.writeLong(id);
+        }
+    }
+
+    private static List<Long> readIds(ByteBuffer in) {
+        int count = in.getInt();
+        List<Long> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add(in.getLong());
+        }
+        return ids;
+    }
+
+    /**
+     * Writes a string as its UTF-8 length and bytes, with length -1 for null.
+     */
+    static void writeString(DataOutput out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -1,5 +1,7 @@
 package com.cultureradar.config;
 
+import com.cultureradar.service.api.resilience.OutboundCallGuard;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.client.RestTemplate;
@@ -12,20 +14,29 @@ import java.time.Duration;
 @Configuration
 public class ApiConfig {
     
+    /**
+     * Builds the shared RestTemplate from Spring Boot's auto-configured
+     * builder, which records {@code http.client.requests} timings tagged
+     * with the target host. Calls pass through {@link OutboundCallGuard},
+     * which bounds the concurrency per host and fails fast while a host
+     * is failing. The timeouts are a small multiple of the guard's
+     * slow-call threshold, so a stalled host cannot hold a concurrency
+     * slot much longer than it takes to count as slow.
+     */
     @Bean
-    public RestTemplate restTemplate(RestTemplateBuilder builder) {
+    public RestTemplate restTemplate(
+            RestTemplateBuilder builder,
+            OutboundCallGuard outboundCallGuard,
+            @Value("${cultureradar.api.connect-timeout-ms:2000}") long connectTimeoutMs,
+            @Value("${cultureradar.api.read-timeout-ms:5000}") long readTimeoutMs) {
         return builder
                 .requestFactory(() -> new BufferingClientHttpRequestFactory(new SimpleClientHttpRequestFactory()))
-                .setConnectTimeout(Duration.ofSeconds(10))
-                .setReadTimeout(Duration.ofSeconds(30))
+                .additionalInterceptors(outboundCallGuard)
+                .setConnectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .setReadTimeout(Duration.ofMillis(readTimeoutMs))
                 .build();
     }
     
-    @Bean
-    public RestTemplateBuilder restTemplateBuilder() {
-        return new RestTemplateBuilder();
-    }
-    
     // If you need specific interceptors for logging or headers, you can add them like this:
     /*
     @Bean
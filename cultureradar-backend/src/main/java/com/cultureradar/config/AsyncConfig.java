@@ -1,5 +1,8 @@
 package com.cultureradar.config;
 
+import com.cultureradar.logging.RequestLogContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
@@ -8,6 +11,7 @@ import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.beans.factory.annotation.Value;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
 
 /**
  * Configuration class for asynchronous task execution and scheduled tasks.
@@ -30,10 +34,19 @@ public class AsyncConfig {
     
     /**
      * Configures the task executor used for async operations.
+     * Spring Boot exports its pool size, active count and queue depth as
+     * {@code executor.*} metrics; rejected tasks are counted here.
+     * @param meterRegistry Registry for the rejection counter
      * @return Executor instance with configured thread pool parameters
      */
     @Bean(name = "taskExecutor")
-    public Executor taskExecutor() {
+    public Executor taskExecutor(MeterRegistry meterRegistry) {
+        Counter rejected = Counter.builder("executor.rejected")
+            .description("Tasks rejected because the pool and its queue were full")
+            .tag("name", "taskExecutor")
+            .register(meterRegistry);
+        ThreadPoolExecutor.AbortPolicy abort = new ThreadPoolExecutor.AbortPolicy();
+        
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(corePoolSize);
         executor.setMaxPoolSize(maxPoolSize);
@@ -41,6 +54,11 @@ public class AsyncConfig {
         executor.setThreadNamePrefix("CultureRadar-Async-");
         executor.setAwaitTerminationSeconds(60);
         executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setTaskDecorator(RequestLogContext.taskDecorator());
+        executor.setRejectedExecutionHandler((task, pool) -> {
+            rejected.increment();
+            abort.rejectedExecution(task, pool);
+        });
         executor.initialize();
         return executor;
     }
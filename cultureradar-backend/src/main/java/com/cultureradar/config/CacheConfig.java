@@ -1,12 +1,17 @@
 package com.cultureradar.config;
 
+import com.cultureradar.cache.CompactEventCache;
+import com.cultureradar.metrics.InstrumentedConcurrentMapCache;
+import com.cultureradar.util.StringDictionary;
 import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 import java.util.Arrays;
+import java.util.Set;
 
 /**
  * Configuration class for caching.
@@ -17,14 +22,38 @@ import java.util.Arrays;
 @EnableCaching
 public class CacheConfig {
 
+    private static final Set<String> EVENT_CACHES = Set.of("events", "eventsByCity", "eventsByCategory");
+
+    /**
+     * Dictionary of the strings that repeat across cached events, such as
+     * cities and provinces, shared by every compact event structure.
+     *
+     * @return StringDictionary instance
+     */
+    @Bean
+    public StringDictionary eventDictionary() {
+        return new StringDictionary();
+    }
+
     /**
      * Configures the cache manager with specific cache names.
+     * Caches count their hits and misses so that hit ratios are exported as metrics.
+     * The event caches store compact copies of the events.
      * 
+     * @param eventDictionary Dictionary for the compact events
      * @return CacheManager instance
      */
     @Bean
-    public CacheManager cacheManager() {
-        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager();
+    public CacheManager cacheManager(StringDictionary eventDictionary) {
+        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager() {
+            @Override
+            protected ConcurrentMapCache createConcurrentMapCache(String name) {
+                if (EVENT_CACHES.contains(name)) {
+                    return new CompactEventCache(name, isAllowNullValues(), eventDictionary);
+                }
+                return new InstrumentedConcurrentMapCache(name, isAllowNullValues());
+            }
+        };
         cacheManager.setCacheNames(Arrays.asList(
             "events", 
             "eventsByCity",
@@ -0,0 +1,29 @@
+package com.cultureradar.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Configuration of the binary response format. Clients sending
+ * {@code Accept: application/cbor} get CBOR instead of JSON, which is
+ * noticeably smaller for event lists.
+ */
+@Configuration
+public class JacksonConfig {
+
+    /**
+     * CBOR message converter whose mapper is configured like the JSON one
+     * (same modules, date handling and inclusion rules). Not exposed as an
+     * ObjectMapper bean, which would replace Spring Boot's JSON mapper.
+     *
+     * @param builder Spring Boot's pre-configured mapper builder
+     * @return The converter, picked up by Spring MVC
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+}
@@ -0,0 +1,72 @@
+package com.cultureradar.config;
+
+import com.cultureradar.metrics.InstrumentedConcurrentMapCache;
+import com.cultureradar.metrics.InstrumentedConcurrentMapCacheMeterBinder;
+import com.cultureradar.metrics.QueryCountInspector;
+import com.cultureradar.util.StringDictionary;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class for application metrics.
+ * HTTP server and client timings come from Spring Boot's observation
+ * support; this adds the pieces it does not cover: {@code @Timed} methods,
+ * per-request SQL statement counts and hit/miss counts for our caches.
+ * Executor metrics are bound by Spring Boot for every executor bean.
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Enables {@code @Timed} on Spring beans such as the event service.
+     *
+     * @param meterRegistry Registry to publish timers to
+     * @return TimedAspect instance
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    /**
+     * Counts the SQL statements Hibernate prepares, read per request by
+     * {@link com.cultureradar.metrics.QueryCountFilter}.
+     *
+     * @return Customizer registering the statement inspector
+     */
+    @Bean
+    public HibernatePropertiesCustomizer queryCountCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new QueryCountInspector());
+    }
+
+    /**
+     * Lets Spring Boot bind hit, miss and size metrics for every cache
+     * created by {@link CacheConfig}.
+     *
+     * @return CacheMeterBinderProvider for instrumented caches
+     */
+    @Bean
+    public CacheMeterBinderProvider<InstrumentedConcurrentMapCache> instrumentedCacheMeterBinderProvider() {
+        return InstrumentedConcurrentMapCacheMeterBinder::new;
+    }
+
+    /**
+     * Exports the number of distinct strings in the compact event dictionary,
+     * which only grows.
+     *
+     * @param eventDictionary Dictionary built by {@link CacheConfig}
+     * @return MeterBinder for the dictionary size
+     */
+    @Bean
+    public MeterBinder eventDictionaryMetrics(StringDictionary eventDictionary) {
+        return registry -> Gauge.builder("cultureradar.cache.dictionary.size", eventDictionary, StringDictionary::size)
+            .register(registry);
+    }
+}
@@ -0,0 +1,114 @@
+package com.cultureradar.config;
+
+import com.cultureradar.datasource.LagAwareReplicaDataSource;
+import com.cultureradar.datasource.ReplicaLagMonitor;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Configuration class for routing read-only transactions to a read replica.
+ * Only active when {@code cultureradar.datasource.replica.url} is set;
+ * otherwise Spring Boot's single data source is used unchanged.
+ *
+ * <p>The application data source is a {@link LazyConnectionDataSourceProxy}:
+ * it fetches the physical connection on first use, after the transaction
+ * manager has marked the connection read-only, and then takes it from the
+ * replica for {@code @Transactional(readOnly = true)} work and from the
+ * primary for everything else. Each side has its own HikariCP pool, sized
+ * and exported as {@code hikaricp.*} metrics separately.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "cultureradar.datasource.replica", name = "url")
+public class ReplicaDataSourceConfig {
+
+    /**
+     * Connection settings of the primary, from the standard {@code spring.datasource.*} properties.
+     *
+     * @return DataSourceProperties for the primary
+     */
+    @Bean
+    @Primary
+    @ConfigurationProperties("spring.datasource")
+    public DataSourceProperties primaryDataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    /**
+     * Primary pool, sized through {@code spring.datasource.hikari.*}.
+     *
+     * @param properties Primary connection settings
+     * @return HikariDataSource for writes
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(
+            @Qualifier("primaryDataSourceProperties") DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    /**
+     * Connection settings of the replica.
+     *
+     * @return DataSourceProperties bound to {@code cultureradar.datasource.replica.*}
+     */
+    @Bean
+    @ConfigurationProperties("cultureradar.datasource.replica")
+    public DataSourceProperties replicaDataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    /**
+     * Replica pool, sized through {@code cultureradar.datasource.replica.hikari.*}.
+     *
+     * @param properties Replica connection settings
+     * @return HikariDataSource for read-only transactions
+     */
+    @Bean
+    @ConfigurationProperties("cultureradar.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(
+            @Qualifier("replicaDataSourceProperties") DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(
+            @Qualifier("replicaDataSource") HikariDataSource replicaDataSource,
+            @Value("${cultureradar.datasource.replica.max-lag-seconds:5}") double maxLagSeconds,
+            MeterRegistry meterRegistry) {
+        return new ReplicaLagMonitor(replicaDataSource, maxLagSeconds, meterRegistry);
+    }
+
+    /**
+     * The data source used by JPA and JDBC throughout the application.
+     *
+     * @return Proxy routing by the read-only flag of the current transaction
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            @Qualifier("primaryDataSource") HikariDataSource primaryDataSource,
+            @Qualifier("replicaDataSource") HikariDataSource replicaDataSource,
+            ReplicaLagMonitor replicaLagMonitor,
+            MeterRegistry meterRegistry) {
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(primaryDataSource);
+        proxy.setReadOnlyDataSource(new LagAwareReplicaDataSource(
+            replicaDataSource, primaryDataSource, replicaLagMonitor, meterRegistry));
+        return proxy;
+    }
+}
@@ -1,7 +1,14 @@
 package com.cultureradar.config;
 
+import com.cultureradar.security.JwtTokenProvider;
+import com.cultureradar.security.RateLimitFilter;
+import com.cultureradar.security.UserDetailsServiceImpl;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
@@ -12,6 +19,7 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -28,11 +36,16 @@ public class SecurityConfig {
      * Configures the security filter chain with specific rules for endpoints.
      * 
      * @param http HttpSecurity object to configure
+     * @param rateLimitFilter Per-IP rate limiter, applied before authentication
+     * @param authenticationManager Checks HTTP Basic credentials
+     * @param jwtTokenProvider Validates the bearer tokens issued at login
      * @return The configured SecurityFilterChain
      * @throws Exception if there's an error during configuration
      */
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, RateLimitFilter rateLimitFilter,
+                                                   AuthenticationManager authenticationManager,
+                                                   JwtTokenProvider jwtTokenProvider) throws Exception {
         http
             // Since we're building a REST API that will be accessed from a separate frontend
             .csrf(csrf -> csrf.disable())
@@ -45,32 +58,78 @@ public class SecurityConfig {
                     "/api/events/public/**",
                     "/api/events/search/**",
                     "/api/locations/public/**",
+                    "/api/auth/login",
+                    "/api/auth/register",
                     "/v3/api-docs/**",
                     "/swagger-ui/**",
                     "/swagger-ui.html"
                 ).permitAll()
-                // Admin endpoints require authentication
+                // Admin-only endpoints, matched before the moderation rule below
+                .requestMatchers(
+                    "/api/events/admin/fetch-external",
+                    "/api/users/admin/**"
+                ).hasRole("ADMIN")
+                // Moderation endpoints
                 .requestMatchers(
                     "/api/events/admin/**", 
                     "/api/events/*/approve"
-                ).hasRole("ADMIN")
+                ).hasAnyRole("ADMIN", "MODERATOR")
                 // All other endpoints require authentication
                 .requestMatchers("/api/**").authenticated()
                 .anyRequest().authenticated())
-            .httpBasic(httpBasic -> {});
+            .authenticationManager(authenticationManager)
+            .httpBasic(httpBasic -> {})
+            // Tokens from POST /api/auth/login, sent as "Authorization: Bearer ..."
+            .oauth2ResourceServer(oauth2 -> oauth2
+                .jwt(jwt -> jwt.authenticationManager(jwtTokenProvider.getAuthenticationManager())))
+            .addFilterBefore(rateLimitFilter, BasicAuthenticationFilter.class);
         
         return http.build();
     }
     
     /**
-     * Creates an in-memory user store with a default admin user.
-     * This should be replaced with a database-backed solution in production.
+     * Keeps the servlet container from also running the rate limiter,
+     * outside the security filter chain, as it does for every Filter bean.
      * 
+     * @param rateLimitFilter The rate limiter bean
+     * @return A disabled registration
+     */
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration(RateLimitFilter rateLimitFilter) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(rateLimitFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
+    
+    /**
+     * Authenticates HTTP Basic requests and the credentials posted to the
+     * login endpoint, against registered users first and then the built-in
+     * admin and moderator accounts.
+     * 
+     * @param userDetailsService Registered users, from the database
      * @param passwordEncoder The password encoder to use
-     * @return UserDetailsService with configured users
+     * @return AuthenticationManager for username and password logins
      */
     @Bean
-    public UserDetailsService userDetailsService(PasswordEncoder passwordEncoder) {
+    public AuthenticationManager authenticationManager(UserDetailsServiceImpl userDetailsService,
+                                                       PasswordEncoder passwordEncoder) {
+        return new ProviderManager(
+            daoProvider(userDetailsService, passwordEncoder),
+            daoProvider(builtInUsers(passwordEncoder), passwordEncoder));
+    }
+    
+    private static DaoAuthenticationProvider daoProvider(UserDetailsService userDetailsService,
+                                                         PasswordEncoder passwordEncoder) {
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider(userDetailsService);
+        provider.setPasswordEncoder(passwordEncoder);
+        return provider;
+    }
+    
+    /**
+     * Creates an in-memory user store with a default admin and moderator.
+     * This should be replaced with database accounts in production.
+     */
+    private static UserDetailsService builtInUsers(PasswordEncoder passwordEncoder) {
         UserDetails adminUser = User.builder()
             .username("admin")
             .password(passwordEncoder.encode("admin"))
@@ -1,22 +1,49 @@
 package com.cultureradar.controller;
 
+import com.cultureradar.json.FieldSelection;
+import com.cultureradar.json.ResponseEncoder;
 import com.cultureradar.model.Event;
 import com.cultureradar.model.EventCategory;
+import com.cultureradar.service.CalendarFeedService;
+import com.cultureradar.service.EventImportService;
+import com.cultureradar.service.EventSearchKey;
 import com.cultureradar.service.EventService;
+import com.cultureradar.service.EventStreamService;
+import com.cultureradar.service.EventViewCounter;
+import com.cultureradar.service.HappeningNowIndex;
+import com.cultureradar.service.RecommendationService;
+import com.cultureradar.service.TrendingEventsService;
+import com.cultureradar.util.SingleFlight;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 /**
  * REST controller for managing cultural events.
@@ -24,13 +51,49 @@ import java.util.List;
  */
 @RestController
 @RequestMapping("/api/events")
+@Timed("cultureradar.event.controller")
 public class EventController {
     
     private final EventService eventService;
+    private final RecommendationService recommendationService;
+    private final HappeningNowIndex happeningNowIndex;
+    private final EventStreamService eventStreamService;
+    private final EventViewCounter viewCounter;
+    private final TrendingEventsService trendingEventsService;
+    private final ResponseEncoder responseEncoder;
+    private final CalendarFeedService calendarFeedService;
+    private final EventImportService eventImportService;
+    private final int maxPageSize;
+    
+    /**
+     * Identifies an encoded search response.
+     */
+    private record SearchResponseKey(EventSearchKey search, MediaType format, FieldSelection fields) {
+    }
+    
+    // Identical searches arriving together share one query and one encoded response
+    private final SingleFlight<SearchResponseKey, byte[]> searchFlights = new SingleFlight<>();
     
     @Autowired
-    public EventController(EventService eventService) {
+    public EventController(EventService eventService, RecommendationService recommendationService,
+                           HappeningNowIndex happeningNowIndex, EventStreamService eventStreamService,
+                           EventViewCounter viewCounter, TrendingEventsService trendingEventsService,
+                           ResponseEncoder responseEncoder, CalendarFeedService calendarFeedService,
+                           EventImportService eventImportService, MeterRegistry meterRegistry,
+                           @Value("${cultureradar.search.max-page-size:100}") int maxPageSize) {
         this.eventService = eventService;
+        this.recommendationService = recommendationService;
+        this.happeningNowIndex = happeningNowIndex;
+        this.eventStreamService = eventStreamService;
+        this.viewCounter = viewCounter;
+        this.trendingEventsService = trendingEventsService;
+        this.responseEncoder = responseEncoder;
+        this.calendarFeedService = calendarFeedService;
+        this.eventImportService = eventImportService;
+        this.maxPageSize = maxPageSize;
+        FunctionCounter.builder("cultureradar.search.coalesced", searchFlights, SingleFlight::getSharedCount)
+            .description("Search requests served by an identical in-flight search")
+            .register(meterRegistry);
     }
     
     /**
@@ -42,13 +105,15 @@ public class EventController {
      * @param startDate Filter by minimum start date
      * @param endDate Filter by maximum end date
      * @param page Page number (0-based)
-     * @param size Page size
-     * @param sortBy Field to sort by
+     * @param size Page size (capped, 100 by default)
+     * @param sortBy Field to sort by, e.g. viewCount or clickCount for popularity
      * @param direction Sort direction (asc/desc)
-     * @return Page of events matching criteria
+     * @param fields Comma-separated event fields to return, e.g. id,name,location.city
+     * @param accept Accept header; application/cbor selects CBOR
+     * @return Page of events matching criteria, as JSON or CBOR
      */
     @GetMapping("/public/search")
-    public ResponseEntity<Page<Event>> searchEvents(
+    public ResponseEntity<byte[]> searchEvents(
             @RequestParam(required = false) String city,
             @RequestParam(required = false) Boolean isFree,
             @RequestParam(required = false) EventCategory category,
@@ -57,16 +122,55 @@ public class EventController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "startTime") String sortBy,
-            @RequestParam(defaultValue = "asc") String direction
+            @RequestParam(defaultValue = "asc") String direction,
+            @RequestParam(required = false) String fields,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept
     ) {
         Sort.Direction sortDirection = direction.equalsIgnoreCase("desc") ? 
             Sort.Direction.DESC : Sort.Direction.ASC;
         
-        Pageable pageable = PageRequest.of(page, size, sortDirection, sortBy);
+        FieldSelection selection;
+        try {
+            selection = FieldSelection.parse(fields);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        MediaType format = responseEncoder.negotiate(accept);
+        Pageable pageable = PageRequest.of(Math.max(page, 0), Math.max(1, Math.min(size, maxPageSize)), sortDirection, sortBy);
+        EventSearchKey search = EventSearchKey.of(city, isFree, category, startDate, endDate, pageable);
         
-        Page<Event> events = eventService.findEvents(city, isFree, category, 
-            startDate, endDate, pageable);
+        byte[] body = searchFlights.execute(new SearchResponseKey(search, format, selection), () -> {
+            Page<Event> events = eventService.findEvents(search.city(), isFree, category,
+                startDate, endDate, pageable);
+            return responseEncoder.encode(events, "content", format, selection);
+        });
+        
+        return ResponseEntity.ok().contentType(format).header(HttpHeaders.VARY, HttpHeaders.ACCEPT).body(body);
+    }
+    
+    /**
+     * Retrieves archived events, most recent first. Events are archived
+     * once they are older than the partition retention period.
+     * 
+     * @param city Filter by city
+     * @param from Minimum start time (defaults to one year before {@code to})
+     * @param to Maximum start time (defaults to now)
+     * @param page Page number (0-based)
+     * @param size Page size (capped at 100)
+     * @return Page of archived events
+     */
+    @GetMapping("/public/archive")
+    public ResponseEntity<Page<Event>> getArchivedEvents(
+            @RequestParam(required = false) String city,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        LocalDateTime until = to != null ? to : LocalDateTime.now();
+        LocalDateTime since = from != null ? from : until.minusYears(1);
         
+        Page<Event> events = eventService.findArchivedEvents(city, since, until,
+            PageRequest.of(page, Math.min(size, 100)));
         return ResponseEntity.ok(events);
     }
     
@@ -77,19 +181,88 @@ public class EventController {
      * @return Event if found
      */
     @GetMapping("/public/{id}")
-    public ResponseEntity<Event> getEventById(@PathVariable Long id) {
+    public ResponseEntity<Event> getEventById(@PathVariable Long id, Authentication authentication) {
         return eventService.findById(id)
-            .map(ResponseEntity::ok)
+            .map(event -> {
+                viewCounter.recordView(id);
+                trendingEventsService.recordView(event);
+                if (authentication != null) {
+                    recommendationService.recordView(authentication.getName(), event);
+                }
+                return ResponseEntity.ok(event);
+            })
             .orElse(ResponseEntity.notFound().build());
     }
     
+    /**
+     * Retrieves the events viewed most in the last hour or day
+     * 
+     * @param city Filter by city
+     * @param window HOUR or DAY
+     * @param limit Maximum number of events (capped at 50)
+     * @return Trending events with their estimated view counts, most viewed first
+     */
+    @GetMapping("/public/trending")
+    public ResponseEntity<List<TrendingEventsService.TrendingEvent>> getTrendingEvents(
+            @RequestParam(required = false) String city,
+            @RequestParam(defaultValue = "HOUR") TrendingEventsService.Window window,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(trendingEventsService.getTrending(city, window, Math.min(limit, 50)));
+    }
+    
+    /**
+     * Records a click on an event in search results
+     * 
+     * @param id Event ID
+     * @return Accepted; the click is counted asynchronously
+     */
+    @PostMapping("/public/{id}/click")
+    public ResponseEntity<Void> recordClick(@PathVariable Long id) {
+        viewCounter.recordClick(id);
+        return ResponseEntity.accepted().build();
+    }
+    
+    /**
+     * Retrieves personalized event recommendations for the current user
+     * 
+     * @param latitude Optional current latitude for proximity ranking
+     * @param longitude Optional current longitude for proximity ranking
+     * @param limit Maximum number of events (capped at 50)
+     * @param authentication Current authentication details
+     * @return Recommended events, best first
+     */
+    @GetMapping("/recommended")
+    public ResponseEntity<List<Event>> getRecommendedEvents(
+            @RequestParam(required = false) Double latitude,
+            @RequestParam(required = false) Double longitude,
+            @RequestParam(defaultValue = "10") int limit,
+            Authentication authentication) {
+        if (authentication == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        
+        List<Event> events = recommendationService.getRecommendations(
+            authentication.getName(), latitude, longitude, Math.min(limit, 50));
+        return ResponseEntity.ok(events);
+    }
+    
     /**
      * Retrieves upcoming events (next 7 days)
      * 
-     * @return List of upcoming events
+     * @param fields Comma-separated event fields to return, e.g. id,name,location.city
+     * @param accept Accept header; application/cbor selects CBOR
+     * @return List of upcoming events, as JSON or CBOR
      */
     @GetMapping("/public/upcoming")
-    public ResponseEntity<List<Event>> getUpcomingEvents() {
+    public ResponseEntity<byte[]> getUpcomingEvents(
+            @RequestParam(required = false) String fields,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        FieldSelection selection;
+        try {
+            selection = FieldSelection.parse(fields);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
         LocalDateTime now = LocalDateTime.now();
         LocalDateTime oneWeekLater = now.plusDays(7);
         
@@ -97,7 +270,78 @@ public class EventController {
         Page<Event> events = eventService.findEvents(null, null, null, 
             now, oneWeekLater, pageable);
         
-        return ResponseEntity.ok(events.getContent());
+        MediaType format = responseEncoder.negotiate(accept);
+        return ResponseEntity.ok().contentType(format).header(HttpHeaders.VARY, HttpHeaders.ACCEPT)
+            .body(responseEncoder.encode(events.getContent(), null, format, selection));
+    }
+    
+    /**
+     * Retrieves the approved events in progress right now
+     * 
+     * @param city Filter by city
+     * @param limit Maximum number of events (capped at 200)
+     * @return Events in progress, earliest start first
+     */
+    @GetMapping("/public/now")
+    public ResponseEntity<List<Event>> getHappeningNow(
+            @RequestParam(required = false) String city,
+            @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(happeningNowIndex.findHappeningNow(city, Math.min(limit, 200)));
+    }
+    
+    /**
+     * Streams newly approved, updated and cancelled events as Server-Sent
+     * Events. Each message is named after the change and carries the event
+     * ID; a "resync" message means updates were dropped and the client
+     * should reload.
+     * 
+     * @param city Filter by city
+     * @param category Filter by event category
+     * @return The event stream, or 503 when too many clients are connected
+     */
+    @GetMapping(value = "/public/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamEvents(
+            @RequestParam(required = false) String city,
+            @RequestParam(required = false) EventCategory category) {
+        try {
+            return ResponseEntity.ok()
+                .header(HttpHeaders.CACHE_CONTROL, "no-cache")
+                .header("X-Accel-Buffering", "no")
+                .body(eventStreamService.subscribe(city, category));
+        } catch (EventStreamService.TooManySubscribersException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "30")
+                .build();
+        }
+    }
+    
+    /**
+     * Serves approved events as an iCalendar feed for calendar
+     * subscriptions. The feed is streamed, and answered with 304 when the
+     * client's ETag is still current.
+     * 
+     * @param city Filter by city
+     * @param category Filter by event category
+     * @param isFree Filter by free admission (true/false)
+     * @return The feed, or null once a 304 response has been prepared
+     */
+    @GetMapping(value = "/public/calendar.ics", produces = "text/calendar")
+    public ResponseEntity<StreamingResponseBody> getCalendarFeed(
+            @RequestParam(required = false) String city,
+            @RequestParam(required = false) EventCategory category,
+            @RequestParam(required = false) Boolean isFree,
+            WebRequest request) {
+        CalendarFeedService.FeedKey key = CalendarFeedService.FeedKey.of(city, category, isFree);
+        String etag = calendarFeedService.currentEtag(key);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType("text/calendar;charset=UTF-8"))
+            .eTag(etag)
+            .cacheControl(CacheControl.maxAge(calendarFeedService.getCacheSeconds(), TimeUnit.SECONDS).cachePublic())
+            .body(out -> calendarFeedService.writeFeed(key, etag, out));
     }
     
     /**
@@ -186,6 +430,33 @@ public class EventController {
         return ResponseEntity.ok(approvedEvents);
     }
     
+    /**
+     * Imports events in bulk from a CSV or JSON upload sent as the request
+     * body. CSV needs a header row naming the columns; JSON is an array of
+     * events or one event per line. Imported events await approval.
+     * 
+     * @param source Name of the partner, stored as the events' external source
+     * @param contentType text/csv, application/json or application/x-ndjson
+     * @param body The upload, read as a stream
+     * @return Counts of imported and rejected rows, with the reasons
+     */
+    @PostMapping(value = "/admin/import", consumes = {"text/csv", MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MODERATOR')")
+    public ResponseEntity<EventImportService.ImportReport> importEvents(
+            @RequestParam(defaultValue = "IMPORT") String source,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body) throws IOException {
+        if (source.isBlank() || source.length() > 50) {
+            return ResponseEntity.badRequest().build();
+        }
+        MediaType type = MediaType.parseMediaType(contentType);
+        EventImportService.Format format = type.isCompatibleWith(MediaType.parseMediaType("text/csv"))
+            ? EventImportService.Format.CSV : EventImportService.Format.JSON;
+        Charset charset = type.getCharset() != null ? type.getCharset() : StandardCharsets.UTF_8;
+        
+        return ResponseEntity.ok(eventImportService.importEvents(body, format, charset, source.trim()));
+    }
+    
     /**
      * Triggers manual fetch from external APIs
      * 
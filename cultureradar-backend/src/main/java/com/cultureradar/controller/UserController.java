@@ -1,10 +1,18 @@
 package com.cultureradar.controller;
 
+import com.cultureradar.dto.SavedSearchDTO;
 import com.cultureradar.dto.UserDTO;
 import com.cultureradar.model.User;
+import com.cultureradar.service.EventAlertService;
 import com.cultureradar.service.UserService;
 
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -13,6 +21,7 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
+import java.io.IOException;
 import java.util.List;
 import java.util.Optional;
 
@@ -24,11 +33,15 @@ import java.util.Optional;
 @RequestMapping("/api/users")
 public class UserController {
     
+    private static final int MAX_ADMIN_PAGE_SIZE = 200;
+    
     private final UserService userService;
+    private final EventAlertService eventAlertService;
     
     @Autowired
-    public UserController(UserService userService) {
+    public UserController(UserService userService, EventAlertService eventAlertService) {
         this.userService = userService;
+        this.eventAlertService = eventAlertService;
     }
     
     /**
@@ -65,7 +78,10 @@ public class UserController {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
         
-        UserDTO updatedUser = userService.updateUser(userDTO);
+        UserDTO updatedUser = userService.updateProfile(username, userDTO);
+        if (updatedUser == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
         return ResponseEntity.ok(updatedUser);
     }
     
@@ -94,15 +110,95 @@ public class UserController {
     }
     
     /**
-     * Admin endpoint to retrieve all users
+     * Retrieves the saved searches of the currently authenticated user
+     * 
+     * @return List of saved searches
+     */
+    @GetMapping("/profile/saved-searches")
+    public ResponseEntity<List<SavedSearchDTO>> getSavedSearches() {
+        String username = SecurityContextHolder.getContext().getAuthentication().getName();
+        return ResponseEntity.ok(eventAlertService.getSavedSearches(username));
+    }
+    
+    /**
+     * Saves a search for the currently authenticated user.
+     * The user is e-mailed when newly approved events match it.
+     * 
+     * @param savedSearchDTO Search criteria (city, optional category, free only)
+     * @return Created saved search
+     */
+    @PostMapping("/profile/saved-searches")
+    public ResponseEntity<SavedSearchDTO> createSavedSearch(@Valid @RequestBody SavedSearchDTO savedSearchDTO) {
+        String username = SecurityContextHolder.getContext().getAuthentication().getName();
+        return eventAlertService.createSavedSearch(username, savedSearchDTO)
+            .map(created -> ResponseEntity.status(HttpStatus.CREATED).body(created))
+            .orElse(ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+    }
+    
+    /**
+     * Deletes a saved search of the currently authenticated user
      * 
-     * @return List of all users
+     * @param id Saved search ID
+     * @return No content response if successful
+     */
+    @DeleteMapping("/profile/saved-searches/{id}")
+    public ResponseEntity<Void> deleteSavedSearch(@PathVariable Long id) {
+        String username = SecurityContextHolder.getContext().getAuthentication().getName();
+        if (!eventAlertService.deleteSavedSearch(username, id)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.noContent().build();
+    }
+    
+    /**
+     * Admin endpoint to retrieve users one page at a time
+     * 
+     * @param page Page number (0-based)
+     * @param size Page size (capped at 200)
+     * @param sortBy Field to sort by
+     * @param direction Sort direction (asc/desc)
+     * @return Page of users
      */
     @GetMapping("/admin")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<UserDTO>> getAllUsers() {
-        List<UserDTO> users = userService.getAllUsers();
-        return ResponseEntity.ok(users);
+    public ResponseEntity<Page<UserDTO>> getUsers(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(defaultValue = "asc") String direction) {
+        Sort.Direction sortDirection = direction.equalsIgnoreCase("desc") ?
+            Sort.Direction.DESC : Sort.Direction.ASC;
+        
+        Pageable pageable = PageRequest.of(page, Math.min(size, MAX_ADMIN_PAGE_SIZE), sortDirection, sortBy);
+        return ResponseEntity.ok(userService.getUsers(pageable));
+    }
+    
+    /**
+     * Admin endpoint to export every user as NDJSON or CSV.
+     * The export is streamed straight to the response so it works
+     * regardless of the number of users.
+     * 
+     * @param format Export format (ndjson/csv)
+     * @param response HTTP response to write to
+     * @throws IOException if writing the response fails
+     */
+    @GetMapping("/admin/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    public void exportUsers(
+            @RequestParam(defaultValue = "ndjson") String format,
+            HttpServletResponse response) throws IOException {
+        UserService.ExportFormat exportFormat = format.equalsIgnoreCase("csv") ?
+            UserService.ExportFormat.CSV : UserService.ExportFormat.NDJSON;
+        
+        if (exportFormat == UserService.ExportFormat.CSV) {
+            response.setContentType("text/csv;charset=UTF-8");
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"users.csv\"");
+        } else {
+            response.setContentType("application/x-ndjson;charset=UTF-8");
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"users.ndjson\"");
+        }
+        
+        userService.exportUsers(exportFormat, response.getOutputStream());
     }
     
     /**
@@ -131,15 +227,9 @@ public class UserController {
     public ResponseEntity<UserDTO> updateUser(
             @PathVariable Long id, 
             @Valid @RequestBody UserDTO userDTO) {
-        
-        if (!userService.existsById(id)) {
-            return ResponseEntity.notFound().build();
-        }
-        
-        // Ensure the ID in the path matches the ID in the body
-        userDTO.setId(id);
-        UserDTO updatedUser = userService.updateUser(userDTO);
-        return ResponseEntity.ok(updatedUser);
+        return userService.updateUser(id, userDTO)
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
     }
     
     /**
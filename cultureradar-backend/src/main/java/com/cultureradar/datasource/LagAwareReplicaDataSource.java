@@ -0,0 +1,51 @@
+package com.cultureradar.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Data source for read-only transactions: hands out replica connections
+ * while {@link ReplicaLagMonitor} reports the replica as current, and
+ * primary connections otherwise, so readers never see data older than the
+ * configured lag.
+ */
+public class LagAwareReplicaDataSource extends AbstractDataSource {
+
+    private final DataSource replica;
+    private final DataSource primary;
+    private final ReplicaLagMonitor lagMonitor;
+    private final Counter fallbacks;
+
+    public LagAwareReplicaDataSource(DataSource replica, DataSource primary, ReplicaLagMonitor lagMonitor,
+                                     MeterRegistry meterRegistry) {
+        this.replica = replica;
+        this.primary = primary;
+        this.lagMonitor = lagMonitor;
+        this.fallbacks = Counter.builder("cultureradar.datasource.replica.fallbacks")
+            .description("Read-only connections served by the primary because the replica was lagging or down")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return target().getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return target().getConnection(username, password);
+    }
+
+    private DataSource target() {
+        if (lagMonitor.isReplicaUsable()) {
+            return replica;
+        }
+        fallbacks.increment();
+        return primary;
+    }
+}
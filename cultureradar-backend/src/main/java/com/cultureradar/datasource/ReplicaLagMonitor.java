@@ -0,0 +1,75 @@
+package com.cultureradar.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+
+/**
+ * Periodically measures how far the read replica is behind the primary.
+ * While the lag exceeds the limit, or the replica cannot be reached,
+ * {@link LagAwareReplicaDataSource} sends read-only work to the primary.
+ * The replica is considered unusable until the first successful check.
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    // A replica with nothing left to replay is current, however old its last replayed transaction is
+    private static final String LAG_QUERY = """
+        select case
+                 when not pg_is_in_recovery() then 0
+                 when pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() then 0
+                 else coalesce(extract(epoch from now() - pg_last_xact_replay_timestamp()), 0)
+               end""";
+
+    private final JdbcTemplate replicaJdbcTemplate;
+    private final double maxLagSeconds;
+
+    private volatile boolean replicaUsable;
+    private volatile double lagSeconds = Double.NaN;
+
+    public ReplicaLagMonitor(DataSource replicaDataSource, double maxLagSeconds, MeterRegistry meterRegistry) {
+        this.replicaJdbcTemplate = new JdbcTemplate(replicaDataSource);
+        this.replicaJdbcTemplate.setQueryTimeout(2);
+        this.maxLagSeconds = maxLagSeconds;
+
+        Gauge.builder("cultureradar.datasource.replica.lag", this, m -> m.lagSeconds)
+            .description("Replication lag of the read replica; NaN when it cannot be reached")
+            .baseUnit("seconds")
+            .register(meterRegistry);
+        Gauge.builder("cultureradar.datasource.replica.usable", this, m -> m.replicaUsable ? 1 : 0)
+            .description("1 while read-only transactions are routed to the replica")
+            .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${cultureradar.datasource.replica.lag-check-interval-ms:1000}")
+    public void checkLag() {
+        boolean wasUsable = replicaUsable;
+        try {
+            Double lag = replicaJdbcTemplate.queryForObject(LAG_QUERY, Double.class);
+            lagSeconds = lag != null ? lag : 0;
+            replicaUsable = lagSeconds <= maxLagSeconds;
+        } catch (DataAccessException e) {
+            lagSeconds = Double.NaN;
+            replicaUsable = false;
+        }
+
+        if (wasUsable != replicaUsable) {
+            if (replicaUsable) {
+                log.info("Read replica is usable again (lag {}s)", lagSeconds);
+            } else {
+                log.warn("Routing reads to the primary: replica lag is {}s (limit {}s)", lagSeconds, maxLagSeconds);
+            }
+        }
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+}
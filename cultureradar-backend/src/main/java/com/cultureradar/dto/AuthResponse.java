@@ -0,0 +1,26 @@
+package com.cultureradar.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object returned by a successful login.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuthResponse {
+
+    private String token;
+
+    private String tokenType = "Bearer";
+
+    // Null for accounts that only exist in the in-memory user store
+    private UserDTO user;
+
+    public AuthResponse(String token, UserDTO user) {
+        this.token = token;
+        this.user = user;
+    }
+}
@@ -0,0 +1,30 @@
+package com.cultureradar.dto;
+
+import com.cultureradar.model.EventCategory;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import jakarta.validation.constraints.NotBlank;
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object for a user's saved search.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SavedSearchDTO {
+
+    private Long id;
+
+    @NotBlank(message = "City is required")
+    private String city;
+
+    // Null matches every category
+    private EventCategory category;
+
+    private Boolean freeOnly = false;
+
+    private LocalDateTime createdAt;
+}
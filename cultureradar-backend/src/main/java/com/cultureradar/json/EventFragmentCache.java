@@ -0,0 +1,236 @@
+package com.cultureradar.json;
+
+import com.cultureradar.model.Event;
+import com.cultureradar.service.EventChangedEvent;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.core.json.JsonGeneratorImpl;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.ResolvableSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson module that caches the serialized JSON of each {@link Event} and
+ * writes the cached bytes as a raw value, so a search page is assembled
+ * from ready-made fragments instead of serializing the same events and
+ * locations on every request. Spring Boot registers it with the
+ * application's {@link ObjectMapper}.
+ *
+ * <p>A fragment is reused only while the event's {@code updatedAt} is
+ * unchanged, and expires at the next moment the derived
+ * {@code happeningNow} or {@code past} flags flip, or after a maximum age
+ * so that the view counts stay reasonably fresh. Only compact JSON output
+ * uses fragments; other formats and pretty printing serialize as usual.
+ */
+@Component
+public class EventFragmentCache extends SimpleModule {
+
+    private record Fragment(LocalDateTime updatedAt, long expiresAtMillis, SerializedString json) {
+    }
+
+    private final ConcurrentMap<Long, Fragment> fragments = new ConcurrentHashMap<>();
+    private final int maxEntries;
+    private final long maxAgeMillis;
+    private final Counter hits;
+    private final Counter misses;
+    private JsonFactory jsonFactory = new JsonFactory();
+
+    @Autowired
+    public EventFragmentCache(
+            MeterRegistry meterRegistry,
+            @Value("${cultureradar.json.fragments.max-entries:50000}") int maxEntries,
+            @Value("${cultureradar.json.fragments.max-age-seconds:300}") long maxAgeSeconds) {
+        super("EventFragmentCache");
+        this.maxEntries = maxEntries;
+        this.maxAgeMillis = TimeUnit.SECONDS.toMillis(maxAgeSeconds);
+        this.hits = Counter.builder("cultureradar.json.fragments")
+            .tag("result", "hit")
+            .register(meterRegistry);
+        this.misses = Counter.builder("cultureradar.json.fragments")
+            .tag("result", "miss")
+            .register(meterRegistry);
+        Gauge.builder("cultureradar.json.fragments.size", fragments, Map::size)
+            .register(meterRegistry);
+
+        setSerializerModifier(new BeanSerializerModifier() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public JsonSerializer<?> modifySerializer(SerializationConfig config, BeanDescription description,
+                                                      JsonSerializer<?> serializer) {
+                if (Event.class.isAssignableFrom(description.getBeanClass())) {
+                    return new FragmentSerializer((JsonSerializer<Object>) serializer);
+                }
+                return serializer;
+            }
+        });
+    }
+
+    @Override
+    public void setupModule(SetupContext context) {
+        super.setupModule(context);
+        if (context.getOwner() instanceof ObjectMapper mapper
+                && JsonFactory.FORMAT_NAME_JSON.equals(mapper.getFactory().getFormatName())) {
+            // Fragments are rendered with the JSON mapper's factory settings
+            jsonFactory = mapper.getFactory();
+        }
+    }
+
+    /**
+     * Drops the fragments of deleted events right away; changed events are
+     * detected through their {@code updatedAt}.
+     *
+     * @param change The event change notification
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventsChanged(EventChangedEvent change) {
+        if (change.type() == EventChangedEvent.Type.DELETED) {
+            change.events().forEach(event -> fragments.remove(event.getId()));
+        }
+    }
+
+    /**
+     * Removes expired fragments, making room for new ones.
+     */
+    @Scheduled(fixedDelayString = "${cultureradar.json.fragments.sweep-interval-ms:60000}")
+    public void sweep() {
+        long now = System.currentTimeMillis();
+        fragments.values().removeIf(fragment -> fragment.expiresAtMillis() <= now);
+    }
+
+    private SerializedString lookup(Event event) {
+        Fragment fragment = fragments.get(event.getId());
+        if (fragment != null
+                && Objects.equals(fragment.updatedAt(), event.getUpdatedAt())
+                && fragment.expiresAtMillis() > System.currentTimeMillis()) {
+            hits.increment();
+            return fragment.json();
+        }
+        misses.increment();
+        return null;
+    }
+
+    private void store(Event event, SerializedString json) {
+        if (fragments.size() >= maxEntries && !fragments.containsKey(event.getId())) {
+            return;
+        }
+        fragments.put(event.getId(), new Fragment(event.getUpdatedAt(), expiresAt(event), json));
+    }
+
+    /**
+     * @return When the fragment stops describing the event correctly
+     */
+    private long expiresAt(Event event) {
+        long now = System.currentTimeMillis();
+        long expiresAt = now + maxAgeMillis;
+        ZoneId zone = ZoneId.systemDefault();
+        long start = event.getStartTime().atZone(zone).toInstant().toEpochMilli();
+        long end = event.getEffectiveEndTime().atZone(zone).toInstant().toEpochMilli();
+        if (now < start) {
+            expiresAt = Math.min(expiresAt, start);
+        } else if (now < end) {
+            expiresAt = Math.min(expiresAt, end);
+        }
+        return expiresAt;
+    }
+
+    private static boolean isCacheable(Event event) {
+        // distanceKm is per request (recommendations)
+        return event.getId() != null && event.getUpdatedAt() != null && event.getStartTime() != null
+            && event.getDistanceKm() == null;
+    }
+
+    private final class FragmentSerializer extends StdSerializer<Event>
+            implements ContextualSerializer, ResolvableSerializer {
+
+        private final JsonSerializer<Object> delegate;
+
+        FragmentSerializer(JsonSerializer<Object> delegate) {
+            super(Event.class);
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void serialize(Event event, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            if (!(generator instanceof JsonGeneratorImpl) || generator.getPrettyPrinter() != null
+                    || !isCacheable(event)) {
+                delegate.serialize(event, generator, provider);
+                return;
+            }
+
+            SerializedString json = lookup(event);
+            if (json == null) {
+                json = render(event, provider);
+                store(event, json);
+            }
+            generator.writeRawValue(json);
+        }
+
+        @Override
+        public void serializeWithType(Event event, JsonGenerator generator, SerializerProvider provider,
+                                      TypeSerializer typeSerializer) throws IOException {
+            delegate.serializeWithType(event, generator, provider, typeSerializer);
+        }
+
+        @Override
+        public void resolve(SerializerProvider provider) throws JsonMappingException {
+            if (delegate instanceof ResolvableSerializer resolvable) {
+                resolvable.resolve(provider);
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public JsonSerializer<?> createContextual(SerializerProvider provider, BeanProperty property)
+                throws JsonMappingException {
+            if (delegate instanceof ContextualSerializer contextual) {
+                JsonSerializer<?> contextualized = contextual.createContextual(provider, property);
+                if (contextualized != delegate) {
+                    return new FragmentSerializer((JsonSerializer<Object>) contextualized);
+                }
+            }
+            return this;
+        }
+
+        private SerializedString render(Event event, SerializerProvider provider) throws IOException {
+            try (ByteArrayBuilder buffer = new ByteArrayBuilder(2048)) {
+                try (JsonGenerator fragment = jsonFactory.createGenerator(buffer)) {
+                    delegate.serialize(event, fragment, provider);
+                }
+                SerializedString json = new SerializedString(new String(buffer.toByteArray(), StandardCharsets.UTF_8));
+                // Encode once now; every later write copies these bytes
+                json.asUnquotedUTF8();
+                return json;
+            }
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.cultureradar.json;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Subset of fields requested by a client, such as
+ * {@code id,name,startTime,location.city}. Applied to a serialized object,
+ * it keeps only the listed properties; a dotted path keeps a property of a
+ * nested object, and naming an object keeps it whole. Unknown fields are
+ * ignored.
+ */
+public final class FieldSelection {
+
+    private static final int MAX_FIELDS = 50;
+
+    private final Set<String> paths;
+    // Property name -> selection of its children, or null to keep the property whole
+    private final Map<String, FieldSelection> children;
+
+    private FieldSelection(Set<String> paths) {
+        this.paths = paths;
+        this.children = new LinkedHashMap<>();
+        Map<String, Set<String>> nested = new LinkedHashMap<>();
+        // Sorted, so "location" comes before "location.city" and wins over it
+        for (String path : paths) {
+            int dot = path.indexOf('.');
+            String name = dot < 0 ? path : path.substring(0, dot);
+            if (dot < 0) {
+                nested.put(name, null);
+            } else if (!nested.containsKey(name) || nested.get(name) != null) {
+                nested.computeIfAbsent(name, k -> new TreeSet<>()).add(path.substring(dot + 1));
+            }
+        }
+        nested.forEach((name, childPaths) -> children.put(name, childPaths == null ? null : new FieldSelection(childPaths)));
+    }
+
+    /**
+     * Parses a comma-separated list of field paths.
+     *
+     * @param fields The fields parameter, may be null or blank
+     * @return The selection, or null if all fields are wanted
+     * @throws IllegalArgumentException If more than 50 fields are listed
+     */
+    public static FieldSelection parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+        Set<String> paths = new TreeSet<>();
+        for (String field : fields.split(",")) {
+            String path = field.trim();
+            if (!path.isEmpty()) {
+                paths.add(path);
+            }
+        }
+        if (paths.size() > MAX_FIELDS) {
+            throw new IllegalArgumentException("At most " + MAX_FIELDS + " fields can be selected");
+        }
+        return paths.isEmpty() ? null : new FieldSelection(paths);
+    }
+
+    /**
+     * Removes the unselected properties, in place. Arrays are filtered
+     * element by element.
+     *
+     * @param node A serialized object or array of objects
+     * @return The same node
+     */
+    public JsonNode apply(JsonNode node) {
+        if (node instanceof ArrayNode array) {
+            array.forEach(this::apply);
+        } else if (node instanceof ObjectNode object) {
+            Iterator<Map.Entry<String, JsonNode>> fields = object.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                if (!children.containsKey(field.getKey())) {
+                    fields.remove();
+                } else if (children.get(field.getKey()) != null) {
+                    children.get(field.getKey()).apply(field.getValue());
+                }
+            }
+        }
+        return node;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof FieldSelection selection && paths.equals(selection.paths);
+    }
+
+    @Override
+    public int hashCode() {
+        return paths.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return String.join(",", paths);
+    }
+}
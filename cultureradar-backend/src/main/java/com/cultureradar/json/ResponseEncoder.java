@@ -0,0 +1,87 @@
+package com.cultureradar.json;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+
+import java.util.List;
+
+/**
+ * Encodes list responses that controllers serialize themselves, as JSON
+ * or CBOR depending on the Accept header, optionally reduced to a
+ * {@link FieldSelection}. Compact JSON without a selection goes through
+ * the application mapper and so reuses {@link EventFragmentCache}
+ * fragments.
+ */
+@Component
+public class ResponseEncoder {
+
+    private final ObjectMapper jsonMapper;
+    private final ObjectMapper cborMapper;
+
+    @Autowired
+    public ResponseEncoder(ObjectMapper jsonMapper, MappingJackson2CborHttpMessageConverter cborConverter) {
+        this.jsonMapper = jsonMapper;
+        this.cborMapper = cborConverter.getObjectMapper();
+    }
+
+    /**
+     * Picks the response format: CBOR if the client ranks it above JSON,
+     * JSON otherwise.
+     *
+     * @param accept The Accept header, may be null
+     * @return {@link MediaType#APPLICATION_CBOR} or {@link MediaType#APPLICATION_JSON}
+     */
+    public MediaType negotiate(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return MediaType.APPLICATION_JSON;
+        }
+        List<MediaType> accepted;
+        try {
+            accepted = MediaType.parseMediaTypes(accept);
+        } catch (IllegalArgumentException e) {
+            return MediaType.APPLICATION_JSON;
+        }
+        MimeTypeUtils.sortBySpecificity(accepted);
+        for (MediaType type : accepted) {
+            // Only an explicit application/cbor selects CBOR; */* and application/* mean JSON
+            if (type.isCompatibleWith(MediaType.APPLICATION_CBOR) && !type.isWildcardType()
+                    && !type.isWildcardSubtype()) {
+                return MediaType.APPLICATION_CBOR;
+            }
+            if (type.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                return MediaType.APPLICATION_JSON;
+            }
+        }
+        return MediaType.APPLICATION_JSON;
+    }
+
+    /**
+     * Encodes a value whose list of items, if any, is at {@code itemsPath}.
+     *
+     * @param value Page, list or other value to encode
+     * @param itemsPath Property holding the items the selection applies to,
+     *                  such as "content" for a page, or null if the value itself is the list
+     * @param format Output format from {@link #negotiate(String)}
+     * @param fields Fields to keep in each item, or null for all
+     * @return The encoded response body
+     */
+    public byte[] encode(Object value, String itemsPath, MediaType format, FieldSelection fields) {
+        ObjectMapper mapper = MediaType.APPLICATION_CBOR.equals(format) ? cborMapper : jsonMapper;
+        try {
+            if (fields == null) {
+                return mapper.writeValueAsBytes(value);
+            }
+            JsonNode tree = jsonMapper.valueToTree(value);
+            fields.apply(itemsPath == null ? tree : tree.path(itemsPath));
+            return mapper.writeValueAsBytes(tree);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not encode response", e);
+        }
+    }
+}
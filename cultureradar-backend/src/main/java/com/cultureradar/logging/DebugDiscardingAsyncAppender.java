@@ -0,0 +1,31 @@
+package com.cultureradar.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+/**
+ * Async appender that, once its queue is nearly full, drops DEBUG and TRACE
+ * events only. The stock appender drops INFO as well, which would lose
+ * request and audit lines exactly when the system is under stress.
+ *
+ * <p>Meant to run with {@code neverBlock} off: other events then wait for
+ * a free slot instead of being lost, while DEBUG and TRACE events are
+ * dropped before the queue is full, so they never wait.
+ */
+public class DebugDiscardingAsyncAppender extends AsyncAppender {
+
+    @Override
+    protected boolean isDiscardable(ILoggingEvent event) {
+        return event.getLevel().toInt() <= Level.DEBUG_INT;
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        // Also covers a discarding threshold of 0, which would let them fill the queue and block
+        if (isDiscardable(event) && getRemainingCapacity() < Math.max(1, getDiscardingThreshold())) {
+            return;
+        }
+        super.append(event);
+    }
+}
@@ -0,0 +1,50 @@
+package com.cultureradar.logging;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+
+/**
+ * Assigns every request an id, reusing the caller's {@code X-Request-Id}
+ * when it looks sane, and echoes it in the response. Also decides, once
+ * per request, whether the request is sampled for debug logging.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestIdFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Request-Id";
+
+    private static final Pattern VALID_ID = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+
+    @Value("${cultureradar.logging.debug-sample-rate:0.0}")
+    private double debugSampleRate;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String requestId = request.getHeader(HEADER);
+        if (requestId == null || !VALID_ID.matcher(requestId).matches()) {
+            requestId = Long.toHexString(ThreadLocalRandom.current().nextLong());
+        }
+        response.setHeader(HEADER, requestId);
+
+        boolean sampled = debugSampleRate > 0 && ThreadLocalRandom.current().nextDouble() < debugSampleRate;
+        RequestLogContext.start(requestId, sampled);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            RequestLogContext.clear();
+        }
+    }
+}
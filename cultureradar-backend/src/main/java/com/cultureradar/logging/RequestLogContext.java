@@ -0,0 +1,69 @@
+package com.cultureradar.logging;
+
+import org.slf4j.MDC;
+import org.springframework.core.task.TaskDecorator;
+
+import java.util.Map;
+
+/**
+ * Per-request logging state: the request id, kept in the MDC so every log
+ * line of the request carries it, and whether the request was sampled for
+ * debug logging. The sampling flag lives in a plain thread local rather
+ * than the MDC because {@link SampledDebugTurboFilter} reads it on every
+ * debug call.
+ */
+public final class RequestLogContext {
+
+    public static final String REQUEST_ID = "requestId";
+
+    private static final ThreadLocal<Boolean> SAMPLED = new ThreadLocal<>();
+
+    private RequestLogContext() {
+    }
+
+    public static void start(String requestId, boolean sampled) {
+        MDC.put(REQUEST_ID, requestId);
+        if (sampled) {
+            SAMPLED.set(Boolean.TRUE);
+        }
+    }
+
+    public static void clear() {
+        MDC.remove(REQUEST_ID);
+        SAMPLED.remove();
+    }
+
+    /**
+     * @return true if debug logging is enabled for the current request
+     */
+    public static boolean isSampled() {
+        return SAMPLED.get() != null;
+    }
+
+    /**
+     * Carries the request id and sampling decision over to tasks run on
+     * another thread, such as {@code @Async} methods.
+     *
+     * @return TaskDecorator propagating the logging context
+     */
+    public static TaskDecorator taskDecorator() {
+        return task -> {
+            Map<String, String> mdc = MDC.getCopyOfContextMap();
+            boolean sampled = isSampled();
+            return () -> {
+                if (mdc != null) {
+                    MDC.setContextMap(mdc);
+                }
+                if (sampled) {
+                    SAMPLED.set(Boolean.TRUE);
+                }
+                try {
+                    task.run();
+                } finally {
+                    MDC.clear();
+                    SAMPLED.remove();
+                }
+            };
+        };
+    }
+}
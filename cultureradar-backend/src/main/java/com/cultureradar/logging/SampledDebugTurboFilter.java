@@ -0,0 +1,40 @@
+package com.cultureradar.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+/**
+ * Enables DEBUG and TRACE logging for sampled requests only. Loggers stay
+ * at their configured level; for a request picked by {@link RequestIdFilter}
+ * this filter accepts debug events from the configured logger prefixes
+ * before the level check happens. For every other call it costs one thread
+ * local read.
+ */
+public class SampledDebugTurboFilter extends TurboFilter {
+
+    private String[] loggerPrefixes = {"com.cultureradar"};
+
+    /**
+     * @param loggerPrefixes Comma-separated logger name prefixes eligible for sampled debug logging
+     */
+    public void setLoggerPrefixes(String loggerPrefixes) {
+        this.loggerPrefixes = loggerPrefixes.trim().split("\\s*,\\s*");
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (level.isGreaterOrEqual(Level.INFO) || !RequestLogContext.isSampled()) {
+            return FilterReply.NEUTRAL;
+        }
+        String name = logger.getName();
+        for (String prefix : loggerPrefixes) {
+            if (name.startsWith(prefix)) {
+                return FilterReply.ACCEPT;
+            }
+        }
+        return FilterReply.NEUTRAL;
+    }
+}
@@ -0,0 +1,68 @@
+package com.cultureradar.metrics;
+
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link ConcurrentMapCache} that counts hits, misses and puts, which the
+ * plain implementation does not track, so its hit ratio can be exported.
+ * Counters are {@link LongAdder}s to stay cheap under contention.
+ */
+public class InstrumentedConcurrentMapCache extends ConcurrentMapCache {
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder puts = new LongAdder();
+
+    public InstrumentedConcurrentMapCache(String name, boolean allowNullValues) {
+        super(name, allowNullValues);
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        Object value = super.lookup(key);
+        (value != null ? hits : misses).increment();
+        return value;
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        // The parent loads through computeIfAbsent without calling lookup(), so count here
+        if (super.lookup(key) == null) {
+            misses.increment();
+            puts.increment();
+        } else {
+            hits.increment();
+        }
+        return super.get(key, valueLoader);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        puts.increment();
+        super.put(key, value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = super.putIfAbsent(key, value);
+        if (existing == null) {
+            puts.increment();
+        }
+        return existing;
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getPutCount() {
+        return puts.sum();
+    }
+}
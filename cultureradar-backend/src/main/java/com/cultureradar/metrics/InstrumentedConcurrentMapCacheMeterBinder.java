@@ -0,0 +1,51 @@
+package com.cultureradar.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.cache.CacheMeterBinder;
+
+/**
+ * Exports the counters of an {@link InstrumentedConcurrentMapCache} as the
+ * standard {@code cache.gets}, {@code cache.puts} and {@code cache.size}
+ * meters. The hit ratio of a cache is
+ * {@code cache.gets{result=hit} / cache.gets}.
+ */
+public class InstrumentedConcurrentMapCacheMeterBinder extends CacheMeterBinder<InstrumentedConcurrentMapCache> {
+
+    public InstrumentedConcurrentMapCacheMeterBinder(InstrumentedConcurrentMapCache cache, Iterable<Tag> tags) {
+        super(cache, cache.getName(), tags);
+    }
+
+    @Override
+    protected Long size() {
+        InstrumentedConcurrentMapCache cache = getCache();
+        return cache == null ? null : (long) cache.getNativeCache().size();
+    }
+
+    @Override
+    protected long hitCount() {
+        InstrumentedConcurrentMapCache cache = getCache();
+        return cache == null ? 0 : cache.getHitCount();
+    }
+
+    @Override
+    protected Long missCount() {
+        InstrumentedConcurrentMapCache cache = getCache();
+        return cache == null ? null : cache.getMissCount();
+    }
+
+    @Override
+    protected Long evictionCount() {
+        return null;
+    }
+
+    @Override
+    protected long putCount() {
+        InstrumentedConcurrentMapCache cache = getCache();
+        return cache == null ? 0 : cache.getPutCount();
+    }
+
+    @Override
+    protected void bindImplementationSpecificMetrics(MeterRegistry registry) {
+    }
+}
@@ -0,0 +1,34 @@
+package com.cultureradar.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate hook that counts the SQL statements prepared on the current
+ * thread. {@link QueryCountFilter} resets the count when a request starts
+ * and records it when the request ends, which makes N+1 query patterns
+ * visible per endpoint.
+ */
+public class QueryCountInspector implements StatementInspector {
+
+    private static final ThreadLocal<int[]> COUNT = ThreadLocal.withInitial(() -> new int[1]);
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.get()[0]++;
+        return sql;
+    }
+
+    /**
+     * Resets the count of the current thread.
+     */
+    public static void reset() {
+        COUNT.get()[0] = 0;
+    }
+
+    /**
+     * @return Statements prepared on the current thread since the last reset
+     */
+    public static int current() {
+        return COUNT.get()[0];
+    }
+}
@@ -1,15 +1,17 @@
 package com.cultureradar.model;
 
-import javax.persistence.*;
-import javax.validation.constraints.NotBlank;
-import javax.validation.constraints.NotNull;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 
 /**
@@ -18,12 +20,19 @@ import java.time.LocalDateTime;
  * information about timing, pricing, and approval status.
  */
 @Entity
-@Table(name = "events")
+@Table(name = "events", indexes = {
+    @Index(name = "idx_events_updated_at", columnList = "updated_at")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Event {
     
+    /**
+     * Duration assumed for events without an end time.
+     */
+    public static final Duration DEFAULT_DURATION = Duration.ofHours(2);
+    
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -63,6 +72,13 @@ public class Event {
     @Column(nullable = false)
     private Boolean approved = false;
     
+    // Maintained only by EventViewCounter's batched increments; never written through JPA
+    @Column(nullable = false, insertable = false, updatable = false, columnDefinition = "bigint default 0")
+    private Long viewCount = 0L;
+    
+    @Column(nullable = false, insertable = false, updatable = false, columnDefinition = "bigint default 0")
+    private Long clickCount = 0L;
+    
     @CreationTimestamp
     @Column(updatable = false)
     private LocalDateTime createdAt;
@@ -70,6 +86,7 @@ public class Event {
     @UpdateTimestamp
     private LocalDateTime updatedAt;
     
+    @JsonIgnore
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "creator_id")
     private User creator;
@@ -77,6 +94,18 @@ public class Event {
     @Transient
     private Double distanceKm;
     
+    /**
+     * Returns the end time, or the start time plus {@link #DEFAULT_DURATION}
+     * if the event has no end time.
+     * 
+     * @return The effective end time
+     */
+    @Transient
+    @JsonIgnore
+    public LocalDateTime getEffectiveEndTime() {
+        return endTime != null ? endTime : startTime.plus(DEFAULT_DURATION);
+    }
+    
     /**
      * Checks if the event is happening now (between start and end time).
      * 
@@ -85,11 +114,7 @@ public class Event {
     @Transient
     public boolean isHappeningNow() {
         LocalDateTime now = LocalDateTime.now();
-        if (endTime == null) {
-            // If no end time, assume event is 2 hours long
-            return now.isAfter(startTime) && now.isBefore(startTime.plusHours(2));
-        }
-        return now.isAfter(startTime) && now.isBefore(endTime);
+        return now.isAfter(startTime) && now.isBefore(getEffectiveEndTime());
     }
     
     /**
@@ -99,12 +124,7 @@ public class Event {
      */
     @Transient
     public boolean isPast() {
-        LocalDateTime now = LocalDateTime.now();
-        if (endTime == null) {
-            // If no end time, use start time plus 2 hours
-            return now.isAfter(startTime.plusHours(2));
-        }
-        return now.isAfter(endTime);
+        return LocalDateTime.now().isAfter(getEffectiveEndTime());
     }
     
     /**
@@ -1,5 +1,16 @@
 package com.cultureradar.model;
 
-public class EventCategory {
-    
+/**
+ * Categories a cultural event can be filed under.
+ */
+public enum EventCategory {
+    ART,
+    MUSIC,
+    THEATRE,
+    FILM,
+    DANCE,
+    FESTIVAL,
+    LITERATURE,
+    COMMUNITY,
+    OTHER
 }
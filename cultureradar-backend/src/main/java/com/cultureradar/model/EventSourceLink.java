@@ -0,0 +1,51 @@
+package com.cultureradar.model;
+
+import jakarta.persistence.*;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Links an event listing from an external source to the canonical
+ * {@link Event} it was stored as. When the same event is published by
+ * several sources, every listing points at one canonical event.
+ * The event ID is a plain column rather than a foreign key, so a link
+ * outlives the deletion of its event and keeps it from being re-imported.
+ */
+@Entity
+@Table(name = "event_source_links",
+    uniqueConstraints = @UniqueConstraint(name = "uk_event_source_links_source_external_id",
+        columnNames = {"external_source", "external_id"}),
+    indexes = @Index(name = "idx_event_source_links_event", columnList = "event_id"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventSourceLink {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 32)
+    private String externalSource;
+
+    @Column(nullable = false)
+    private String externalId;
+
+    @Column(name = "event_id", nullable = false)
+    private Long eventId;
+
+    @CreationTimestamp
+    @Column(updatable = false)
+    private LocalDateTime createdAt;
+
+    public EventSourceLink(String externalSource, String externalId, Long eventId) {
+        this.externalSource = externalSource;
+        this.externalId = externalId;
+        this.eventId = eventId;
+    }
+}
@@ -1,5 +1,43 @@
 package com.cultureradar.model;
 
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entity representing a venue where cultural events take place.
+ */
+@Entity
+@Table(name = "locations", indexes = {
+    @Index(name = "idx_locations_city", columnList = "city")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class Location {
-    
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotBlank(message = "Location name is required")
+    @Column(nullable = false)
+    private String name;
+
+    private String address;
+
+    @NotBlank(message = "City is required")
+    @Column(nullable = false)
+    private String city;
+
+    private String province;
+
+    private String postalCode;
+
+    private Double latitude;
+
+    private Double longitude;
 }
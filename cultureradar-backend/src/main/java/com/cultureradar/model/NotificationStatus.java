@@ -0,0 +1,11 @@
+package com.cultureradar.model;
+
+/**
+ * Delivery states of an outbound {@link Notification}.
+ */
+public enum NotificationStatus {
+    PENDING,
+    SENDING,
+    SENT,
+    FAILED
+}
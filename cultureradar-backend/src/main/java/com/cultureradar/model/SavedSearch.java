@@ -0,0 +1,49 @@
+package com.cultureradar.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity representing a user's saved search.
+ * Users receive an e-mail digest when newly approved events match one of
+ * their saved searches.
+ */
+@Entity
+@Table(name = "saved_searches", indexes = {
+    @Index(name = "idx_saved_searches_user", columnList = "user_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SavedSearch {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @NotBlank(message = "City is required")
+    @Column(nullable = false)
+    private String city;
+
+    // Null matches every category
+    @Enumerated(EnumType.STRING)
+    private EventCategory category;
+
+    @Column(nullable = false)
+    private Boolean freeOnly = false;
+
+    @CreationTimestamp
+    @Column(updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -1,5 +1,159 @@
 package com.cultureradar.repository;
 
-public class EventRepository {
-    
+import com.cultureradar.model.Event;
+import com.cultureradar.model.EventCategory;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Repository for {@link Event} entities.
+ * Search filters are expressed as specifications built by the event service.
+ */
+@Repository
+public interface EventRepository extends JpaRepository<Event, Long>, JpaSpecificationExecutor<Event> {
+
+    String CALENDAR_FEED_FILTER = "e.approved = true and e.startTime >= :from and e.startTime < :to "
+        + "and (:city is null or lower(l.city) = :city) "
+        + "and (:category is null or e.category = :category) "
+        + "and (:isFree is null or e.isFree = :isFree)";
+
+    /**
+     * Number and last modification of the events in a calendar feed.
+     */
+    interface FeedFingerprint {
+        long getCount();
+
+        LocalDateTime getLastUpdated();
+    }
+
+    /**
+     * Finds approved events starting within the given window, with their
+     * locations fetched in the same query.
+     *
+     * @param from Minimum start time
+     * @param to Maximum start time
+     * @return Approved events in the window
+     */
+    @EntityGraph(attributePaths = "location")
+    List<Event> findByApprovedTrueAndStartTimeBetween(LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Finds the events with a location starting within the given window.
+     * Used to load one day of the duplicate-detection index.
+     *
+     * @param from Minimum start time
+     * @param to Maximum start time (exclusive)
+     * @return Events in the window, with their locations
+     */
+    @Query("select e from Event e join fetch e.location where e.startTime >= :from and e.startTime < :to")
+    List<Event> findWithLocationByStartTimeWindow(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /**
+     * Finds approved events that overlap the given window, with their
+     * locations. Events without an end time are assumed to last
+     * {@link Event#DEFAULT_DURATION}, so the caller passes
+     * {@code openEndedFrom = from - DEFAULT_DURATION}.
+     *
+     * @param from Start of the window
+     * @param openEndedFrom Earliest start of an overlapping event without end time
+     * @param to End of the window
+     * @return Approved events overlapping the window
+     */
+    @Query("select e from Event e join fetch e.location where e.approved = true and e.startTime < :to "
+        + "and (e.endTime > :from or (e.endTime is null and e.startTime > :openEndedFrom))")
+    List<Event> findApprovedOverlapping(@Param("from") LocalDateTime from,
+                                        @Param("openEndedFrom") LocalDateTime openEndedFrom,
+                                        @Param("to") LocalDateTime to);
+
+    /**
+     * Finds archived events, most recent first. Archived events live in the
+     * events_archive table, which only exists once events are partitioned.
+     *
+     * @param city Lower-case city of the event location, or null for all cities
+     * @param from Minimum start time
+     * @param to Maximum start time (exclusive)
+     * @param pageable Page request; its sort is ignored
+     * @return Page of archived events
+     */
+    @Query(value = "select e.* from events_archive e "
+            + "where e.start_time >= :from and e.start_time < :to "
+            + "and (cast(:city as text) is null or e.location_id in "
+            + "(select l.id from locations l where lower(l.city) = :city)) "
+            + "order by e.start_time desc",
+        countQuery = "select count(*) from events_archive e "
+            + "where e.start_time >= :from and e.start_time < :to "
+            + "and (cast(:city as text) is null or e.location_id in "
+            + "(select l.id from locations l where lower(l.city) = :city))",
+        nativeQuery = true)
+    Page<Event> findArchived(@Param("city") String city, @Param("from") LocalDateTime from,
+                             @Param("to") LocalDateTime to, Pageable pageable);
+
+    /**
+     * Streams the approved events of a calendar feed in start order, fetched
+     * from the database in chunks. Must be consumed inside a transaction.
+     *
+     * @param city Lower-case city, or null for all cities
+     * @param category Category, or null for all categories
+     * @param isFree Free admission filter, or null
+     * @param from Minimum start time
+     * @param to Maximum start time (exclusive)
+     * @return Events with their locations, read-only
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select e from Event e join fetch e.location l where " + CALENDAR_FEED_FILTER + " order by e.startTime")
+    Stream<Event> streamCalendarFeed(@Param("city") String city, @Param("category") EventCategory category,
+                                     @Param("isFree") Boolean isFree, @Param("from") LocalDateTime from,
+                                     @Param("to") LocalDateTime to);
+
+    /**
+     * Computes the fingerprint of a calendar feed; it changes whenever an
+     * event is added to, removed from or updated in the feed.
+     */
+    @Query("select count(e) as count, max(e.updatedAt) as lastUpdated from Event e join e.location l where "
+        + CALENDAR_FEED_FILTER)
+    FeedFingerprint fingerprintCalendarFeed(@Param("city") String city, @Param("category") EventCategory category,
+                                            @Param("isFree") Boolean isFree, @Param("from") LocalDateTime from,
+                                            @Param("to") LocalDateTime to);
+
+    /**
+     * Counts the events modified since the given time.
+     *
+     * @param since Earliest modification time
+     * @return Number of events
+     */
+    long countByUpdatedAtGreaterThanEqual(LocalDateTime since);
+
+    /**
+     * Finds the events modified since the given time, with their locations.
+     * Used to bring a restored snapshot up to date.
+     *
+     * @param since Earliest modification time
+     * @return Modified events
+     */
+    @EntityGraph(attributePaths = "location")
+    List<Event> findByUpdatedAtGreaterThanEqual(LocalDateTime since);
+
+    /**
+     * @param ids Event IDs
+     * @return Those of the IDs whose events still exist
+     */
+    @Query("select e.id from Event e where e.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
 }
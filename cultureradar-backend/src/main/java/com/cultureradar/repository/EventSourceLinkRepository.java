@@ -0,0 +1,17 @@
+package com.cultureradar.repository;
+
+import com.cultureradar.model.EventSourceLink;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository for {@link EventSourceLink} entities.
+ */
+@Repository
+public interface EventSourceLinkRepository extends JpaRepository<EventSourceLink, Long> {
+
+    List<EventSourceLink> findByExternalSourceAndExternalIdIn(String externalSource, Collection<String> externalIds);
+}
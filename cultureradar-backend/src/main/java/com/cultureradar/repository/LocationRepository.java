@@ -0,0 +1,27 @@
+package com.cultureradar.repository;
+
+import com.cultureradar.model.Location;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository for {@link Location} entities.
+ */
+@Repository
+public interface LocationRepository extends JpaRepository<Location, Long> {
+
+    /**
+     * Finds every location in the given cities, used to resolve the venues
+     * of a whole batch of events with one query.
+     *
+     * @param cities Lower-cased city names
+     * @return Locations in those cities
+     */
+    @Query("select l from Location l where lower(l.city) in :cities")
+    List<Location> findByLowerCityIn(@Param("cities") Collection<String> cities);
+}
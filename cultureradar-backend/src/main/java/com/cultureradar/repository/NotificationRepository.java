@@ -0,0 +1,44 @@
+package com.cultureradar.repository;
+
+import com.cultureradar.model.Notification;
+import com.cultureradar.model.NotificationStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository for the outbound {@link Notification} queue.
+ */
+@Repository
+public interface NotificationRepository extends JpaRepository<Notification, Long> {
+
+    /**
+     * Locks the oldest due notifications for delivery.
+     * A lock timeout of -2 makes Hibernate emit FOR UPDATE SKIP LOCKED, so
+     * several workers can drain the queue without claiming the same rows.
+     *
+     * @param statuses Statuses eligible for delivery
+     * @param now Current time; only rows due at or before it are returned
+     * @param pageable Maximum number of rows to claim
+     * @return Locked notifications, oldest first
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select n from Notification n where n.status in :statuses and n.nextAttemptAt <= :now order by n.nextAttemptAt")
+    List<Notification> findDueForUpdate(
+            @Param("statuses") Collection<NotificationStatus> statuses,
+            @Param("now") LocalDateTime now,
+            Pageable pageable);
+
+    long countByStatusIn(Collection<NotificationStatus> statuses);
+}
@@ -0,0 +1,16 @@
+package com.cultureradar.repository;
+
+import com.cultureradar.model.SavedSearch;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository for {@link SavedSearch} entities.
+ */
+@Repository
+public interface SavedSearchRepository extends JpaRepository<SavedSearch, Long> {
+
+    List<SavedSearch> findByUserId(Long userId);
+}
@@ -1,5 +1,45 @@
 package com.cultureradar.repository;
 
-public class UserRepository {
-    
+import com.cultureradar.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Repository for {@link User} entities.
+ */
+@Repository
+public interface UserRepository extends JpaRepository<User, Long> {
+
+    Optional<User> findByUsername(String username);
+
+    boolean existsByUsername(String username);
+
+    boolean existsByEmail(String email);
+
+    List<User> findByUsernameIn(Collection<String> usernames);
+
+    /**
+     * Streams every user ordered by ID using a forward-only cursor.
+     * The fetch size hint keeps the JDBC driver from buffering the whole
+     * result set, so callers must consume the stream inside a read-only
+     * transaction and close it when done.
+     *
+     * @return Stream of users with their roles initialized
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("select u from User u left join fetch u.roles order by u.id")
+    Stream<User> streamAllOrderedById();
 }
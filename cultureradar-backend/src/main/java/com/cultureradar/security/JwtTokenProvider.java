@@ -1,5 +1,131 @@
 package com.cultureradar.security;
 
+import com.nimbusds.jose.jwk.source.ImmutableSecret;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationProvider;
+import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Issues and validates the HMAC-signed JWTs returned by
+ * {@code POST /api/auth/login}. The security filter chain accepts them as
+ * bearer tokens through {@link #getAuthenticationManager()}.
+ *
+ * <p>Every node must share {@code cultureradar.jwt.secret} for tokens to
+ * be accepted across the cluster. Without one a random key is generated,
+ * which only suits a single development node.
+ */
+@Component
 public class JwtTokenProvider {
-    
+
+    private static final Logger log = LoggerFactory.getLogger(JwtTokenProvider.class);
+
+    private static final String ISSUER = "cultureradar";
+    private static final String ROLES_CLAIM = "roles";
+    private static final int MIN_SECRET_BYTES = 32;
+
+    private final JwtEncoder encoder;
+    private final JwtDecoder decoder;
+    private final Duration expiration;
+    private final AuthenticationManager bearerAuthenticationManager;
+
+    @Autowired
+    public JwtTokenProvider(
+            @Value("${cultureradar.jwt.secret:}") String secret,
+            @Value("${cultureradar.jwt.expiration-minutes:60}") long expirationMinutes) {
+        SecretKey key = new SecretKeySpec(secretBytes(secret), "HmacSHA256");
+        this.encoder = new NimbusJwtEncoder(new ImmutableSecret<>(key));
+        this.decoder = NimbusJwtDecoder.withSecretKey(key).macAlgorithm(MacAlgorithm.HS256).build();
+        this.expiration = Duration.ofMinutes(expirationMinutes);
+
+        JwtGrantedAuthoritiesConverter authorities = new JwtGrantedAuthoritiesConverter();
+        authorities.setAuthoritiesClaimName(ROLES_CLAIM);
+        // The claim holds full authority names, such as ROLE_USER
+        authorities.setAuthorityPrefix("");
+        JwtAuthenticationConverter converter = new JwtAuthenticationConverter();
+        converter.setJwtGrantedAuthoritiesConverter(authorities);
+        JwtAuthenticationProvider provider = new JwtAuthenticationProvider(decoder);
+        provider.setJwtAuthenticationConverter(converter);
+        this.bearerAuthenticationManager = new ProviderManager(provider);
+    }
+
+    /**
+     * @param authentication An authenticated principal
+     * @return Signed token carrying the username and authorities
+     */
+    public String generateToken(Authentication authentication) {
+        Instant now = Instant.now();
+        List<String> authorities = authentication.getAuthorities().stream()
+            .map(GrantedAuthority::getAuthority)
+            .toList();
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+            .issuer(ISSUER)
+            .subject(authentication.getName())
+            .issuedAt(now)
+            .expiresAt(now.plus(expiration))
+            .claim(ROLES_CLAIM, authorities)
+            .build();
+        JwsHeader header = JwsHeader.with(MacAlgorithm.HS256).build();
+        return encoder.encode(JwtEncoderParameters.from(header, claims)).getTokenValue();
+    }
+
+    /**
+     * @param token Token as sent by the client, without the "Bearer " prefix
+     * @return true if the token was signed with this key and has not expired
+     */
+    public boolean validateToken(String token) {
+        try {
+            decoder.decode(token);
+            return true;
+        } catch (JwtException e) {
+            return false;
+        }
+    }
+
+    /**
+     * @return Manager that authenticates a bearer token issued here as its
+     *         subject, with the authorities it was issued with
+     */
+    public AuthenticationManager getAuthenticationManager() {
+        return bearerAuthenticationManager;
+    }
+
+    private static byte[] secretBytes(String secret) {
+        if (secret == null || secret.isBlank()) {
+            log.warn("cultureradar.jwt.secret is not set; tokens are signed with a random key and only valid on this node until it restarts");
+            byte[] random = new byte[MIN_SECRET_BYTES];
+            new SecureRandom().nextBytes(random);
+            return random;
+        }
+        byte[] bytes = secret.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length < MIN_SECRET_BYTES) {
+            throw new IllegalStateException("cultureradar.jwt.secret must be at least " + MIN_SECRET_BYTES + " bytes");
+        }
+        return bytes;
+    }
 }
@@ -0,0 +1,100 @@
+package com.cultureradar.security;
+
+import com.cultureradar.util.TokenBucketLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rate limits requests per client IP address with token buckets. Rules are
+ * read from {@code cultureradar.ratelimit.rules}, a list of
+ * {@code pattern:capacity:tokensPerSecond} entries; the first rule whose
+ * Ant-style pattern matches the request path applies, and paths matching
+ * no rule are not limited. The filter runs before authentication in the
+ * security filter chain, so a flood of bad credentials is limited before
+ * each request pays for a password hash check.
+ *
+ * <p>A rejected request gets a bodiless 429 response with a
+ * {@code Retry-After} header before reaching any controller.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private record Rule(String pattern, TokenBucketLimiter limiter, Counter rejected) {
+    }
+
+    private final AntPathMatcher matcher = new AntPathMatcher();
+    private final List<Rule> rules = new ArrayList<>();
+    private final boolean enabled;
+
+    @Autowired
+    public RateLimitFilter(
+            MeterRegistry meterRegistry,
+            @Value("${cultureradar.ratelimit.enabled:true}") boolean enabled,
+            @Value("${cultureradar.ratelimit.rules:/api/events/public/**:60:10}") List<String> rules,
+            @Value("${cultureradar.ratelimit.max-clients:100000}") int maxClients) {
+        this.enabled = enabled;
+        for (String definition : rules) {
+            String[] parts = definition.trim().split(":");
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Rate limit rule must be pattern:capacity:tokensPerSecond: " + definition);
+            }
+            TokenBucketLimiter limiter = new TokenBucketLimiter(
+                Integer.parseInt(parts[1]), Double.parseDouble(parts[2]), maxClients);
+            Counter rejected = Counter.builder("cultureradar.ratelimit.rejected")
+                .tag("rule", parts[0])
+                .register(meterRegistry);
+            Gauge.builder("cultureradar.ratelimit.clients", limiter, TokenBucketLimiter::size)
+                .tag("rule", parts[0])
+                .register(meterRegistry);
+            this.rules.add(new Rule(parts[0], limiter, rejected));
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || rules.isEmpty();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Rule rule = match(request.getRequestURI().substring(request.getContextPath().length()));
+        if (rule != null) {
+            long wait = rule.limiter().tryAcquire(request.getRemoteAddr(), System.nanoTime());
+            if (wait > 0) {
+                rule.rejected().increment();
+                response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+                long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(wait + TimeUnit.SECONDS.toNanos(1) - 1));
+                response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+                return;
+            }
+        }
+        chain.doFilter(request, response);
+    }
+
+    private Rule match(String path) {
+        for (Rule rule : rules) {
+            if (matcher.match(rule.pattern(), path)) {
+                return rule;
+            }
+        }
+        return null;
+    }
+}
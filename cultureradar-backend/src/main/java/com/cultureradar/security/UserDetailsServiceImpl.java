@@ -1,5 +1,44 @@
 package com.cultureradar.security;
 
-public class UserDetailsServiceImpl {
-    
+import com.cultureradar.model.User;
+import com.cultureradar.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Loads the accounts created through {@code POST /api/auth/register} from
+ * the database, for HTTP Basic and for the login endpoint.
+ */
+@Service
+public class UserDetailsServiceImpl implements UserDetailsService {
+
+    private static final String ROLE_PREFIX = "ROLE_";
+
+    private final UserRepository userRepository;
+
+    @Autowired
+    public UserDetailsServiceImpl(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public UserDetails loadUserByUsername(String username) {
+        User user = userRepository.findByUsername(username)
+            .orElseThrow(() -> new UsernameNotFoundException("Unknown user " + username));
+
+        // hasRole() checks expect the ROLE_ prefix that registration stores
+        String[] authorities = user.getRoles().stream()
+            .map(role -> role.startsWith(ROLE_PREFIX) ? role : ROLE_PREFIX + role)
+            .toArray(String[]::new);
+        return org.springframework.security.core.userdetails.User.withUsername(user.getUsername())
+            .password(user.getPassword())
+            .authorities(authorities)
+            .disabled(!Boolean.TRUE.equals(user.getEnabled()))
+            .build();
+    }
 }
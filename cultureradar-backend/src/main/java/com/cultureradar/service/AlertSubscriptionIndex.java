@@ -0,0 +1,96 @@
+package com.cultureradar.service;
+
+import com.cultureradar.model.Event;
+import com.cultureradar.model.EventCategory;
+import com.cultureradar.util.TextNormalizer;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory reverse index of saved searches.
+ * Subscriptions are bucketed by (city, category, free-only) so that matching
+ * an event costs at most four hash lookups, independent of the number of
+ * users or saved searches.
+ */
+public class AlertSubscriptionIndex {
+
+    /**
+     * Index key. A null category means "any category".
+     */
+    record Key(String city, EventCategory category, boolean freeOnly) {
+    }
+
+    // key -> (saved search id -> user id)
+    private final Map<Key, Map<Long, Long>> subscriptions = new ConcurrentHashMap<>();
+    private final Map<Long, Key> keysBySearchId = new ConcurrentHashMap<>();
+
+    /**
+     * Adds or replaces a saved search in the index.
+     *
+     * @param searchId Saved search ID
+     * @param userId Owner of the saved search
+     * @param city City the search is restricted to
+     * @param category Category filter, or null for any category
+     * @param freeOnly Whether only free events should match
+     */
+    public void add(Long searchId, Long userId, String city, EventCategory category, boolean freeOnly) {
+        remove(searchId);
+        Key key = new Key(TextNormalizer.normalize(city), category, freeOnly);
+        subscriptions.computeIfAbsent(key, k -> new ConcurrentHashMap<>()).put(searchId, userId);
+        keysBySearchId.put(searchId, key);
+    }
+
+    /**
+     * Removes a saved search from the index.
+     *
+     * @param searchId Saved search ID
+     */
+    public void remove(Long searchId) {
+        Key key = keysBySearchId.remove(searchId);
+        if (key == null) {
+            return;
+        }
+        subscriptions.computeIfPresent(key, (k, entries) -> {
+            entries.remove(searchId);
+            return entries.isEmpty() ? null : entries;
+        });
+    }
+
+    /**
+     * Finds the users with at least one saved search matching the event.
+     *
+     * @param event Event to match
+     * @return IDs of the interested users
+     */
+    public Set<Long> match(Event event) {
+        Set<Long> userIds = new HashSet<>();
+        if (event.getLocation() == null) {
+            return userIds;
+        }
+
+        String city = TextNormalizer.normalize(event.getLocation().getCity());
+        EventCategory category = event.getCategory();
+
+        collect(new Key(city, category, false), userIds);
+        collect(new Key(city, null, false), userIds);
+        if (event.isFreeEvent()) {
+            collect(new Key(city, category, true), userIds);
+            collect(new Key(city, null, true), userIds);
+        }
+        return userIds;
+    }
+
+    public int size() {
+        return keysBySearchId.size();
+    }
+
+    private void collect(Key key, Set<Long> userIds) {
+        Map<Long, Long> entries = subscriptions.get(key);
+        if (entries != null) {
+            userIds.addAll(entries.values());
+        }
+    }
+}
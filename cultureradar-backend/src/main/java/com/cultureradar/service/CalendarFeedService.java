@@ -0,0 +1,304 @@
+package com.cultureradar.service;
+
+import com.cultureradar.model.Event;
+import com.cultureradar.model.EventCategory;
+import com.cultureradar.model.Location;
+import com.cultureradar.repository.EventRepository;
+import com.cultureradar.util.IcsWriter;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Serves iCalendar feeds of approved events for calendar subscriptions.
+ * Feeds are streamed straight from a database cursor, one VEVENT at a
+ * time. Calendar clients poll often, so each feed's ETag is remembered
+ * for a short time and small feeds keep their rendered body: a poll
+ * within that time costs no query, and a poll with an unchanged ETag
+ * only a count query.
+ */
+@Service
+public class CalendarFeedService {
+
+    private static final String PRODUCT_ID = "-//CultureRadar//Events//EN";
+    private static final int DETACH_BATCH = 500;
+
+    /**
+     * Filters of a feed.
+     */
+    public record FeedKey(String city, EventCategory category, Boolean isFree) {
+
+        public static FeedKey of(String city, EventCategory category, Boolean isFree) {
+            return new FeedKey(EventSearchKey.normalizeCity(city), category, isFree);
+        }
+    }
+
+    private record FeedState(String etag, long checkedAtMillis, byte[] body) {
+    }
+
+    private final EventRepository eventRepository;
+    private final EntityManager entityManager;
+    private final long ttlMillis;
+    private final int horizonDays;
+    private final int maxFeeds;
+    private final int maxCachedBytes;
+    private final ConcurrentMap<FeedKey, FeedState> feeds = new ConcurrentHashMap<>();
+
+    @Autowired
+    public CalendarFeedService(
+            EventRepository eventRepository,
+            EntityManager entityManager,
+            @Value("${cultureradar.calendar.cache-seconds:60}") long cacheSeconds,
+            @Value("${cultureradar.calendar.horizon-days:180}") int horizonDays,
+            @Value("${cultureradar.calendar.max-cached-feeds:1000}") int maxFeeds,
+            @Value("${cultureradar.calendar.max-cached-bytes:262144}") int maxCachedBytes) {
+        this.eventRepository = eventRepository;
+        this.entityManager = entityManager;
+        this.ttlMillis = TimeUnit.SECONDS.toMillis(cacheSeconds);
+        this.horizonDays = horizonDays;
+        this.maxFeeds = maxFeeds;
+        this.maxCachedBytes = maxCachedBytes;
+    }
+
+    /**
+     * @return How long clients may reuse a feed without revalidating
+     */
+    public long getCacheSeconds() {
+        return TimeUnit.MILLISECONDS.toSeconds(ttlMillis);
+    }
+
+    /**
+     * Returns the current ETag of a feed, from the short-lived cache when
+     * possible and otherwise from a count query.
+     *
+     * @param key Feed filters
+     * @return Strong ETag value, quoted
+     */
+    @Transactional(readOnly = true)
+    public String currentEtag(FeedKey key) {
+        long now = System.currentTimeMillis();
+        FeedState state = feeds.get(key);
+        if (state != null && now - state.checkedAtMillis() < ttlMillis) {
+            return state.etag();
+        }
+
+        LocalDateTime from = windowStart();
+        EventRepository.FeedFingerprint fingerprint = eventRepository.fingerprintCalendarFeed(
+            key.city(), key.category(), key.isFree(), from, from.plusDays(horizonDays));
+        String etag = etag(key, from, fingerprint);
+
+        // Keep the rendered body while the feed is unchanged
+        byte[] body = state != null && state.etag().equals(etag) ? state.body() : null;
+        remember(key, new FeedState(etag, now, body));
+        return etag;
+    }
+
+    /**
+     * Derives the ETag from values that are the same on every node and
+     * across restarts, hashed to 128 bits so distinct feed states do not
+     * collide in practice.
+     */
+    static String etag(FeedKey key, LocalDateTime from, EventRepository.FeedFingerprint fingerprint) {
+        LocalDateTime lastUpdated = fingerprint.getLastUpdated();
+        String state = key.city() + '|' + (key.category() != null ? key.category().name() : null)
+            + '|' + key.isFree() + '|' + from + '|' + fingerprint.getCount()
+            + '|' + (lastUpdated != null ? lastUpdated.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L
+                + lastUpdated.getNano() : null);
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(state.getBytes(StandardCharsets.UTF_8));
+            return '"' + HexFormat.of().formatHex(digest, 0, 16) + '"';
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Writes the feed, from the cached body if it is still current,
+     * otherwise by streaming the events from the database.
+     *
+     * @param key Feed filters
+     * @param etag ETag returned by {@link #currentEtag(FeedKey)} for this response
+     * @param out Response stream
+     */
+    @Transactional(readOnly = true)
+    public void writeFeed(FeedKey key, String etag, OutputStream out) throws IOException {
+        FeedState state = feeds.get(key);
+        if (state != null && state.etag().equals(etag) && state.body() != null) {
+            out.write(state.body());
+            return;
+        }
+
+        CappedCopy copy = new CappedCopy(out, maxCachedBytes);
+        IcsWriter ics = new IcsWriter(copy);
+        ics.raw("BEGIN", "VCALENDAR")
+            .raw("VERSION", "2.0")
+            .raw("PRODID", PRODUCT_ID)
+            .raw("CALSCALE", "GREGORIAN")
+            .text("X-WR-CALNAME", calendarName(key))
+            .raw("REFRESH-INTERVAL;VALUE=DURATION", "PT1H")
+            .raw("X-PUBLISHED-TTL", "PT1H");
+
+        LocalDateTime from = windowStart();
+        try (Stream<Event> events = eventRepository.streamCalendarFeed(
+                key.city(), key.category(), key.isFree(), from, from.plusDays(horizonDays))) {
+            int written = 0;
+            Iterator<Event> iterator = events.iterator();
+            while (iterator.hasNext()) {
+                writeEvent(ics, iterator.next());
+                if (++written % DETACH_BATCH == 0) {
+                    // Keep the persistence context from holding the whole feed
+                    entityManager.clear();
+                }
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        ics.raw("END", "VCALENDAR");
+        ics.flush();
+
+        byte[] body = copy.captured();
+        if (body != null) {
+            feeds.computeIfPresent(key, (k, current) -> current.etag().equals(etag)
+                ? new FeedState(etag, current.checkedAtMillis(), body) : current);
+        }
+    }
+
+    private void writeEvent(IcsWriter ics, Event event) throws IOException {
+        ZoneId zone = ZoneId.systemDefault();
+        Instant start = event.getStartTime().atZone(zone).toInstant();
+        Instant end = event.getEffectiveEndTime().atZone(zone).toInstant();
+        LocalDateTime modified = event.getUpdatedAt() != null ? event.getUpdatedAt() : event.getCreatedAt();
+
+        ics.raw("BEGIN", "VEVENT")
+            .raw("UID", "event-" + event.getId() + "@cultureradar")
+            .dateTime("DTSTAMP", modified != null ? modified.atZone(zone).toInstant() : start)
+            .dateTime("DTSTART", start)
+            .dateTime("DTEND", end.isAfter(start) ? end : start)
+            .text("SUMMARY", event.getName())
+            .text("DESCRIPTION", event.getDescription())
+            .text("LOCATION", location(event.getLocation()))
+            .text("CATEGORIES", event.getCategory() != null ? event.getCategory().name() : null);
+        if (event.getLocation() != null && event.getLocation().getLatitude() != null
+                && event.getLocation().getLongitude() != null) {
+            ics.raw("GEO", event.getLocation().getLatitude() + ";" + event.getLocation().getLongitude());
+        }
+        ics.raw("END", "VEVENT");
+    }
+
+    private static String location(Location location) {
+        if (location == null) {
+            return null;
+        }
+        StringJoiner joined = new StringJoiner(", ");
+        for (String part : new String[]{location.getName(), location.getAddress(), location.getCity()}) {
+            if (part != null && !part.isBlank()) {
+                joined.add(part);
+            }
+        }
+        return joined.toString();
+    }
+
+    private static String calendarName(FeedKey key) {
+        StringJoiner name = new StringJoiner(" ", "CultureRadar", "");
+        if (Boolean.TRUE.equals(key.isFree())) {
+            name.add("- free");
+        }
+        if (key.category() != null) {
+            name.add(key.category().name().toLowerCase(Locale.ROOT).replace('_', ' '));
+        }
+        name.add("events");
+        if (key.city() != null) {
+            name.add("in " + key.city());
+        }
+        return name.toString();
+    }
+
+    /**
+     * Start of the feed window: events that ended in the last day stay in
+     * the feed. Rounded to the hour so the ETag is stable within an hour.
+     */
+    private static LocalDateTime windowStart() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).minusDays(1);
+    }
+
+    private void remember(FeedKey key, FeedState state) {
+        if (feeds.size() >= maxFeeds && !feeds.containsKey(key)) {
+            long now = System.currentTimeMillis();
+            feeds.values().removeIf(old -> now - old.checkedAtMillis() >= ttlMillis);
+            if (feeds.size() >= maxFeeds) {
+                return;
+            }
+        }
+        feeds.put(key, state);
+    }
+
+    /**
+     * Passes bytes through and keeps a copy as long as it stays small.
+     */
+    private static final class CappedCopy extends OutputStream {
+        private final OutputStream out;
+        private final int limit;
+        private ByteArrayOutputStream copy = new ByteArrayOutputStream();
+
+        CappedCopy(OutputStream out, int limit) {
+            this.out = out;
+            this.limit = limit;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            if (copy != null) {
+                copy.write(b);
+                checkLimit();
+            }
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            out.write(bytes, offset, length);
+            if (copy != null) {
+                copy.write(bytes, offset, length);
+                checkLimit();
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            out.flush();
+        }
+
+        byte[] captured() {
+            return copy != null ? copy.toByteArray() : null;
+        }
+
+        private void checkLimit() {
+            if (copy.size() > limit) {
+                copy = null;
+            }
+        }
+    }
+}
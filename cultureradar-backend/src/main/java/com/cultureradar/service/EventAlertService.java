@@ -0,0 +1,239 @@
+package com.cultureradar.service;
+
+import com.cultureradar.dto.SavedSearchDTO;
+import com.cultureradar.model.Event;
+import com.cultureradar.model.Notification;
+import com.cultureradar.model.SavedSearch;
+import com.cultureradar.model.User;
+import com.cultureradar.repository.SavedSearchRepository;
+import com.cultureradar.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Service for saved-search alerts.
+ * Keeps an {@link AlertSubscriptionIndex} in sync with the saved searches
+ * and, whenever events are approved, matches them against the index and
+ * queues one digest per interested user with {@link NotificationService}.
+ *
+ * <p>Saved-search changes reach the index as {@link SavedSearchChangedEvent}s
+ * once their transaction commits, on this node directly and on the others
+ * through {@link EventInvalidationBus}. The index is also reloaded
+ * periodically, which repairs it after notifications were lost while a
+ * node's listener reconnected.
+ */
+@Service
+public class EventAlertService {
+
+    private static final Logger log = LoggerFactory.getLogger(EventAlertService.class);
+
+    private final SavedSearchRepository savedSearchRepository;
+    private final UserRepository userRepository;
+    private final NotificationService notificationService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Guards swapping the index against changes applied meanwhile
+    private final Object indexLock = new Object();
+    private volatile AlertSubscriptionIndex index = new AlertSubscriptionIndex();
+    // Changes applied while a reload runs, by saved search ID; null otherwise
+    private Map<Long, SavedSearchChangedEvent> changedDuringReload;
+
+    @Autowired
+    public EventAlertService(
+            SavedSearchRepository savedSearchRepository,
+            UserRepository userRepository,
+            NotificationService notificationService,
+            ApplicationEventPublisher eventPublisher) {
+        this.savedSearchRepository = savedSearchRepository;
+        this.userRepository = userRepository;
+        this.notificationService = notificationService;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Loads every saved search into a new index once the application is
+     * up, and again periodically.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${cultureradar.alerts.reload-interval-ms:600000}",
+               initialDelayString = "${cultureradar.alerts.reload-interval-ms:600000}")
+    @Transactional(readOnly = true)
+    public void reloadIndex() {
+        synchronized (indexLock) {
+            changedDuringReload = new HashMap<>();
+        }
+
+        AlertSubscriptionIndex loaded = new AlertSubscriptionIndex();
+        for (SavedSearch search : savedSearchRepository.findAll()) {
+            loaded.add(search.getId(), search.getUser().getId(), search.getCity(),
+                search.getCategory(), Boolean.TRUE.equals(search.getFreeOnly()));
+        }
+
+        synchronized (indexLock) {
+            // Changes that arrived while loading win over the loaded state
+            changedDuringReload.values().forEach(change -> apply(loaded, change));
+            changedDuringReload = null;
+            index = loaded;
+        }
+        log.info("Loaded {} saved searches into the alert index", loaded.size());
+    }
+
+    /**
+     * Applies committed saved-search changes, local or remote.
+     *
+     * @param change The saved-search change notification
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSavedSearchChanged(SavedSearchChangedEvent change) {
+        synchronized (indexLock) {
+            apply(index, change);
+            if (changedDuringReload != null) {
+                changedDuringReload.put(change.searchId(), change);
+            }
+        }
+    }
+
+    /**
+     * Retrieves the saved searches of a user.
+     *
+     * @param username Owner of the saved searches
+     * @return Saved searches, empty if the user does not exist
+     */
+    @Transactional(readOnly = true)
+    public List<SavedSearchDTO> getSavedSearches(String username) {
+        return userRepository.findByUsername(username)
+            .map(user -> savedSearchRepository.findByUserId(user.getId()).stream().map(this::toDTO).toList())
+            .orElse(List.of());
+    }
+
+    /**
+     * Creates a saved search for a user. It is indexed once the transaction commits.
+     *
+     * @param username Owner of the saved search
+     * @param savedSearchDTO Search criteria
+     * @return The created saved search, empty if the user does not exist
+     */
+    @Transactional
+    public Optional<SavedSearchDTO> createSavedSearch(String username, SavedSearchDTO savedSearchDTO) {
+        return userRepository.findByUsername(username).map(user -> {
+            SavedSearch search = new SavedSearch();
+            search.setUser(user);
+            search.setCity(savedSearchDTO.getCity().trim());
+            search.setCategory(savedSearchDTO.getCategory());
+            search.setFreeOnly(Boolean.TRUE.equals(savedSearchDTO.getFreeOnly()));
+
+            SavedSearch saved = savedSearchRepository.save(search);
+            eventPublisher.publishEvent(SavedSearchChangedEvent.saved(saved));
+            return toDTO(saved);
+        });
+    }
+
+    /**
+     * Deletes a saved search owned by the user.
+     *
+     * @param username Owner of the saved search
+     * @param id Saved search ID
+     * @return true if the saved search existed and belonged to the user
+     */
+    @Transactional
+    public boolean deleteSavedSearch(String username, Long id) {
+        Optional<SavedSearch> search = savedSearchRepository.findById(id)
+            .filter(s -> s.getUser().getUsername().equals(username));
+        search.ifPresent(s -> {
+            savedSearchRepository.delete(s);
+            eventPublisher.publishEvent(SavedSearchChangedEvent.deleted(s));
+        });
+        return search.isPresent();
+    }
+
+    /**
+     * Matches newly approved events against the saved searches and queues
+     * one digest per interested user. Runs after the approving transaction
+     * commits so that users are never alerted about rolled-back approvals.
+     *
+     * @param change The event change notification
+     */
+    @Async
+    @TransactionalEventListener
+    public void onEventsChanged(EventChangedEvent change) {
+        // The node that approved the events sends the alerts
+        if (change.type() != EventChangedEvent.Type.APPROVED || change.remote()) {
+            return;
+        }
+
+        AlertSubscriptionIndex index = this.index;
+        Map<Long, List<Event>> matchesByUser = new HashMap<>();
+        for (Event event : change.events()) {
+            for (Long userId : index.match(event)) {
+                matchesByUser.computeIfAbsent(userId, id -> new ArrayList<>()).add(event);
+            }
+        }
+        if (matchesByUser.isEmpty()) {
+            return;
+        }
+
+        List<Notification> digests = new ArrayList<>();
+        for (User user : userRepository.findAllById(matchesByUser.keySet())) {
+            if (Boolean.TRUE.equals(user.getEnabled())) {
+                digests.add(buildDigest(user, matchesByUser.get(user.getId())));
+            }
+        }
+
+        notificationService.enqueueAll(digests);
+        log.debug("Queued {} alert digests for {} approved events", digests.size(), change.events().size());
+    }
+
+    private Notification buildDigest(User user, List<Event> events) {
+        events.sort(Comparator.comparing(Event::getStartTime));
+
+        StringBuilder body = new StringBuilder();
+        body.append("Hi ").append(user.getFirstName() != null ? user.getFirstName() : user.getUsername()).append(",\n\n");
+        body.append("New events matching your saved searches were just published on CultureRadar:\n\n");
+        for (Event event : events) {
+            body.append("- ").append(event.getName())
+                .append(" (").append(event.getStartTime().toLocalDate()).append(")");
+            if (event.getLocation() != null) {
+                body.append(", ").append(event.getLocation().getName())
+                    .append(", ").append(event.getLocation().getCity());
+            }
+            if (event.isFreeEvent()) {
+                body.append(" - Free");
+            }
+            body.append('\n');
+        }
+
+        String subject = events.size() == 1
+            ? "New event: " + events.get(0).getName()
+            : events.size() + " new events matching your saved searches";
+        return new Notification(user.getEmail(), subject, body.toString());
+    }
+
+    private static void apply(AlertSubscriptionIndex index, SavedSearchChangedEvent change) {
+        if (change.type() == SavedSearchChangedEvent.Type.DELETED) {
+            index.remove(change.searchId());
+        } else {
+            index.add(change.searchId(), change.userId(), change.city(), change.category(), change.freeOnly());
+        }
+    }
+
+    private SavedSearchDTO toDTO(SavedSearch search) {
+        return new SavedSearchDTO(search.getId(), search.getCity(), search.getCategory(),
+            search.getFreeOnly(), search.getCreatedAt());
+    }
+}
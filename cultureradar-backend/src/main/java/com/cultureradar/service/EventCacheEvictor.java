@@ -0,0 +1,162 @@
+package com.cultureradar.service;
+
+import com.cultureradar.cache.CompactEventCache;
+import com.cultureradar.model.Event;
+import com.cultureradar.model.EventCategory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Page;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Predicate;
+
+/**
+ * Evicts the cache entries an event change can affect, and nothing else:
+ * the event itself, the cached searches for its city and category, and
+ * any cached search page that currently lists it (which covers events
+ * moving to another city or category).
+ */
+@Service
+public class EventCacheEvictor {
+
+    /**
+     * The fields of a changed event that determine which entries are affected.
+     *
+     * @param id Event ID
+     * @param city City of the event's location, normalized like search keys, or null
+     * @param category Event category, or null if unknown
+     */
+    public record EventRef(Long id, String city, EventCategory category) {
+
+        public static EventRef of(Event event) {
+            String city = event.getLocation() != null ? EventSearchKey.normalizeCity(event.getLocation().getCity()) : null;
+            return new EventRef(event.getId(), city, event.getCategory());
+        }
+    }
+
+    private final CacheManager cacheManager;
+
+    @Autowired
+    public EventCacheEvictor(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * Evicts after the change is committed, so a concurrent reader cannot
+     * re-cache the old state in between.
+     *
+     * @param change The event change notification
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventsChanged(EventChangedEvent change) {
+        if (change.remote()) {
+            // Evicted by EventInvalidationBus from the broadcast fields
+            return;
+        }
+        evict(change.events().stream().map(EventRef::of).toList());
+    }
+
+    /**
+     * Clears the event caches once an archived partition is committed, on
+     * this node and, through {@link EventInvalidationBus}, on the others.
+     *
+     * @param archived The archival notification
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPartitionArchived(EventPartitionArchivedEvent archived) {
+        // Cached pages may still list events that are no longer in the events table
+        evictAll();
+    }
+
+    /**
+     * Evicts every entry affected by the given changes.
+     *
+     * @param changed The changed events
+     */
+    public void evict(Collection<EventRef> changed) {
+        if (changed.isEmpty()) {
+            return;
+        }
+
+        Set<Long> ids = new HashSet<>();
+        Set<String> cities = new HashSet<>();
+        Set<String> cityCategories = new HashSet<>();
+        Set<EventCategory> categories = new HashSet<>();
+        boolean unknownCategory = false;
+        for (EventRef ref : changed) {
+            ids.add(ref.id());
+            if (ref.city() != null) {
+                cities.add(ref.city());
+                cityCategories.add(ref.city() + '|' + (ref.category() != null ? ref.category() : "*"));
+            }
+            if (ref.category() != null) {
+                categories.add(ref.category());
+            } else {
+                unknownCategory = true;
+            }
+        }
+
+        Cache events = cacheManager.getCache("events");
+        if (events != null) {
+            ids.forEach(events::evict);
+        }
+
+        evictSearches("eventsByCity", ids, key -> key.category() == null
+            ? cities.contains(key.city())
+            : cityCategories.contains(key.city() + '|' + key.category()) || cityCategories.contains(key.city() + "|*"));
+        boolean anyCategory = unknownCategory;
+        evictSearches("eventsByCategory", ids, key -> anyCategory || categories.contains(key.category()));
+    }
+
+    /**
+     * Clears every event cache, used when changes may have been missed.
+     */
+    public void evictAll() {
+        for (String name : List.of("events", "eventsByCity", "eventsByCategory")) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+    }
+
+    private void evictSearches(String cacheName, Set<Long> ids, Predicate<EventSearchKey> affected) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) {
+            return;
+        }
+        if (!(cache.getNativeCache() instanceof ConcurrentMap<?, ?> entries)) {
+            cache.clear();
+            return;
+        }
+
+        entries.entrySet().removeIf(entry -> {
+            if (entry.getKey() instanceof EventSearchKey key && affected.test(key)) {
+                return true;
+            }
+            return lists(entry, ids);
+        });
+    }
+
+    private static boolean lists(Map.Entry<?, ?> entry, Set<Long> ids) {
+        if (entry.getValue() instanceof CompactEventCache.CompactPage page) {
+            return page.containsAny(ids);
+        }
+        if (entry.getValue() instanceof Page<?> page) {
+            for (Object item : page.getContent()) {
+                if (item instanceof Event event && ids.contains(event.getId())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,33 @@
+package com.cultureradar.service;
+
+import com.cultureradar.model.Event;
+
+import java.util.List;
+
+/**
+ * Application event published by {@link EventService} whenever events are
+ * created, updated, approved or deleted. Listeners use it to keep
+ * in-process indexes and subscribers in sync with the database.
+ *
+ * <p>Changes made on other nodes are re-published by
+ * {@link EventInvalidationBus} with {@code remote} set. Listeners with side
+ * effects beyond this node, such as sending alerts, must ignore those.
+ * Remote deletions carry events with only their ID set.
+ *
+ * @param type What happened to the events
+ * @param events The affected events, in their state after the change
+ * @param remote Whether the change was made on another node
+ */
+public record EventChangedEvent(Type type, List<Event> events, boolean remote) {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        APPROVED,
+        DELETED
+    }
+
+    public EventChangedEvent(Type type, List<Event> events) {
+        this(type, events, false);
+    }
+}
@@ -0,0 +1,295 @@
+package com.cultureradar.service;
+
+import com.cultureradar.model.Event;
+import com.cultureradar.repository.EventRepository;
+import com.cultureradar.util.MinHash;
+import com.cultureradar.util.TextNormalizer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Detects events that different sources publish under different IDs.
+ * Events are first blocked by (city, start day), so only events in the same
+ * city on nearby days are ever compared. Within a block, MinHash signatures
+ * of the normalized name and venue are split into LSH bands; only events
+ * sharing at least one band are compared, which keeps detection
+ * sub-quadratic. Days are loaded into the index lazily as batches arrive.
+ *
+ * <p>The shared index only holds committed events. Events created by a
+ * batch still in progress are kept in the batch's {@link Staged} index,
+ * so later listings of the same batch can match them, and enter the
+ * shared index when their creation is published after the commit. Days
+ * are read in their own read-only transaction, never in the batch's, so
+ * the batch's uncommitted rows cannot enter the shared index either.
+ */
+@Service
+public class EventDeduplicator {
+
+    private static final int BANDS = 16;
+    private static final int ROWS_PER_BAND = 4;
+    private static final long MINHASH_SEED = 0x5eed_cafe_f00dL;
+
+    private record BlockKey(String city, LocalDate day) {
+    }
+
+    /**
+     * Signatures and LSH buckets of the events in one block.
+     */
+    private static final class Block {
+        final Map<Long, int[]> signatures = new HashMap<>();
+        final Map<Long, List<Long>> buckets = new HashMap<>();
+    }
+
+    /**
+     * Events saved by one ingest batch that has not committed yet.
+     * Confined to the thread running the batch.
+     */
+    public static final class Staged {
+        private final Map<BlockKey, Block> blocks = new HashMap<>();
+    }
+
+    /**
+     * Best candidate found so far while matching.
+     */
+    private static final class Match {
+        Long id;
+        double similarity;
+
+        Match(double threshold) {
+            this.similarity = threshold;
+        }
+    }
+
+    private final EventRepository eventRepository;
+    private final TransactionTemplate readTransaction;
+    private final MinHash minHash = new MinHash(BANDS * ROWS_PER_BAND, 3, MINHASH_SEED);
+
+    private final Map<BlockKey, Block> blocks = new HashMap<>();
+    private final Map<LocalDate, Boolean> loadedDays;
+
+    @Value("${cultureradar.ingest.dedup.similarity-threshold:0.6}")
+    private double similarityThreshold = 0.6;
+
+    @Autowired
+    public EventDeduplicator(EventRepository eventRepository, PlatformTransactionManager transactionManager,
+                             @Value("${cultureradar.ingest.dedup.max-loaded-days:120}") int maxLoadedDays) {
+        this.eventRepository = eventRepository;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTransaction.setReadOnly(true);
+        // Least recently used days are dropped from the index once the cap is reached
+        this.loadedDays = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<LocalDate, Boolean> eldest) {
+                if (size() <= maxLoadedDays) {
+                    return false;
+                }
+                blocks.keySet().removeIf(key -> key.day().equals(eldest.getKey()));
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Loads the days a batch will be matched against, so that it runs
+     * before the batch's transaction opens rather than inside it.
+     *
+     * @param events Incoming, unsaved events
+     */
+    public synchronized void preload(Collection<Event> events) {
+        for (Event event : events) {
+            if (isIndexable(event)) {
+                LocalDate day = event.getStartTime().toLocalDate();
+                for (LocalDate candidateDay = day.minusDays(1); !candidateDay.isAfter(day.plusDays(1));
+                     candidateDay = candidateDay.plusDays(1)) {
+                    ensureLoaded(candidateDay);
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds an already known event that is a near-duplicate of the given one.
+     * Events on the previous and next day are considered as well, to absorb
+     * time zone differences between sources.
+     *
+     * @param event Incoming, unsaved event
+     * @param staged Events saved earlier in the same batch
+     * @return ID of the best matching canonical event, if any
+     */
+    public synchronized Optional<Long> findDuplicate(Event event, Staged staged) {
+        if (!isIndexable(event)) {
+            return Optional.empty();
+        }
+
+        String city = TextNormalizer.normalize(event.getLocation().getCity());
+        LocalDate day = event.getStartTime().toLocalDate();
+        int[] signature = minHash.signature(fingerprint(event));
+
+        Match best = new Match(similarityThreshold);
+        for (LocalDate candidateDay = day.minusDays(1); !candidateDay.isAfter(day.plusDays(1));
+             candidateDay = candidateDay.plusDays(1)) {
+            match(block(city, candidateDay), signature, best);
+            match(staged.blocks.get(new BlockKey(city, candidateDay)), signature, best);
+        }
+        return Optional.ofNullable(best.id);
+    }
+
+    /**
+     * Adds an event saved by a batch to the batch's staged index, so that
+     * later listings of the batch can match it before it commits.
+     *
+     * @param staged Index of the batch
+     * @param event Saved event
+     */
+    public void stage(Staged staged, Event event) {
+        if (event.getId() == null || !isIndexable(event)) {
+            return;
+        }
+        Block block = staged.blocks.computeIfAbsent(new BlockKey(
+            TextNormalizer.normalize(event.getLocation().getCity()), event.getStartTime().toLocalDate()),
+            k -> new Block());
+        index(block, event.getId(), minHash.signature(fingerprint(event)));
+    }
+
+    /**
+     * Adds a committed event to the index so later arrivals can match it.
+     */
+    private void register(Event event) {
+        if (event.getId() == null || !isIndexable(event)) {
+            return;
+        }
+        LocalDate day = event.getStartTime().toLocalDate();
+        if (!loadedDays.containsKey(day)) {
+            // The whole day is read from the database when it is first needed
+            return;
+        }
+
+        Block block = blocks.computeIfAbsent(
+            new BlockKey(TextNormalizer.normalize(event.getLocation().getCity()), day), k -> new Block());
+        index(block, event.getId(), minHash.signature(fingerprint(event)));
+    }
+
+    /**
+     * Keeps the index in sync with committed changes, local or remote,
+     * including the events created by ingestion.
+     *
+     * @param change The event change notification
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onEventsChanged(EventChangedEvent change) {
+        for (Event event : change.events()) {
+            unregister(event.getId());
+            if (change.type() != EventChangedEvent.Type.DELETED) {
+                register(event);
+            }
+        }
+    }
+
+    private void unregister(Long eventId) {
+        for (Block block : blocks.values()) {
+            int[] signature = block.signatures.remove(eventId);
+            if (signature != null) {
+                for (int band = 0; band < BANDS; band++) {
+                    List<Long> bucket = block.buckets.get(bandKey(signature, band));
+                    if (bucket != null) {
+                        bucket.remove(eventId);
+                    }
+                }
+                return;
+            }
+        }
+    }
+
+    private static void match(Block block, int[] signature, Match best) {
+        if (block == null) {
+            return;
+        }
+        Set<Long> seen = new HashSet<>();
+        for (int band = 0; band < BANDS; band++) {
+            for (Long candidateId : block.buckets.getOrDefault(bandKey(signature, band), List.of())) {
+                if (!seen.add(candidateId)) {
+                    continue;
+                }
+                double similarity = MinHash.similarity(signature, block.signatures.get(candidateId));
+                if (similarity >= best.similarity) {
+                    best.similarity = similarity;
+                    best.id = candidateId;
+                }
+            }
+        }
+    }
+
+    private Block block(String city, LocalDate day) {
+        return ensureLoaded(day) ? blocks.get(new BlockKey(city, day)) : null;
+    }
+
+    /**
+     * @return false for past days, which are never matched against
+     */
+    private boolean ensureLoaded(LocalDate day) {
+        if (day.isBefore(LocalDate.now().minusDays(1))) {
+            return false;
+        }
+        if (loadedDays.get(day) == null) {
+            loadDay(day);
+        }
+        return true;
+    }
+
+    private void loadDay(LocalDate day) {
+        loadedDays.put(day, Boolean.TRUE);
+        // Only needs a second connection when a batch was not preloaded
+        List<Event> events = readTransaction.execute(status -> eventRepository.findWithLocationByStartTimeWindow(
+            day.atStartOfDay(), day.plusDays(1).atStartOfDay()));
+        for (Event event : events) {
+            Block block = blocks.computeIfAbsent(
+                new BlockKey(TextNormalizer.normalize(event.getLocation().getCity()), day), k -> new Block());
+            index(block, event.getId(), minHash.signature(fingerprint(event)));
+        }
+    }
+
+    private void index(Block block, Long eventId, int[] signature) {
+        block.signatures.put(eventId, signature);
+        for (int band = 0; band < BANDS; band++) {
+            block.buckets.computeIfAbsent(bandKey(signature, band), k -> new ArrayList<>(2)).add(eventId);
+        }
+    }
+
+    private static long bandKey(int[] signature, int band) {
+        long hash = band;
+        int offset = band * ROWS_PER_BAND;
+        for (int i = offset; i < offset + ROWS_PER_BAND; i++) {
+            hash = hash * 0x9E3779B97F4A7C15L + signature[i];
+        }
+        return hash;
+    }
+
+    private static boolean isIndexable(Event event) {
+        return event.getStartTime() != null && event.getLocation() != null && event.getLocation().getCity() != null;
+    }
+
+    /**
+     * Text compared between listings: the event name followed by the venue name.
+     */
+    static String fingerprint(Event event) {
+        String venue = event.getLocation() != null ? event.getLocation().getName() : null;
+        return TextNormalizer.normalize(event.getName()) + " @ " + TextNormalizer.normalize(venue);
+    }
+}
@@ -0,0 +1,487 @@
+package com.cultureradar.service;
+
+import com.cultureradar.dto.EventDTO;
+import com.cultureradar.dto.LocationDTO;
+import com.cultureradar.model.Event;
+import com.cultureradar.model.EventCategory;
+import com.cultureradar.model.Location;
+import com.cultureradar.util.CsvReader;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * Imports events submitted in bulk by partners, from CSV or from JSON
+ * (an array of events, or one event per line). The upload is read row by
+ * row in chunks: the rows of a chunk are validated in parallel, their
+ * venues are matched with one lookup through {@link LocationService} and
+ * new ones geocoded in parallel, and only then are the new venues and
+ * valid events inserted, the events with one JDBC batch. Each chunk
+ * commits on its own, so memory use does not depend on the file size.
+ *
+ * <p>Imported events await approval like events from external sources.
+ * Rows that cannot be imported are reported with their row number and
+ * the reason; the rest of the file is imported regardless.
+ */
+@Service
+public class EventImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(EventImportService.class);
+
+    private static final String INSERT_SQL = "insert into events (name, description, start_time, end_time, "
+        + "image_url, price, is_free, external_id, external_source, location_id, category, approved, "
+        + "created_at, updated_at) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, false, ?, ?)";
+
+    /**
+     * CSV columns, by header name in lower case without spaces, dashes or
+     * underscores.
+     */
+    private static final Map<String, BiConsumer<EventDTO, String>> CSV_COLUMNS = new HashMap<>();
+
+    static {
+        CSV_COLUMNS.put("externalid", EventDTO::setExternalId);
+        CSV_COLUMNS.put("name", EventDTO::setName);
+        CSV_COLUMNS.put("description", EventDTO::setDescription);
+        CSV_COLUMNS.put("starttime", (event, value) -> event.setStartTime(parseDateTime(value)));
+        CSV_COLUMNS.put("endtime", (event, value) -> event.setEndTime(parseDateTime(value)));
+        CSV_COLUMNS.put("imageurl", EventDTO::setImageUrl);
+        CSV_COLUMNS.put("price", (event, value) -> event.setPrice(Double.valueOf(value)));
+        CSV_COLUMNS.put("isfree", (event, value) -> event.setIsFree(parseBoolean(value)));
+        CSV_COLUMNS.put("category", (event, value) -> event.setCategory(EventCategory.valueOf(value.toUpperCase(Locale.ROOT))));
+        CSV_COLUMNS.put("venue", (event, value) -> location(event).setName(value));
+        CSV_COLUMNS.put("address", (event, value) -> location(event).setAddress(value));
+        CSV_COLUMNS.put("city", (event, value) -> location(event).setCity(value));
+        CSV_COLUMNS.put("province", (event, value) -> location(event).setProvince(value));
+        CSV_COLUMNS.put("postalcode", (event, value) -> location(event).setPostalCode(value));
+        CSV_COLUMNS.put("latitude", (event, value) -> location(event).setLatitude(Double.valueOf(value)));
+        CSV_COLUMNS.put("longitude", (event, value) -> location(event).setLongitude(Double.valueOf(value)));
+    }
+
+    /**
+     * Format of an upload.
+     */
+    public enum Format {
+        CSV,
+        /** A JSON array of events, or newline-delimited JSON */
+        JSON
+    }
+
+    /**
+     * A row that was not imported.
+     *
+     * @param row Row number: the line for CSV, the position for JSON (1-based)
+     * @param message Why the row was rejected
+     */
+    public record RowError(long row, String message) {
+    }
+
+    /**
+     * Outcome of an import.
+     *
+     * @param rows Rows read
+     * @param imported Events created
+     * @param rejected Rows rejected
+     * @param errors Rejected rows, up to the reporting limit
+     * @param errorsTruncated Whether more rows were rejected than reported
+     */
+    public record ImportReport(long rows, int imported, int rejected, List<RowError> errors, boolean errorsTruncated) {
+    }
+
+    /**
+     * A parsed row, or the reason it could not be parsed.
+     */
+    private record Row(long number, EventDTO event, String error) {
+    }
+
+    /**
+     * A validated row, converted to an unsaved event.
+     */
+    private record Checked(long number, Event event, String error) {
+    }
+
+    /**
+     * Reads rows one at a time; returns null after the last one.
+     */
+    private interface RowSource {
+        Row next() throws IOException;
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final LocationService locationService;
+    private final Validator validator;
+    private final ObjectReader jsonReader;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Counter importedRows;
+    private final Counter rejectedRows;
+    private final int batchSize;
+    private final long maxRows;
+    private final int maxReportedErrors;
+    private final int maxFieldLength;
+
+    @Autowired
+    public EventImportService(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            LocationService locationService,
+            Validator validator,
+            ObjectMapper objectMapper,
+            ApplicationEventPublisher eventPublisher,
+            MeterRegistry meterRegistry,
+            @Value("${cultureradar.import.batch-size:500}") int batchSize,
+            @Value("${cultureradar.import.max-rows:50000}") long maxRows,
+            @Value("${cultureradar.import.max-reported-errors:500}") int maxReportedErrors,
+            @Value("${cultureradar.import.max-field-length:65536}") int maxFieldLength) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.locationService = locationService;
+        this.validator = validator;
+        this.jsonReader = objectMapper.readerFor(EventDTO.class);
+        this.eventPublisher = eventPublisher;
+        this.importedRows = Counter.builder("cultureradar.import.rows")
+            .tag("result", "imported")
+            .register(meterRegistry);
+        this.rejectedRows = Counter.builder("cultureradar.import.rows")
+            .tag("result", "rejected")
+            .register(meterRegistry);
+        this.batchSize = batchSize;
+        this.maxRows = maxRows;
+        this.maxReportedErrors = maxReportedErrors;
+        this.maxFieldLength = maxFieldLength;
+    }
+
+    /**
+     * Imports the events of an upload as unapproved events.
+     *
+     * @param in The upload, read to the end but not closed
+     * @param format Its format
+     * @param charset Its character set
+     * @param source Stored as the events' external source, e.g. the partner's name
+     * @return Counts and the rejected rows
+     */
+    public ImportReport importEvents(InputStream in, Format format, Charset charset, String source) throws IOException {
+        Report report = new Report();
+        RowSource rows = format == Format.CSV ? csvRows(in, charset, report) : jsonRows(in, charset);
+        if (rows == null) {
+            return report.toReport();
+        }
+
+        List<Row> chunk = new ArrayList<>(batchSize);
+        long read = 0;
+        try {
+            Row row;
+            while ((row = rows.next()) != null) {
+                if (++read > maxRows) {
+                    report.reject(row.number(), "Stopped: at most " + maxRows + " rows can be imported at once");
+                    read--;
+                    break;
+                }
+                chunk.add(row);
+                if (chunk.size() == batchSize) {
+                    importChunk(chunk, source, report);
+                    chunk.clear();
+                }
+            }
+        } catch (IOException e) {
+            // Malformed input: what was read so far is still imported
+            report.reject(read + 1, "Stopped: " + e.getMessage());
+        }
+        importChunk(chunk, source, report);
+
+        report.rows = read;
+        ImportReport result = report.toReport();
+        log.info("Imported {} of {} rows from {}", result.imported(), result.rows(), source);
+        return result;
+    }
+
+    private void importChunk(List<Row> chunk, String source, Report report) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        // Validation is CPU-bound and independent per row; order is preserved
+        List<Checked> checked = chunk.parallelStream().map(row -> check(row, source)).toList();
+
+        List<Event> valid = new ArrayList<>(checked.size());
+        List<Long> validRows = new ArrayList<>(checked.size());
+        for (Checked row : checked) {
+            if (row.error() != null) {
+                report.reject(row.number(), row.error());
+            } else {
+                valid.add(row.event());
+                validRows.add(row.number());
+            }
+        }
+        if (valid.isEmpty()) {
+            return;
+        }
+
+        try {
+            // Outside the transaction: new venues may wait on the geocoding API
+            LocationService.Resolution venues = locationService.prepare(valid.stream().map(Event::getLocation).toList());
+            transactionTemplate.executeWithoutResult(status -> insert(valid, venues));
+            report.imported += valid.size();
+            importedRows.increment(valid.size());
+        } catch (DataAccessException e) {
+            log.warn("Could not store {} imported events: {}", valid.size(), e.getMessage());
+            for (Long row : validRows) {
+                report.reject(row, "Could not be stored");
+            }
+        }
+    }
+
+    /**
+     * Stores a chunk of valid events with their venues and announces them.
+     */
+    private void insert(List<Event> events, LocationService.Resolution venues) {
+        Map<String, Location> locations = locationService.save(venues);
+        for (Event event : events) {
+            if (event.getLocation() != null) {
+                event.setLocation(locations.get(LocationService.key(event.getLocation())));
+            }
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_SQL, new String[]{"id"}),
+            new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement statement, int i) throws SQLException {
+                    Event event = events.get(i);
+                    statement.setString(1, event.getName());
+                    statement.setString(2, event.getDescription());
+                    statement.setTimestamp(3, Timestamp.valueOf(event.getStartTime()));
+                    statement.setTimestamp(4, event.getEndTime() != null ? Timestamp.valueOf(event.getEndTime()) : null);
+                    statement.setString(5, event.getImageUrl());
+                    statement.setObject(6, event.getPrice(), Types.DOUBLE);
+                    statement.setBoolean(7, event.getIsFree());
+                    statement.setString(8, event.getExternalId());
+                    statement.setString(9, event.getExternalSource());
+                    statement.setObject(10, event.getLocation() != null ? event.getLocation().getId() : null, Types.BIGINT);
+                    statement.setString(11, event.getCategory().name());
+                    statement.setTimestamp(12, now);
+                    statement.setTimestamp(13, now);
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return events.size();
+                }
+            },
+            keys);
+
+        List<Map<String, Object>> generated = keys.getKeyList();
+        for (int i = 0; i < events.size(); i++) {
+            Event event = events.get(i);
+            event.setId(((Number) generated.get(i).get("id")).longValue());
+            event.setCreatedAt(now.toLocalDateTime());
+            event.setUpdatedAt(now.toLocalDateTime());
+        }
+        eventPublisher.publishEvent(new EventChangedEvent(EventChangedEvent.Type.CREATED, events));
+    }
+
+    /**
+     * Validates a row and converts it to an event.
+     */
+    private Checked check(Row row, String source) {
+        if (row.error() != null) {
+            return new Checked(row.number(), null, row.error());
+        }
+        EventDTO dto = row.event();
+        List<String> problems = new ArrayList<>();
+        violations(validator.validate(dto), problems);
+        if (dto.getLocation() != null) {
+            violations(validator.validate(dto.getLocation()), problems);
+        }
+        if (dto.getCategory() == null) {
+            problems.add("Category is required");
+        }
+        if (dto.getStartTime() != null && dto.getEndTime() != null && dto.getEndTime().isBefore(dto.getStartTime())) {
+            problems.add("End time is before start time");
+        }
+        if (dto.getPrice() != null && dto.getPrice() < 0) {
+            problems.add("Price is negative");
+        }
+        if (!problems.isEmpty()) {
+            return new Checked(row.number(), null, String.join("; ", problems));
+        }
+
+        Event event = new Event();
+        event.setName(dto.getName().trim());
+        event.setDescription(dto.getDescription());
+        event.setStartTime(dto.getStartTime());
+        event.setEndTime(dto.getEndTime());
+        event.setImageUrl(dto.getImageUrl());
+        event.setPrice(dto.getPrice());
+        event.setIsFree(dto.getIsFree() != null ? dto.getIsFree() : dto.getPrice() != null && dto.getPrice() == 0);
+        event.setCategory(dto.getCategory());
+        event.setExternalId(dto.getExternalId());
+        event.setExternalSource(source);
+        event.setApproved(false);
+        LocationDTO venue = dto.getLocation();
+        if (venue != null) {
+            event.setLocation(new Location(null, venue.getName().trim(), venue.getAddress(), venue.getCity().trim(),
+                venue.getProvince(), venue.getPostalCode(), venue.getLatitude(), venue.getLongitude()));
+        }
+        return new Checked(row.number(), event, null);
+    }
+
+    private static void violations(Set<? extends ConstraintViolation<?>> violations, List<String> problems) {
+        for (ConstraintViolation<?> violation : violations) {
+            problems.add(violation.getMessage());
+        }
+    }
+
+    private RowSource csvRows(InputStream in, Charset charset, Report report) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, charset));
+        // Spreadsheet exports often start with a byte order mark
+        reader.mark(1);
+        if (reader.read() != '\uFEFF') {
+            reader.reset();
+        }
+
+        CsvReader csv = new CsvReader(reader, ',', maxFieldLength);
+        List<String> header = csv.next();
+        if (header == null) {
+            return null;
+        }
+        List<BiConsumer<EventDTO, String>> columns = new ArrayList<>(header.size());
+        List<String> names = new ArrayList<>(header.size());
+        Set<String> keys = new HashSet<>();
+        for (String name : header) {
+            String key = name.toLowerCase(Locale.ROOT).replaceAll("[\\s_-]", "");
+            // Unknown columns are ignored
+            columns.add(CSV_COLUMNS.get(key));
+            names.add(name.trim());
+            keys.add(key);
+        }
+        if (!keys.contains("name") || !keys.contains("starttime")) {
+            report.reject(1, "The header must name at least the name and startTime columns");
+            return null;
+        }
+
+        return () -> {
+            List<String> fields = csv.next();
+            if (fields == null) {
+                return null;
+            }
+            long number = csv.getRecordLine();
+            EventDTO event = new EventDTO();
+            for (int i = 0; i < fields.size() && i < columns.size(); i++) {
+                String value = fields.get(i).trim();
+                if (columns.get(i) == null || value.isEmpty()) {
+                    continue;
+                }
+                try {
+                    columns.get(i).accept(event, value);
+                } catch (IllegalArgumentException | DateTimeParseException e) {
+                    return new Row(number, null, "Invalid " + names.get(i) + ": " + abbreviate(value));
+                }
+            }
+            return new Row(number, event, null);
+        };
+    }
+
+    private RowSource jsonRows(InputStream in, Charset charset) throws IOException {
+        MappingIterator<EventDTO> events = jsonReader.readValues(new InputStreamReader(in, charset));
+        long[] number = {0};
+        return () -> {
+            if (!events.hasNextValue()) {
+                return null;
+            }
+            number[0]++;
+            try {
+                return new Row(number[0], events.nextValue(), null);
+            } catch (JsonParseException e) {
+                throw e;
+            } catch (JsonMappingException e) {
+                // The iterator skips the rest of the bad value and carries on
+                return new Row(number[0], null, "Invalid value: " + e.getOriginalMessage());
+            }
+        };
+    }
+
+    private static LocationDTO location(EventDTO event) {
+        if (event.getLocation() == null) {
+            event.setLocation(new LocationDTO());
+        }
+        return event.getLocation();
+    }
+
+    private static LocalDateTime parseDateTime(String value) {
+        // Accepts 2026-05-01T20:00, 2026-05-01 20:00 and with seconds
+        return LocalDateTime.parse(value.replace(' ', 'T'));
+    }
+
+    private static Boolean parseBoolean(String value) {
+        return switch (value.toLowerCase(Locale.ROOT)) {
+            case "true", "yes", "y", "1" -> true;
+            case "false", "no", "n", "0" -> false;
+            default -> throw new IllegalArgumentException(value);
+        };
+    }
+
+    private static String abbreviate(String value) {
+        return value.length() <= 40 ? value : value.substring(0, 40) + "...";
+    }
+
+    /**
+     * Accumulates the outcome of an import.
+     */
+    private final class Report {
+        long rows;
+        int imported;
+        int rejected;
+        final List<RowError> errors = new ArrayList<>();
+
+        void reject(long row, String message) {
+            rejected++;
+            rejectedRows.increment();
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new RowError(row, message));
+            }
+        }
+
+        ImportReport toReport() {
+            return new ImportReport(rows, imported, rejected, List.copyOf(errors), rejected > errors.size());
+        }
+    }
+}
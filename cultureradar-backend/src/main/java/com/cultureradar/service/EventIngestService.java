@@ -0,0 +1,237 @@
+package com.cultureradar.service;
+
+import com.cultureradar.model.Event;
+import com.cultureradar.model.EventSourceLink;
+import com.cultureradar.model.Location;
+import com.cultureradar.repository.EventRepository;
+import com.cultureradar.repository.EventSourceLinkRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Service that stores batches of events fetched from external sources.
+ * Each listing is resolved in three steps: a listing already seen is
+ * updated through its {@link EventSourceLink}; a listing that
+ * {@link EventDeduplicator} recognizes as another source's event is linked
+ * to that canonical event; anything else is stored as a new event.
+ */
+@Service
+public class EventIngestService {
+
+    private static final Logger log = LoggerFactory.getLogger(EventIngestService.class);
+
+    /**
+     * Outcome of ingesting one batch.
+     */
+    public record IngestResult(int created, int updated, int linkedDuplicates, int skipped) {
+    }
+
+    private final EventRepository eventRepository;
+    private final EventSourceLinkRepository linkRepository;
+    private final EventDeduplicator deduplicator;
+    private final LocationService locationService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    // Sources are fetched concurrently; batches are serialized, and each one
+    // commits before the next starts, so that two sources publishing the
+    // same event at once cannot both create it
+    private final ReentrantLock ingestLock = new ReentrantLock();
+
+    @Autowired
+    public EventIngestService(
+            EventRepository eventRepository,
+            EventSourceLinkRepository linkRepository,
+            EventDeduplicator deduplicator,
+            LocationService locationService,
+            ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager) {
+        this.eventRepository = eventRepository;
+        this.linkRepository = linkRepository;
+        this.deduplicator = deduplicator;
+        this.locationService = locationService;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Stores one batch of events from an external source.
+     *
+     * @param source Name of the source, e.g. "EVENTBRITE"
+     * @param batch Unsaved events carrying their external IDs
+     * @return Counts of created, updated, linked and skipped listings
+     */
+    public IngestResult ingestBatch(String source, List<Event> batch) {
+        ingestLock.lock();
+        try {
+            // Geocoding new venues can take seconds; not while holding a connection
+            LocationService.Resolution venues = locationService.prepare(batch.stream().map(Event::getLocation).toList());
+            // Nor while matching duplicates, which must not see the batch's uncommitted rows either
+            deduplicator.preload(batch);
+            return transactionTemplate.execute(status -> doIngest(source, batch, venues));
+        } finally {
+            ingestLock.unlock();
+        }
+    }
+
+    private IngestResult doIngest(String source, List<Event> batch, LocationService.Resolution venues) {
+        Set<String> externalIds = new HashSet<>();
+        for (Event event : batch) {
+            if (event.getExternalId() != null) {
+                externalIds.add(event.getExternalId());
+            }
+        }
+
+        Map<String, Long> linkedIds = new HashMap<>();
+        for (EventSourceLink link : linkRepository.findByExternalSourceAndExternalIdIn(source, externalIds)) {
+            linkedIds.put(link.getExternalId(), link.getEventId());
+        }
+        Map<Long, Event> linkedEvents = new HashMap<>();
+        for (Event event : eventRepository.findAllById(new HashSet<>(linkedIds.values()))) {
+            linkedEvents.put(event.getId(), event);
+        }
+        Map<String, Location> locations = locationService.save(venues);
+
+        List<Event> created = new ArrayList<>();
+        List<Event> updated = new ArrayList<>();
+        List<EventSourceLink> newLinks = new ArrayList<>();
+        EventDeduplicator.Staged staged = new EventDeduplicator.Staged();
+        int linkedDuplicates = 0;
+        int skipped = 0;
+
+        for (Event incoming : batch) {
+            if (incoming.getExternalId() == null || incoming.getName() == null || incoming.getStartTime() == null) {
+                skipped++;
+                continue;
+            }
+            incoming.setExternalSource(source);
+            incoming.setLocation(incoming.getLocation() == null ? null : locations.get(LocationService.key(incoming.getLocation())));
+
+            Long linkedId = linkedIds.get(incoming.getExternalId());
+            if (linkedId != null) {
+                Event canonical = linkedEvents.get(linkedId);
+                if (canonical == null) {
+                    // The canonical event was deleted by a moderator; keep it deleted
+                    skipped++;
+                } else if (source.equals(canonical.getExternalSource()) ? copyListing(incoming, canonical)
+                        : mergeMissing(incoming, canonical)) {
+                    updated.add(canonical);
+                }
+                continue;
+            }
+
+            Optional<Long> duplicateOf = deduplicator.findDuplicate(incoming, staged);
+            if (duplicateOf.isPresent()) {
+                Long canonicalId = duplicateOf.get();
+                newLinks.add(new EventSourceLink(source, incoming.getExternalId(), canonicalId));
+                linkedIds.put(incoming.getExternalId(), canonicalId);
+                eventRepository.findById(canonicalId).ifPresent(canonical -> {
+                    if (mergeMissing(incoming, canonical)) {
+                        updated.add(canonical);
+                    }
+                });
+                linkedDuplicates++;
+                continue;
+            }
+
+            incoming.setApproved(false);
+            Event saved = eventRepository.save(incoming);
+            // Indexed for everyone once the CREATED change is published after the commit
+            deduplicator.stage(staged, saved);
+            newLinks.add(new EventSourceLink(source, saved.getExternalId(), saved.getId()));
+            linkedIds.put(saved.getExternalId(), saved.getId());
+            linkedEvents.put(saved.getId(), saved);
+            created.add(saved);
+        }
+
+        linkRepository.saveAll(newLinks);
+        eventRepository.saveAll(updated);
+
+        if (!created.isEmpty()) {
+            eventPublisher.publishEvent(new EventChangedEvent(EventChangedEvent.Type.CREATED, created));
+        }
+        if (!updated.isEmpty()) {
+            eventPublisher.publishEvent(new EventChangedEvent(EventChangedEvent.Type.UPDATED, updated));
+        }
+
+        IngestResult result = new IngestResult(created.size(), updated.size(), linkedDuplicates, skipped);
+        log.info("Ingested {} events from {}: {}", batch.size(), source, result);
+        return result;
+    }
+
+    /**
+     * Refreshes an event from a newer version of its own listing.
+     *
+     * @return true if anything changed
+     */
+    private static boolean copyListing(Event from, Event to) {
+        boolean changed = !from.getName().equals(to.getName())
+            || !from.getStartTime().equals(to.getStartTime())
+            || !Objects.equals(from.getEndTime(), to.getEndTime())
+            || !Objects.equals(from.getDescription(), to.getDescription())
+            || !Objects.equals(from.getPrice(), to.getPrice())
+            || !Objects.equals(from.getIsFree(), to.getIsFree())
+            || !Objects.equals(from.getImageUrl(), to.getImageUrl());
+        if (changed) {
+            to.setName(from.getName());
+            to.setStartTime(from.getStartTime());
+            to.setEndTime(from.getEndTime());
+            to.setDescription(from.getDescription());
+            to.setPrice(from.getPrice());
+            to.setIsFree(from.getIsFree());
+            to.setImageUrl(from.getImageUrl());
+        }
+        if (from.getLocation() != null && to.getLocation() == null) {
+            to.setLocation(from.getLocation());
+            changed = true;
+        }
+        return changed;
+    }
+
+    /**
+     * Fills fields the canonical event is missing from a duplicate listing.
+     *
+     * @return true if anything changed
+     */
+    private static boolean mergeMissing(Event from, Event to) {
+        boolean changed = false;
+        if (to.getDescription() == null && from.getDescription() != null) {
+            to.setDescription(from.getDescription());
+            changed = true;
+        }
+        if (to.getEndTime() == null && from.getEndTime() != null) {
+            to.setEndTime(from.getEndTime());
+            changed = true;
+        }
+        if (to.getImageUrl() == null && from.getImageUrl() != null) {
+            to.setImageUrl(from.getImageUrl());
+            changed = true;
+        }
+        if (to.getPrice() == null && from.getPrice() != null) {
+            to.setPrice(from.getPrice());
+            changed = true;
+        }
+        if (to.getLocation() != null && from.getLocation() != null
+                && to.getLocation().getLatitude() == null && from.getLocation().getLatitude() != null) {
+            to.getLocation().setLatitude(from.getLocation().getLatitude());
+            to.getLocation().setLongitude(from.getLocation().getLongitude());
+            changed = true;
+        }
+        return changed;
+    }
+}
@@ -0,0 +1,306 @@
+package com.cultureradar.service;
+
+import com.cultureradar.model.Event;
+import com.cultureradar.repository.EventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCallback;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Broadcasts event changes to the other nodes of the cluster over Postgres
+ * LISTEN/NOTIFY, so their in-process caches and indexes stay current
+ * without extra infrastructure.
+ *
+ * <p>Notifications are sent in the same transaction as the change and are
+ * only delivered if it commits. Each one carries the ID, city and category
+ * of the changed events, which is enough for {@link EventCacheEvictor} to
+ * evict precisely. Receivers then re-publish the change locally as a remote
+ * {@link EventChangedEvent} for in-process indexes. A dedicated connection
+ * listens on the primary; after a reconnect all event caches are cleared,
+ * because notifications sent in between were lost.
+ *
+ * <p>Saved-search changes travel the same way on a second channel, so
+ * every node's alert index sees them, and archived event partitions on a
+ * third, so every node clears its event caches.
+ */
+@Service
+@ConditionalOnProperty(name = "cultureradar.cluster.invalidation.enabled", havingValue = "true", matchIfMissing = true)
+public class EventInvalidationBus implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(EventInvalidationBus.class);
+
+    static final String CHANNEL = "cultureradar_events";
+    static final String SAVED_SEARCH_CHANNEL = "cultureradar_saved_searches";
+    static final String ARCHIVE_CHANNEL = "cultureradar_archived_partitions";
+
+    // NOTIFY payloads are limited to 8000 bytes
+    private static final int EVENTS_PER_MESSAGE = 50;
+    private static final int POLL_TIMEOUT_MS = 1_000;
+    private static final long RECONNECT_DELAY_MS = 5_000;
+
+    /**
+     * Wire format of one notification.
+     */
+    record Message(String node, EventChangedEvent.Type type, List<EventCacheEvictor.EventRef> events) {
+    }
+
+    /**
+     * Wire format of one saved-search notification.
+     */
+    record SavedSearchMessage(String node, SavedSearchChangedEvent change) {
+    }
+
+    /**
+     * Wire format of one archived-partition notification.
+     */
+    record ArchiveMessage(String node, String partition) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSourceProperties dataSourceProperties;
+    private final ObjectMapper objectMapper;
+    private final EventCacheEvictor cacheEvictor;
+    private final EventRepository eventRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Counter sent;
+    private final Counter received;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private volatile boolean running;
+    private Thread listenerThread;
+
+    @Autowired
+    public EventInvalidationBus(
+            JdbcTemplate jdbcTemplate,
+            DataSourceProperties dataSourceProperties,
+            ObjectMapper objectMapper,
+            EventCacheEvictor cacheEvictor,
+            EventRepository eventRepository,
+            ApplicationEventPublisher eventPublisher,
+            MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSourceProperties = dataSourceProperties;
+        this.objectMapper = objectMapper;
+        this.cacheEvictor = cacheEvictor;
+        this.eventRepository = eventRepository;
+        this.eventPublisher = eventPublisher;
+        this.sent = Counter.builder("cultureradar.cluster.invalidations")
+            .tag("direction", "sent")
+            .register(meterRegistry);
+        this.received = Counter.builder("cultureradar.cluster.invalidations")
+            .tag("direction", "received")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Queues a notification for a local change in the changing transaction.
+     *
+     * @param change The event change notification
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onEventsChanged(EventChangedEvent change) {
+        if (change.remote()) {
+            return;
+        }
+
+        List<EventCacheEvictor.EventRef> refs = change.events().stream().map(EventCacheEvictor.EventRef::of).toList();
+        for (int from = 0; from < refs.size(); from += EVENTS_PER_MESSAGE) {
+            List<EventCacheEvictor.EventRef> chunk = refs.subList(from, Math.min(from + EVENTS_PER_MESSAGE, refs.size()));
+            notify(CHANNEL, new Message(nodeId, change.type(), chunk));
+        }
+    }
+
+    /**
+     * Queues a notification for a local saved-search change in the changing transaction.
+     *
+     * @param change The saved-search change notification
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onSavedSearchChanged(SavedSearchChangedEvent change) {
+        if (!change.remote()) {
+            notify(SAVED_SEARCH_CHANNEL, new SavedSearchMessage(nodeId, change));
+        }
+    }
+
+    /**
+     * Queues a notification for a partition archived by this node in the archiving transaction.
+     *
+     * @param archived The archival notification
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onPartitionArchived(EventPartitionArchivedEvent archived) {
+        if (!archived.remote()) {
+            notify(ARCHIVE_CHANNEL, new ArchiveMessage(nodeId, archived.partition()));
+        }
+    }
+
+    private void notify(String channel, Object message) {
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(message);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize invalidation message", e);
+        }
+        jdbcTemplate.execute("select pg_notify(?, ?)", (PreparedStatementCallback<Boolean>) ps -> {
+            ps.setString(1, channel);
+            ps.setString(2, payload);
+            return ps.execute();
+        });
+        sent.increment();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        listenerThread = Thread.ofPlatform().daemon().name("event-invalidation-listener").start(this::listen);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void listen() {
+        boolean connectedBefore = false;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                    statement.execute("LISTEN " + SAVED_SEARCH_CHANNEL);
+                    statement.execute("LISTEN " + ARCHIVE_CHANNEL);
+                }
+                if (connectedBefore) {
+                    log.info("Invalidation listener reconnected; clearing event caches");
+                    cacheEvictor.evictAll();
+                }
+                connectedBefore = true;
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            if (SAVED_SEARCH_CHANNEL.equals(notification.getName())) {
+                                handleSavedSearch(notification.getParameter());
+                            } else if (ARCHIVE_CHANNEL.equals(notification.getName())) {
+                                handleArchive(notification.getParameter());
+                            } else {
+                                handle(notification.getParameter());
+                            }
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Invalidation listener lost its connection, retrying in {}ms: {}",
+                    RECONNECT_DELAY_MS, e.getMessage());
+                try {
+                    Thread.sleep(RECONNECT_DELAY_MS);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void handleSavedSearch(String payload) {
+        SavedSearchMessage message;
+        try {
+            message = objectMapper.readValue(payload, SavedSearchMessage.class);
+        } catch (JsonProcessingException e) {
+            log.warn("Ignoring malformed saved-search message: {}", payload);
+            return;
+        }
+        if (nodeId.equals(message.node())) {
+            return;
+        }
+        received.increment();
+        try {
+            eventPublisher.publishEvent(message.change().asRemote());
+        } catch (RuntimeException e) {
+            log.warn("Could not apply remote saved-search change to the alert index", e);
+        }
+    }
+
+    private void handleArchive(String payload) {
+        ArchiveMessage message;
+        try {
+            message = objectMapper.readValue(payload, ArchiveMessage.class);
+        } catch (JsonProcessingException e) {
+            log.warn("Ignoring malformed archive message: {}", payload);
+            return;
+        }
+        if (nodeId.equals(message.node())) {
+            return;
+        }
+        received.increment();
+        eventPublisher.publishEvent(new EventPartitionArchivedEvent(message.partition()).asRemote());
+    }
+
+    private void handle(String payload) {
+        Message message;
+        try {
+            message = objectMapper.readValue(payload, Message.class);
+        } catch (JsonProcessingException e) {
+            log.warn("Ignoring malformed invalidation message: {}", payload);
+            return;
+        }
+        if (nodeId.equals(message.node())) {
+            return;
+        }
+        received.increment();
+        cacheEvictor.evict(message.events());
+
+        try {
+            List<Long> ids = message.events().stream().map(EventCacheEvictor.EventRef::id).toList();
+            List<Event> events;
+            if (message.type() == EventChangedEvent.Type.DELETED) {
+                events = new ArrayList<>(ids.size());
+                for (Long id : ids) {
+                    Event deleted = new Event();
+                    deleted.setId(id);
+                    events.add(deleted);
+                }
+            } else {
+                events = eventRepository.findAllById(ids);
+            }
+            eventPublisher.publishEvent(new EventChangedEvent(message.type(), events, true));
+        } catch (RuntimeException e) {
+            log.warn("Could not apply remote change to local indexes", e);
+        }
+    }
+}
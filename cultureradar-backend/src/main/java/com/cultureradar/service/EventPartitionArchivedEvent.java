@@ -0,0 +1,26 @@
+package com.cultureradar.service;
+
+/**
+ * Application event published by {@link EventPartitionMaintenance} when an
+ * expired partition is moved to {@code events_archive}. Its events leave the
+ * events table without an {@link EventChangedEvent} per row, so
+ * {@link EventCacheEvictor} clears the event caches once it commits.
+ * Archivals made on other nodes are re-published by
+ * {@link EventInvalidationBus} with {@code remote} set.
+ *
+ * @param partition Name of the archived partition
+ * @param remote Whether the partition was archived by another node
+ */
+public record EventPartitionArchivedEvent(String partition, boolean remote) {
+
+    public EventPartitionArchivedEvent(String partition) {
+        this(partition, false);
+    }
+
+    /**
+     * @return The same archival, as received from another node
+     */
+    public EventPartitionArchivedEvent asRemote() {
+        return new EventPartitionArchivedEvent(partition, true);
+    }
+}
@@ -0,0 +1,185 @@
+package com.cultureradar.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Maintains the monthly partitions of the events table created by
+ * {@code db/partition-events.sql}: partitions for the coming months are
+ * created ahead of time, and partitions older than the retention period
+ * are detached and attached to {@code events_archive} as they are, so
+ * archiving copies no rows and leaves no dead tuples behind.
+ *
+ * <p>Columns added to {@code events} by schema updates are added to
+ * {@code events_archive} before attaching, since a partition must have
+ * exactly its parent's columns. Archivals are published as
+ * {@link EventPartitionArchivedEvent}s, which clear the event caches on
+ * every node.
+ */
+@Service
+@ConditionalOnProperty(name = "cultureradar.events.partitioning.enabled", havingValue = "true")
+public class EventPartitionMaintenance {
+
+    private static final Logger log = LoggerFactory.getLogger(EventPartitionMaintenance.class);
+
+    private static final Pattern PARTITION_NAME = Pattern.compile("events_p(\\d{4})(\\d{2})");
+    private static final DateTimeFormatter NAME_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Counter archiveFailures;
+    private final int retentionMonths;
+    private final int monthsAhead;
+
+    @Autowired
+    public EventPartitionMaintenance(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            ApplicationEventPublisher eventPublisher,
+            MeterRegistry meterRegistry,
+            @Value("${cultureradar.events.partitioning.retention-months:12}") int retentionMonths,
+            @Value("${cultureradar.events.partitioning.months-ahead:3}") int monthsAhead) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.archiveFailures = Counter.builder("cultureradar.events.partitions.archive.failures")
+            .description("Expired partitions that could not be moved to events_archive")
+            .register(meterRegistry);
+        this.retentionMonths = retentionMonths;
+        this.monthsAhead = monthsAhead;
+    }
+
+    /**
+     * Makes sure the upcoming partitions exist as soon as the application is up.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        createUpcomingPartitions(YearMonth.now());
+    }
+
+    /**
+     * Creates missing upcoming partitions and archives expired ones.
+     */
+    @Scheduled(cron = "${cultureradar.events.partitioning.cron:0 30 3 * * *}")
+    public void maintain() {
+        YearMonth current = YearMonth.now();
+        createUpcomingPartitions(current);
+        archiveExpiredPartitions(current.minusMonths(retentionMonths));
+    }
+
+    private void createUpcomingPartitions(YearMonth current) {
+        for (int i = 0; i <= monthsAhead; i++) {
+            YearMonth month = current.plusMonths(i);
+            try {
+                jdbcTemplate.execute("create table if not exists " + partitionName(month)
+                    + " partition of events for values from ('" + month.atDay(1)
+                    + "') to ('" + month.plusMonths(1).atDay(1) + "')");
+            } catch (DataAccessException e) {
+                // Typically rows for that month already sit in the default partition
+                log.error("Could not create partition {}; move its rows out of events_default first",
+                    partitionName(month), e);
+            }
+        }
+    }
+
+    /**
+     * Moves every partition that ends before the given month to the archive.
+     * Detach and attach run in one transaction, so an expired partition is
+     * always reachable through exactly one of the two tables.
+     *
+     * @param firstRetained First month kept in the events table
+     */
+    private void archiveExpiredPartitions(YearMonth firstRetained) {
+        List<String> partitions = jdbcTemplate.queryForList(
+            "select c.relname from pg_inherits i join pg_class c on c.oid = i.inhrelid "
+                + "where i.inhparent = 'events'::regclass", String.class);
+
+        boolean columnsSynced = false;
+        for (String partition : partitions) {
+            Optional<YearMonth> month = monthOf(partition);
+            if (month.isEmpty() || !month.get().isBefore(firstRetained)) {
+                continue;
+            }
+            if (!columnsSynced) {
+                try {
+                    addMissingArchiveColumns();
+                    columnsSynced = true;
+                } catch (DataAccessException e) {
+                    // Attaching would fail with "column not found in parent" for every partition
+                    archiveFailures.increment();
+                    log.error("Could not add the columns of events to events_archive; not archiving {}",
+                        partition, e);
+                    continue;
+                }
+            }
+            LocalDate from = month.get().atDay(1);
+            LocalDate to = month.get().plusMonths(1).atDay(1);
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    // Not CONCURRENTLY: that is not allowed while a default partition exists
+                    jdbcTemplate.execute("alter table events detach partition " + partition);
+                    jdbcTemplate.execute("alter table events_archive attach partition " + partition
+                        + " for values from ('" + from + "') to ('" + to + "')");
+                    eventPublisher.publishEvent(new EventPartitionArchivedEvent(partition));
+                });
+                log.info("Archived partition {}", partition);
+            } catch (DataAccessException e) {
+                archiveFailures.increment();
+                log.error("Could not archive partition {}", partition, e);
+            }
+        }
+    }
+
+    /**
+     * Adds to {@code events_archive} every column of {@code events} it lacks,
+     * such as those added by {@code ddl-auto=update} after partitioning.
+     * Added columns propagate to the archived partitions.
+     */
+    private void addMissingArchiveColumns() {
+        List<String> columns = jdbcTemplate.queryForList(
+            "select quote_ident(a.attname) || ' ' || format_type(a.atttypid, a.atttypmod) from pg_attribute a "
+                + "where a.attrelid = 'events'::regclass and a.attnum > 0 and not a.attisdropped "
+                + "and not exists (select 1 from pg_attribute b where b.attrelid = 'events_archive'::regclass "
+                + "and b.attname = a.attname and b.attnum > 0 and not b.attisdropped) "
+                + "order by a.attnum", String.class);
+        for (String column : columns) {
+            jdbcTemplate.execute("alter table events_archive add column if not exists " + column);
+            log.info("Added column {} to events_archive", column);
+        }
+    }
+
+    static String partitionName(YearMonth month) {
+        return "events_p" + month.format(NAME_SUFFIX);
+    }
+
+    static Optional<YearMonth> monthOf(String partitionName) {
+        Matcher matcher = PARTITION_NAME.matcher(partitionName);
+        if (!matcher.matches()) {
+            return Optional.empty();
+        }
+        return Optional.of(YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2))));
+    }
+}
@@ -0,0 +1,27 @@
+package com.cultureradar.service;
+
+import com.cultureradar.model.EventCategory;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.Locale;
+
+/**
+ * Identifies an event search. The city is normalized the same way the
+ * search query compares it, so equivalent searches share one key.
+ */
+public record EventSearchKey(String city, Boolean isFree, EventCategory category,
+                             LocalDateTime startDate, LocalDateTime endDate, Pageable pageable) {
+
+    public static EventSearchKey of(String city, Boolean isFree, EventCategory category,
+                                    LocalDateTime startDate, LocalDateTime endDate, Pageable pageable) {
+        return new EventSearchKey(normalizeCity(city), isFree, category, startDate, endDate, pageable);
+    }
+
+    /**
+     * @return The trimmed, lower-cased city, or null when blank
+     */
+    public static String normalizeCity(String city) {
+        return city == null || city.isBlank() ? null : city.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -1,5 +1,64 @@
 package com.cultureradar.service;
 
-public class EventService {
-    
+import com.cultureradar.model.Event;
+import com.cultureradar.model.EventCategory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Service for searching and managing cultural events.
+ */
+public interface EventService {
+
+    /**
+     * Finds events matching the given filters. Null filters are ignored.
+     *
+     * @param city City of the event location (case-insensitive)
+     * @param isFree Free admission filter
+     * @param category Event category
+     * @param startDate Minimum start time
+     * @param endDate Maximum start time
+     * @param pageable Page request
+     * @return Page of matching events
+     */
+    Page<Event> findEvents(String city, Boolean isFree, EventCategory category,
+                           LocalDateTime startDate, LocalDateTime endDate, Pageable pageable);
+
+    /**
+     * Finds events that were moved to the archive because they are older
+     * than the retention period. Returns an empty page unless the events
+     * table is partitioned.
+     *
+     * @param city City of the event location (case-insensitive), or null
+     * @param from Minimum start time
+     * @param to Maximum start time (exclusive)
+     * @param pageable Page request; results are always most recent first
+     * @return Page of archived events
+     */
+    Page<Event> findArchivedEvents(String city, LocalDateTime from, LocalDateTime to, Pageable pageable);
+
+    Optional<Event> findById(Long id);
+
+    Event createEvent(Event event);
+
+    Event updateEvent(Event event);
+
+    void deleteEvent(Long id);
+
+    /**
+     * Marks the given events as approved.
+     *
+     * @param ids IDs of the events to approve
+     * @return The approved events
+     */
+    List<Event> approveEvents(List<Long> ids);
+
+    /**
+     * Fetches new events from the external event sources.
+     */
+    void fetchExternalEvents();
 }
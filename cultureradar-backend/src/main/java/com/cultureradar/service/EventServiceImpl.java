@@ -1,5 +1,181 @@
 package com.cultureradar.service;
 
-public class EventServiceImpl {
-    
+import com.cultureradar.model.Event;
+import com.cultureradar.model.EventCategory;
+import com.cultureradar.repository.EventRepository;
+import com.cultureradar.service.api.ExternalEventSource;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.criteria.Predicate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Default implementation of {@link EventService} backed by {@link EventRepository}.
+ * Every change is announced through an {@link EventChangedEvent} so that
+ * alerting and in-process indexes can react to it.
+ * Every public method is timed as {@code cultureradar.event.service}.
+ */
+@Service
+@Timed("cultureradar.event.service")
+public class EventServiceImpl implements EventService {
+
+    private static final Logger log = LoggerFactory.getLogger(EventServiceImpl.class);
+
+    // Arbitrary date ranges and deep pages would make the cache key space unbounded
+    private static final String CACHEABLE_SEARCH = "#startDate == null && #endDate == null && #pageable.pageNumber < 5";
+    private static final String SEARCH_KEY =
+        "T(com.cultureradar.service.EventSearchKey).of(#city, #isFree, #category, #startDate, #endDate, #pageable)";
+
+    private final EventRepository eventRepository;
+    private final EventIngestService eventIngestService;
+    private final List<ExternalEventSource> externalSources;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean partitioningEnabled;
+
+    @Autowired
+    public EventServiceImpl(
+            EventRepository eventRepository,
+            EventIngestService eventIngestService,
+            List<ExternalEventSource> externalSources,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${cultureradar.events.partitioning.enabled:false}") boolean partitioningEnabled) {
+        this.eventRepository = eventRepository;
+        this.eventIngestService = eventIngestService;
+        this.externalSources = externalSources;
+        this.eventPublisher = eventPublisher;
+        this.partitioningEnabled = partitioningEnabled;
+    }
+
+    /**
+     * Results of the first pages of city and category searches without a
+     * date range are cached; {@link EventCacheEvictor} evicts exactly the
+     * entries an event change can affect.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    @Caching(cacheable = {
+        @Cacheable(cacheNames = "eventsByCity", condition = CACHEABLE_SEARCH + " && #city != null && !#city.isBlank()",
+            key = SEARCH_KEY),
+        @Cacheable(cacheNames = "eventsByCategory", condition = CACHEABLE_SEARCH
+            + " && (#city == null || #city.isBlank()) && #category != null", key = SEARCH_KEY)
+    })
+    public Page<Event> findEvents(String city, Boolean isFree, EventCategory category,
+                                  LocalDateTime startDate, LocalDateTime endDate, Pageable pageable) {
+        return eventRepository.findAll(searchSpecification(city, isFree, category, startDate, endDate), pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<Event> findArchivedEvents(String city, LocalDateTime from, LocalDateTime to, Pageable pageable) {
+        if (!partitioningEnabled) {
+            return Page.empty(pageable);
+        }
+        return eventRepository.findArchived(EventSearchKey.normalizeCity(city), from, to, pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = "events", key = "#id")
+    public Optional<Event> findById(Long id) {
+        return eventRepository.findById(id);
+    }
+
+    @Override
+    @Transactional
+    public Event createEvent(Event event) {
+        Event saved = eventRepository.save(event);
+        eventPublisher.publishEvent(new EventChangedEvent(EventChangedEvent.Type.CREATED, List.of(saved)));
+        return saved;
+    }
+
+    @Override
+    @Transactional
+    public Event updateEvent(Event event) {
+        Event saved = eventRepository.save(event);
+        eventPublisher.publishEvent(new EventChangedEvent(EventChangedEvent.Type.UPDATED, List.of(saved)));
+        return saved;
+    }
+
+    @Override
+    @Transactional
+    public void deleteEvent(Long id) {
+        eventRepository.findById(id).ifPresent(event -> {
+            eventRepository.delete(event);
+            eventPublisher.publishEvent(new EventChangedEvent(EventChangedEvent.Type.DELETED, List.of(event)));
+        });
+    }
+
+    @Override
+    @Transactional
+    public List<Event> approveEvents(List<Long> ids) {
+        List<Event> events = eventRepository.findAllById(ids);
+        List<Event> newlyApproved = new ArrayList<>();
+
+        for (Event event : events) {
+            if (!Boolean.TRUE.equals(event.getApproved())) {
+                event.setApproved(true);
+                newlyApproved.add(event);
+            }
+        }
+
+        eventRepository.saveAll(newlyApproved);
+        if (!newlyApproved.isEmpty()) {
+            eventPublisher.publishEvent(new EventChangedEvent(EventChangedEvent.Type.APPROVED, newlyApproved));
+        }
+        return events;
+    }
+
+    @Override
+    @Async
+    public void fetchExternalEvents() {
+        for (ExternalEventSource source : externalSources) {
+            try {
+                // Each page is ingested (and de-duplicated) as soon as it arrives
+                source.fetchEvents(batch -> eventIngestService.ingestBatch(source.getSourceName(), batch));
+            } catch (RuntimeException e) {
+                log.error("Fetching events from {} failed", source.getSourceName(), e);
+            }
+        }
+    }
+
+    private static Specification<Event> searchSpecification(String city, Boolean isFree, EventCategory category,
+                                                            LocalDateTime startDate, LocalDateTime endDate) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+
+            if (city != null && !city.isBlank()) {
+                predicates.add(cb.equal(cb.lower(root.get("location").get("city")), city.trim().toLowerCase()));
+            }
+            if (isFree != null) {
+                predicates.add(cb.equal(root.get("isFree"), isFree));
+            }
+            if (category != null) {
+                predicates.add(cb.equal(root.get("category"), category));
+            }
+            if (startDate != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("startTime"), startDate));
+            }
+            if (endDate != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("startTime"), endDate));
+            }
+
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
 }
@@ -0,0 +1,280 @@
+package com.cultureradar.service;
+
+import com.cultureradar.cache.CompactEvent;
+import com.cultureradar.cache.CompactEventCache;
+import com.cultureradar.cache.EventSnapshot;
+import com.cultureradar.model.Event;
+import com.cultureradar.repository.EventRepository;
+import com.cultureradar.util.StringDictionary;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Carries the in-memory event state of a node over a restart, so a new
+ * node does not start with cold caches that all miss at once. On shutdown
+ * the {@code events} cache, the cached search pages and the
+ * recommendation pool are written to an {@link EventSnapshot} file; on
+ * startup, before the application reports itself ready, the file is
+ * restored and brought up to date.
+ *
+ * <p>Catching up works like receiving the changes from another node:
+ * events modified since shortly before the snapshot are re-read by their
+ * {@code updatedAt}, and events that no longer exist are found by ID.
+ * Their cache entries are evicted and the changes are published as
+ * remote {@link EventChangedEvent}s for the in-memory indexes. When too
+ * many events changed, the snapshot is not used.
+ */
+@Service
+public class EventSnapshotService {
+
+    private static final Logger log = LoggerFactory.getLogger(EventSnapshotService.class);
+
+    private static final String EVENTS_CACHE = "events";
+    private static final List<String> SEARCH_CACHES = List.of("eventsByCity", "eventsByCategory");
+    private static final int IDS_PER_QUERY = 1000;
+
+    private final CacheManager cacheManager;
+    private final StringDictionary dictionary;
+    private final RecommendationService recommendationService;
+    private final EventRepository eventRepository;
+    private final EventCacheEvictor cacheEvictor;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean enabled;
+    private final Path path;
+    private final long catchUpMarginSeconds;
+    private final long maxCatchUp;
+
+    // Only a fully started node has state worth saving
+    private volatile boolean started;
+
+    @Autowired
+    public EventSnapshotService(
+            CacheManager cacheManager,
+            StringDictionary dictionary,
+            RecommendationService recommendationService,
+            EventRepository eventRepository,
+            EventCacheEvictor cacheEvictor,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${cultureradar.snapshot.enabled:false}") boolean enabled,
+            @Value("${cultureradar.snapshot.path:data/event-snapshot.bin}") Path path,
+            @Value("${cultureradar.snapshot.catch-up-margin-seconds:60}") long catchUpMarginSeconds,
+            @Value("${cultureradar.snapshot.max-catch-up:20000}") long maxCatchUp) {
+        this.cacheManager = cacheManager;
+        this.dictionary = dictionary;
+        this.recommendationService = recommendationService;
+        this.eventRepository = eventRepository;
+        this.cacheEvictor = cacheEvictor;
+        this.eventPublisher = eventPublisher;
+        this.enabled = enabled;
+        this.path = path;
+        this.catchUpMarginSeconds = catchUpMarginSeconds;
+        this.maxCatchUp = maxCatchUp;
+    }
+
+    /**
+     * Restores the last snapshot, if any. Runs before the readiness state
+     * changes to accepting traffic.
+     */
+    @EventListener(ApplicationStartedEvent.class)
+    public void restore() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            if (Files.exists(path)) {
+                long startNanos = System.nanoTime();
+                EventSnapshot snapshot = EventSnapshot.read(path, dictionary);
+                if (restore(snapshot)) {
+                    log.info("Restored {} events and {} search pages from {} in {} ms", snapshot.events().size(),
+                        snapshot.searches().size(), path, (System.nanoTime() - startNanos) / 1_000_000);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not restore the event snapshot from {}", path, e);
+        } finally {
+            started = true;
+        }
+    }
+
+    /**
+     * Saves the current state. Runs when the context starts closing, while
+     * the caches are still complete.
+     */
+    @EventListener(ContextClosedEvent.class)
+    public void save() {
+        if (!enabled || !started) {
+            return;
+        }
+        long startNanos = System.nanoTime();
+        // Anything changed after this is caught up by the next node
+        LocalDateTime writtenAt = LocalDateTime.now();
+        Map<Long, CompactEvent> events = new HashMap<>();
+
+        List<Long> upcomingIds = new ArrayList<>();
+        for (CompactEvent event : recommendationService.getUpcomingEvents()) {
+            events.put(event.getId(), event);
+            upcomingIds.add(event.getId());
+        }
+
+        List<Long> cachedIds = new ArrayList<>();
+        ConcurrentMap<Object, Object> cached = entries(EVENTS_CACHE);
+        if (cached != null) {
+            cached.forEach((key, value) -> {
+                if (key instanceof Long id && value instanceof CompactEvent event) {
+                    events.put(id, event);
+                    cachedIds.add(id);
+                }
+            });
+        }
+
+        List<EventSnapshot.SearchPage> searches = new ArrayList<>();
+        for (String cacheName : SEARCH_CACHES) {
+            ConcurrentMap<Object, Object> pages = entries(cacheName);
+            if (pages == null) {
+                continue;
+            }
+            pages.forEach((key, value) -> {
+                if (key instanceof EventSearchKey search && value instanceof CompactEventCache.CompactPage page
+                        && search.startDate() == null && search.endDate() == null
+                        && search.pageable() instanceof PageRequest pageable) {
+                    List<Long> ids = new ArrayList<>(page.content().length);
+                    for (CompactEvent event : page.content()) {
+                        events.put(event.getId(), event);
+                        ids.add(event.getId());
+                    }
+                    searches.add(new EventSnapshot.SearchPage(cacheName, search.city(), search.isFree(),
+                        search.category(), pageable, page.total(), ids));
+                }
+            });
+        }
+
+        try {
+            new EventSnapshot(writtenAt, events, upcomingIds, cachedIds, searches).write(path, dictionary);
+            log.info("Saved {} events and {} search pages to {} in {} ms", events.size(), searches.size(), path,
+                (System.nanoTime() - startNanos) / 1_000_000);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not save the event snapshot to {}", path, e);
+        }
+    }
+
+    /**
+     * @return false if the snapshot was too far behind to be used
+     */
+    private boolean restore(EventSnapshot snapshot) {
+        LocalDateTime since = snapshot.writtenAt().minusSeconds(catchUpMarginSeconds);
+        long changedCount = eventRepository.countByUpdatedAtGreaterThanEqual(since);
+        if (changedCount > maxCatchUp) {
+            log.info("Not restoring the event snapshot of {}: {} events changed since", snapshot.writtenAt(),
+                changedCount);
+            return false;
+        }
+
+        // Fill the caches before reading the changes, so no change can fall in between
+        putCached(snapshot);
+        List<Event> changed;
+        Set<Long> deleted;
+        try {
+            changed = eventRepository.findByUpdatedAtGreaterThanEqual(since);
+            deleted = findDeleted(snapshot.events().keySet());
+        } catch (RuntimeException e) {
+            cacheEvictor.evictAll();
+            throw e;
+        }
+
+        List<EventCacheEvictor.EventRef> refs = new ArrayList<>(changed.size() + deleted.size());
+        changed.forEach(event -> refs.add(EventCacheEvictor.EventRef.of(event)));
+        List<Event> deletedEvents = new ArrayList<>(deleted.size());
+        for (Long id : deleted) {
+            refs.add(EventCacheEvictor.EventRef.of(snapshot.events().get(id).toEvent(dictionary)));
+            Event event = new Event();
+            event.setId(id);
+            deletedEvents.add(event);
+        }
+        cacheEvictor.evict(refs);
+
+        List<CompactEvent> upcoming = new ArrayList<>(snapshot.upcomingIds().size());
+        for (Long id : snapshot.upcomingIds()) {
+            if (!deleted.contains(id)) {
+                upcoming.add(snapshot.events().get(id));
+            }
+        }
+        recommendationService.restoreUpcomingEvents(upcoming);
+
+        if (!changed.isEmpty()) {
+            eventPublisher.publishEvent(new EventChangedEvent(EventChangedEvent.Type.UPDATED, changed, true));
+        }
+        if (!deletedEvents.isEmpty()) {
+            eventPublisher.publishEvent(new EventChangedEvent(EventChangedEvent.Type.DELETED, deletedEvents, true));
+        }
+        return true;
+    }
+
+    private void putCached(EventSnapshot snapshot) {
+        ConcurrentMap<Object, Object> cached = entries(EVENTS_CACHE);
+        if (cached != null) {
+            for (Long id : snapshot.cachedIds()) {
+                cached.putIfAbsent(id, snapshot.events().get(id));
+            }
+        }
+
+        for (EventSnapshot.SearchPage page : snapshot.searches()) {
+            ConcurrentMap<Object, Object> pages = entries(page.cache());
+            if (pages == null) {
+                continue;
+            }
+            CompactEvent[] content = new CompactEvent[page.eventIds().size()];
+            for (int i = 0; i < content.length; i++) {
+                content[i] = snapshot.events().get(page.eventIds().get(i));
+            }
+            EventSearchKey key = EventSearchKey.of(page.city(), page.isFree(), page.category(), null, null,
+                page.pageable());
+            pages.putIfAbsent(key, new CompactEventCache.CompactPage(content, page.pageable(), page.total()));
+        }
+    }
+
+    private Set<Long> findDeleted(Set<Long> ids) {
+        Set<Long> deleted = new HashSet<>(ids);
+        List<Long> batch = new ArrayList<>(IDS_PER_QUERY);
+        for (Long id : ids) {
+            batch.add(id);
+            if (batch.size() == IDS_PER_QUERY) {
+                eventRepository.findExistingIds(batch).forEach(deleted::remove);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            eventRepository.findExistingIds(batch).forEach(deleted::remove);
+        }
+        return deleted;
+    }
+
+    /**
+     * @return The entries of a compact event cache, or null if the cache is not one
+     */
+    private ConcurrentMap<Object, Object> entries(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        return cache instanceof CompactEventCache compact ? compact.getNativeCache() : null;
+    }
+}
@@ -0,0 +1,275 @@
+package com.cultureradar.service;
+
+import com.cultureradar.model.Event;
+import com.cultureradar.model.EventCategory;
+import com.cultureradar.util.TextNormalizer;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Pushes approved, updated and cancelled events to Server-Sent Events
+ * subscribers, so clients do not have to poll the search endpoints.
+ *
+ * <p>Each committed change is serialized once and offered to every
+ * subscriber whose filter matches. Every subscriber has its own bounded
+ * queue drained by its own virtual thread, so a slow client only delays
+ * itself. Queued updates of the same event are coalesced to the latest
+ * one; when a queue still overflows, it is dropped and the client gets a
+ * single {@code resync} message telling it to reload. Idle streams get a
+ * heartbeat comment so proxies keep them open and dead clients are noticed.
+ */
+@Service
+public class EventStreamService {
+
+    private static final Logger log = LoggerFactory.getLogger(EventStreamService.class);
+
+    /**
+     * Thrown when the subscriber limit is reached.
+     */
+    public static class TooManySubscribersException extends RuntimeException {
+        public TooManySubscribersException() {
+            super("Too many event stream subscribers");
+        }
+    }
+
+    /**
+     * Message sent for one changed event.
+     *
+     * @param type "approved", "updated" or "cancelled"
+     * @param id Event ID
+     * @param event The event, or null for cancellations
+     */
+    record Update(String type, Long id, Event event) {
+    }
+
+    private record Prepared(Long id, String type, String json, String city, EventCategory category) {
+    }
+
+    private final ObjectMapper objectMapper;
+    private final int maxSubscribers;
+    private final int queueCapacity;
+    private final long heartbeatMillis;
+    private final long streamTimeoutMillis;
+    private final Counter coalesced;
+    private final Counter resyncs;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ThreadFactory writerThreads = Thread.ofVirtual().name("event-stream-", 0).factory();
+
+    @Autowired
+    public EventStreamService(
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${cultureradar.stream.max-subscribers:10000}") int maxSubscribers,
+            @Value("${cultureradar.stream.queue-capacity:256}") int queueCapacity,
+            @Value("${cultureradar.stream.heartbeat-seconds:20}") long heartbeatSeconds,
+            @Value("${cultureradar.stream.timeout-minutes:30}") long timeoutMinutes) {
+        this.objectMapper = objectMapper;
+        this.maxSubscribers = maxSubscribers;
+        this.queueCapacity = queueCapacity;
+        this.heartbeatMillis = TimeUnit.SECONDS.toMillis(heartbeatSeconds);
+        this.streamTimeoutMillis = TimeUnit.MINUTES.toMillis(timeoutMinutes);
+        Gauge.builder("cultureradar.stream.subscribers", subscribers, Set::size)
+            .register(meterRegistry);
+        this.coalesced = Counter.builder("cultureradar.stream.dropped")
+            .tag("reason", "coalesced")
+            .register(meterRegistry);
+        this.resyncs = Counter.builder("cultureradar.stream.dropped")
+            .tag("reason", "overflow")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Opens a stream. It ends after the configured timeout; browsers'
+     * EventSource reconnects by itself.
+     *
+     * @param city Only events in this city (case- and accent-insensitive), or null
+     * @param category Only events of this category, or null
+     * @return The emitter to return from the controller
+     * @throws TooManySubscribersException If the subscriber limit is reached
+     */
+    public SseEmitter subscribe(String city, EventCategory category) {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new TooManySubscribersException();
+        }
+        SseEmitter emitter = new SseEmitter(streamTimeoutMillis);
+        String normalizedCity = city == null || city.isBlank() ? null : TextNormalizer.normalize(city);
+        Subscriber subscriber = new Subscriber(emitter, normalizedCity, category);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(e -> subscriber.close());
+        subscribers.add(subscriber);
+        writerThreads.newThread(subscriber::run).start();
+        return emitter;
+    }
+
+    /**
+     * Fans committed changes out to the matching subscribers. Changes from
+     * other nodes are included, since every node serves its own subscribers.
+     *
+     * @param change The event change notification
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventsChanged(EventChangedEvent change) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        List<Prepared> updates = new ArrayList<>();
+        for (Event event : change.events()) {
+            String type = switch (change.type()) {
+                case DELETED -> "cancelled";
+                case APPROVED -> "approved";
+                case CREATED, UPDATED -> Boolean.TRUE.equals(event.getApproved()) ? "updated" : null;
+            };
+            if (type == null) {
+                continue;
+            }
+            Update update = new Update(type, event.getId(), "cancelled".equals(type) ? null : event);
+            try {
+                String city = event.getLocation() != null ? TextNormalizer.normalize(event.getLocation().getCity()) : null;
+                updates.add(new Prepared(event.getId(), type, objectMapper.writeValueAsString(update),
+                    city, event.getCategory()));
+            } catch (JsonProcessingException e) {
+                log.warn("Could not serialize stream update for event {}", event.getId(), e);
+            }
+        }
+        for (Prepared update : updates) {
+            for (Subscriber subscriber : subscribers) {
+                if (subscriber.matches(update)) {
+                    subscriber.offer(update);
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.emitter.complete();
+            subscriber.close();
+        }
+    }
+
+    private final class Subscriber {
+        final SseEmitter emitter;
+        final String city;
+        final EventCategory category;
+
+        final ReentrantLock lock = new ReentrantLock();
+        final Condition ready = lock.newCondition();
+        // Keyed by event ID so a newer update replaces a queued older one
+        final Map<Long, Prepared> pending = new LinkedHashMap<>();
+        boolean overflowed;
+        boolean closed;
+
+        Subscriber(SseEmitter emitter, String city, EventCategory category) {
+            this.emitter = emitter;
+            this.city = city;
+            this.category = category;
+        }
+
+        boolean matches(Prepared update) {
+            // Remote cancellations carry only the ID, so they cannot be filtered
+            if (update.city() == null && update.category() == null) {
+                return true;
+            }
+            return (city == null || city.equals(update.city()))
+                && (category == null || category == update.category());
+        }
+
+        void offer(Prepared update) {
+            lock.lock();
+            try {
+                if (closed || overflowed) {
+                    return;
+                }
+                if (pending.put(update.id(), update) != null) {
+                    coalesced.increment();
+                } else if (pending.size() > queueCapacity) {
+                    pending.clear();
+                    overflowed = true;
+                    resyncs.increment();
+                }
+                ready.signal();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void close() {
+            lock.lock();
+            try {
+                closed = true;
+                pending.clear();
+                ready.signal();
+            } finally {
+                lock.unlock();
+            }
+            subscribers.remove(this);
+        }
+
+        void run() {
+            try {
+                emitter.send(SseEmitter.event().comment("connected").reconnectTime(heartbeatMillis));
+                while (true) {
+                    List<Prepared> batch;
+                    boolean resync;
+                    lock.lock();
+                    try {
+                        if (!closed && pending.isEmpty() && !overflowed) {
+                            ready.await(heartbeatMillis, TimeUnit.MILLISECONDS);
+                        }
+                        if (closed) {
+                            return;
+                        }
+                        batch = new ArrayList<>(pending.values());
+                        pending.clear();
+                        resync = overflowed;
+                        overflowed = false;
+                    } finally {
+                        lock.unlock();
+                    }
+
+                    if (resync) {
+                        emitter.send(SseEmitter.event().name("resync").data("{}"));
+                    } else if (batch.isEmpty()) {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                    }
+                    for (Prepared update : batch) {
+                        emitter.send(SseEmitter.event().name(update.type()).id(String.valueOf(update.id()))
+                            .data(update.json()));
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                // The client went away or the emitter already completed
+                close();
+            } catch (InterruptedException e) {
+                close();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.cultureradar.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts event views and search-result clicks in memory and writes them to
+ * the view_count and click_count columns of the events table in periodic
+ * batches, so a view costs a striped {@link LongAdder} increment instead
+ * of a database write.
+ *
+ * <p>A flush adds the accumulated deltas to the stored counts, so several
+ * nodes can flush concurrently. If a flush fails, its deltas are added back
+ * and written by the next one. Counts of the last interval are lost only if
+ * the process dies without shutting down.
+ */
+@Service
+public class EventViewCounter {
+
+    private static final Logger log = LoggerFactory.getLogger(EventViewCounter.class);
+
+    private static final String INCREMENT_SQL =
+        "update events set view_count = view_count + ?, click_count = click_count + ? where id = ?";
+
+    private record Delta(long views, long clicks) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxTrackedEvents;
+    private final int batchSize;
+    private final Counter flushFailures;
+    private final Counter untracked;
+
+    private final ConcurrentMap<Long, LongAdder> views = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, LongAdder> clicks = new ConcurrentHashMap<>();
+
+    @Autowired
+    public EventViewCounter(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${cultureradar.counters.max-tracked-events:100000}") int maxTrackedEvents,
+            @Value("${cultureradar.counters.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxTrackedEvents = maxTrackedEvents;
+        this.batchSize = batchSize;
+        this.flushFailures = Counter.builder("cultureradar.counters.flush.failures")
+            .register(meterRegistry);
+        this.untracked = Counter.builder("cultureradar.counters.untracked")
+            .description("Increments dropped because too many distinct events were pending")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Counts one view of an event's detail page.
+     *
+     * @param eventId Event ID
+     */
+    public void recordView(Long eventId) {
+        increment(views, eventId, 1);
+    }
+
+    /**
+     * Counts one click on an event in search results.
+     *
+     * @param eventId Event ID
+     */
+    public void recordClick(Long eventId) {
+        increment(clicks, eventId, 1);
+    }
+
+    /**
+     * Writes the accumulated counts to the database.
+     */
+    @Scheduled(fixedDelayString = "${cultureradar.counters.flush-interval-ms:10000}")
+    public void flush() {
+        // Sorted by ID so concurrent flushes from several nodes lock rows in the same order
+        Map<Long, Delta> deltas = new TreeMap<>();
+        drain(views, deltas, true);
+        drain(clicks, deltas, false);
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        List<Object[]> rows = new ArrayList<>(deltas.size());
+        deltas.forEach((id, delta) -> rows.add(new Object[]{delta.views(), delta.clicks(), id}));
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int from = 0; from < rows.size(); from += batchSize) {
+                    jdbcTemplate.batchUpdate(INCREMENT_SQL, rows.subList(from, Math.min(from + batchSize, rows.size())));
+                }
+            });
+        } catch (DataAccessException e) {
+            flushFailures.increment();
+            log.warn("Could not flush counts of {} events, retrying with the next flush: {}",
+                deltas.size(), e.getMessage());
+            // Added back past the tracking limit: these counts were already accepted
+            deltas.forEach((id, delta) -> {
+                if (delta.views() > 0) {
+                    views.computeIfAbsent(id, k -> new LongAdder()).add(delta.views());
+                }
+                if (delta.clicks() > 0) {
+                    clicks.computeIfAbsent(id, k -> new LongAdder()).add(delta.clicks());
+                }
+            });
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private void increment(ConcurrentMap<Long, LongAdder> counters, Long eventId, long amount) {
+        LongAdder adder = counters.get(eventId);
+        if (adder == null) {
+            if (counters.size() >= maxTrackedEvents) {
+                untracked.increment(amount);
+                return;
+            }
+            adder = counters.computeIfAbsent(eventId, id -> new LongAdder());
+        }
+        adder.add(amount);
+        if (counters.get(eventId) != adder) {
+            // Removed by a flush meanwhile, which may have drained it before this increment
+            long carried = adder.sumThenReset();
+            if (carried > 0) {
+                counters.computeIfAbsent(eventId, id -> new LongAdder()).add(carried);
+            }
+        }
+    }
+
+    /**
+     * Moves the pending counts into the deltas. Counters that saw no
+     * increments since the last flush are removed to keep the maps small;
+     * an increment that lands on a removed counter is moved back by
+     * {@link #increment}.
+     */
+    private static void drain(ConcurrentMap<Long, LongAdder> counters, Map<Long, Delta> deltas, boolean isViews) {
+        for (Map.Entry<Long, LongAdder> entry : counters.entrySet()) {
+            long count = entry.getValue().sumThenReset();
+            if (count == 0) {
+                counters.remove(entry.getKey(), entry.getValue());
+                // An increment that raced with the removal is carried over rather than lost
+                count = entry.getValue().sumThenReset();
+                if (count == 0) {
+                    continue;
+                }
+            }
+            deltas.merge(entry.getKey(), isViews ? new Delta(count, 0) : new Delta(0, count),
+                (a, b) -> new Delta(a.views() + b.views(), a.clicks() + b.clicks()));
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.cultureradar.service;
+
+import com.cultureradar.model.Event;
+import com.cultureradar.repository.EventRepository;
+import com.cultureradar.util.IntervalTree;
+import com.cultureradar.util.TextNormalizer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory index answering "what is happening right now" per city without
+ * scanning events. Each city has an {@link IntervalTree} over the
+ * [start, effective end) intervals of its approved events, so a query
+ * touches only the events that are on.
+ *
+ * <p>The index holds the events overlapping a rolling window from now to
+ * a configurable horizon (two days by default). It is rebuilt periodically to slide the window and
+ * drop ended events, and kept current in between from
+ * {@link EventChangedEvent}s, including those from other nodes.
+ */
+@Service
+public class HappeningNowIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(HappeningNowIndex.class);
+
+    // The bounds are copied so later changes to the event cannot orphan its tree node
+    private record Entry(Event event, String city, LocalDateTime start, LocalDateTime end) {
+    }
+
+    private final EventRepository eventRepository;
+    private final long horizonHours;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Map<String, IntervalTree<LocalDateTime, Long>> treesByCity = new HashMap<>();
+    private Map<Long, Entry> entries = new HashMap<>();
+    private LocalDateTime horizon = LocalDateTime.MIN;
+    // IDs changed while a rebuild was loading; their loaded state may be stale
+    private Set<Long> changedDuringRebuild;
+
+    @Autowired
+    public HappeningNowIndex(
+            EventRepository eventRepository,
+            @Value("${cultureradar.now.horizon-hours:48}") long horizonHours) {
+        this.eventRepository = eventRepository;
+        this.horizonHours = horizonHours;
+    }
+
+    /**
+     * Finds the events happening at this moment.
+     *
+     * @param city City of the event location (case- and accent-insensitive), or null for all cities
+     * @param limit Maximum number of events
+     * @return Events in progress, earliest start first
+     */
+    public List<Event> findHappeningNow(String city, int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        lock.readLock().lock();
+        try {
+            List<Long> ids = new ArrayList<>();
+            if (city == null || city.isBlank()) {
+                treesByCity.values().forEach(tree -> ids.addAll(tree.stab(now)));
+            } else {
+                IntervalTree<LocalDateTime, Long> tree = treesByCity.get(TextNormalizer.normalize(city));
+                if (tree != null) {
+                    ids.addAll(tree.stab(now));
+                }
+            }
+
+            // Hits from one tree are already ordered by start
+            return ids.stream()
+                .map(entries::get)
+                .sorted(Comparator.comparing(Entry::start))
+                .limit(limit)
+                .map(Entry::event)
+                .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Reloads the events overlapping the window from now to the horizon.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${cultureradar.now.refresh-interval-ms:3600000}",
+               initialDelayString = "${cultureradar.now.refresh-interval-ms:3600000}")
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            changedDuringRebuild = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime newHorizon = now.plusHours(horizonHours);
+        List<Event> loaded = eventRepository.findApprovedOverlapping(now, now.minus(Event.DEFAULT_DURATION), newHorizon);
+
+        lock.writeLock().lock();
+        try {
+            Map<Long, Entry> previous = entries;
+            treesByCity = new HashMap<>();
+            entries = new HashMap<>();
+            horizon = newHorizon;
+            for (Event event : loaded) {
+                if (!changedDuringRebuild.contains(event.getId())) {
+                    add(event);
+                }
+            }
+            // Changes that arrived while loading win over the loaded state
+            for (Long id : changedDuringRebuild) {
+                Entry entry = previous.get(id);
+                if (entry != null && entry.end().isAfter(now)) {
+                    put(id, entry);
+                }
+            }
+            changedDuringRebuild = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Indexed {} events up to {} for happening-now queries", loaded.size(), newHorizon);
+    }
+
+    /**
+     * Applies committed changes, local or remote.
+     *
+     * @param change The event change notification
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventsChanged(EventChangedEvent change) {
+        LocalDateTime now = LocalDateTime.now();
+        lock.writeLock().lock();
+        try {
+            for (Event event : change.events()) {
+                remove(event.getId());
+                if (changedDuringRebuild != null) {
+                    changedDuringRebuild.add(event.getId());
+                }
+                if (change.type() != EventChangedEvent.Type.DELETED && isIndexable(event, now)) {
+                    add(event);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private boolean isIndexable(Event event, LocalDateTime now) {
+        return Boolean.TRUE.equals(event.getApproved())
+            && event.getLocation() != null
+            && event.getStartTime() != null
+            && event.getStartTime().isBefore(horizon)
+            && event.getEffectiveEndTime().isAfter(now);
+    }
+
+    private void add(Event event) {
+        String city = TextNormalizer.normalize(event.getLocation().getCity());
+        LocalDateTime start = event.getStartTime();
+        LocalDateTime end = event.getEffectiveEndTime();
+        if (end.isBefore(start)) {
+            // Bad data from a source; treat it as open-ended
+            end = start.plus(Event.DEFAULT_DURATION);
+        }
+        put(event.getId(), new Entry(event, city, start, end));
+    }
+
+    private void put(Long id, Entry entry) {
+        treesByCity.computeIfAbsent(entry.city(), c -> new IntervalTree<>()).insert(entry.start(), entry.end(), id);
+        entries.put(id, entry);
+    }
+
+    private void remove(Long id) {
+        Entry entry = entries.remove(id);
+        if (entry == null) {
+            return;
+        }
+        IntervalTree<LocalDateTime, Long> tree = treesByCity.get(entry.city());
+        tree.remove(entry.start(), entry.end(), id);
+        if (tree.isEmpty()) {
+            treesByCity.remove(entry.city());
+        }
+    }
+}
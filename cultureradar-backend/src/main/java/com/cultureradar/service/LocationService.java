@@ -1,5 +1,148 @@
 package com.cultureradar.service;
 
+import com.cultureradar.model.Location;
+import com.cultureradar.repository.LocationRepository;
+import com.cultureradar.service.api.GoogleMapsService;
+import com.cultureradar.util.TextNormalizer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+
+/**
+ * Service that matches venues submitted with events against the stored
+ * locations. Venues are identified by their normalized name and city.
+ *
+ * <p>Resolving a batch takes two steps, so that no transaction waits on
+ * the geocoding API: {@link #prepare} looks up the stored venues and
+ * geocodes the new ones in parallel, then {@link #save}, inside the
+ * transaction storing the events, inserts the new venues.
+ */
+@Service
 public class LocationService {
-    
+
+    /**
+     * The venues of a batch, matched before the transaction that stores them.
+     *
+     * @param locations Stored and new locations by {@link #key(Location)}
+     * @param created New locations, not saved yet
+     */
+    public record Resolution(Map<String, Location> locations, List<Location> created) {
+    }
+
+    private final LocationRepository locationRepository;
+    private final GoogleMapsService googleMapsService;
+    private final int geocodeConcurrency;
+
+    @Autowired
+    public LocationService(
+            LocationRepository locationRepository,
+            GoogleMapsService googleMapsService,
+            @Value("${cultureradar.api.googlemaps.batch-concurrency:4}") int geocodeConcurrency) {
+        this.locationRepository = locationRepository;
+        this.googleMapsService = googleMapsService;
+        this.geocodeConcurrency = geocodeConcurrency;
+    }
+
+    /**
+     * Matches the venues of a batch against the stored locations with a
+     * single lookup query. Venues that are not stored yet and have no
+     * coordinates are geocoded, several at a time. Call outside any
+     * transaction.
+     *
+     * @param venues Unsaved venues, possibly repeated; entries without a
+     *               name or city are ignored
+     * @return The matched venues, to be passed to {@link #save}
+     */
+    public Resolution prepare(Collection<Location> venues) {
+        Set<String> cities = new HashSet<>();
+        for (Location venue : venues) {
+            if (venue != null && venue.getCity() != null) {
+                cities.add(venue.getCity().trim().toLowerCase(Locale.ROOT));
+            }
+        }
+
+        Map<String, Location> locations = new HashMap<>();
+        if (cities.isEmpty()) {
+            return new Resolution(locations, List.of());
+        }
+        for (Location location : locationRepository.findByLowerCityIn(cities)) {
+            locations.putIfAbsent(key(location), location);
+        }
+
+        Map<String, Location> missing = new LinkedHashMap<>();
+        for (Location venue : venues) {
+            if (venue == null || venue.getCity() == null || venue.getName() == null) {
+                continue;
+            }
+            String key = key(venue);
+            if (!locations.containsKey(key) && !missing.containsKey(key)) {
+                venue.setId(null);
+                missing.put(key, venue);
+            }
+        }
+        geocodeAll(missing.values().stream().filter(venue -> venue.getLatitude() == null).toList());
+        locations.putAll(missing);
+        return new Resolution(locations, new ArrayList<>(missing.values()));
+    }
+
+    /**
+     * Saves the new venues of a batch; must be called inside a transaction.
+     *
+     * @param resolution Venues matched by {@link #prepare}
+     * @return Stored locations by {@link #key(Location)}
+     */
+    public Map<String, Location> save(Resolution resolution) {
+        locationRepository.saveAll(resolution.created());
+        return resolution.locations();
+    }
+
+    /**
+     * @return The key identifying a venue: its normalized name and city
+     */
+    public static String key(Location location) {
+        return TextNormalizer.normalize(location.getName()) + '|' + TextNormalizer.normalize(location.getCity());
+    }
+
+    /**
+     * Places new venues; the API client bounds and times out each lookup.
+     */
+    private void geocodeAll(List<Location> venues) {
+        if (venues.size() <= 1) {
+            venues.forEach(this::geocode);
+            return;
+        }
+        try (ExecutorService executor = Executors.newFixedThreadPool(Math.min(geocodeConcurrency, venues.size()),
+                Thread.ofVirtual().name("venue-geocode-", 0).factory())) {
+            for (Location venue : venues) {
+                executor.execute(() -> geocode(venue));
+            }
+        }
+    }
+
+    /**
+     * Places a new venue that was submitted without coordinates.
+     */
+    private void geocode(Location location) {
+        String address = String.join(", ", Stream.of(location.getAddress(), location.getCity(), location.getProvince())
+            .filter(Objects::nonNull)
+            .toList());
+        googleMapsService.geocode(address).ifPresent(coordinates -> {
+            location.setLatitude(coordinates.latitude());
+            location.setLongitude(coordinates.longitude());
+        });
+    }
 }
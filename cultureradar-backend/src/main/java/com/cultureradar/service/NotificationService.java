@@ -1,5 +1,293 @@
 package com.cultureradar.service;
 
+import com.cultureradar.model.Notification;
+import com.cultureradar.model.NotificationStatus;
+import com.cultureradar.repository.NotificationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Service for outbound e-mail notifications.
+ * Producers enqueue notifications into the persisted queue and return
+ * immediately; a scheduled worker drains the queue in batches, sending each
+ * batch over a single SMTP connection while respecting a per-second send
+ * rate. Failed deliveries are retried with exponential backoff.
+ */
+@Service
 public class NotificationService {
-    
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationService.class);
+
+    private static final List<NotificationStatus> DELIVERABLE =
+        List.of(NotificationStatus.PENDING, NotificationStatus.SENDING);
+
+    private final NotificationRepository notificationRepository;
+    private final JavaMailSender mailSender;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Counter sentCounter;
+    private final Counter retriedCounter;
+    private final Counter failedCounter;
+    private final Timer batchTimer;
+    private final AtomicLong queueDepth = new AtomicLong();
+
+    @Value("${cultureradar.notifications.from:no-reply@cultureradar.ca}")
+    private String from = "no-reply@cultureradar.ca";
+
+    @Value("${cultureradar.notifications.batch-size:50}")
+    private int batchSize = 50;
+
+    @Value("${cultureradar.notifications.rate-per-second:20}")
+    private int ratePerSecond = 20;
+
+    @Value("${cultureradar.notifications.max-attempts:6}")
+    private int maxAttempts = 6;
+
+    @Value("${cultureradar.notifications.initial-backoff-seconds:30}")
+    private long initialBackoffSeconds = 30;
+
+    @Value("${cultureradar.notifications.max-backoff-seconds:3600}")
+    private long maxBackoffSeconds = 3600;
+
+    @Value("${cultureradar.notifications.lease-seconds:300}")
+    private long leaseSeconds = 300;
+
+    // Token bucket for the send rate, starting full; only touched by the worker thread
+    private double sendPermits = ratePerSecond;
+    private long lastRefillNanos = System.nanoTime();
+
+    @Autowired
+    public NotificationService(
+            NotificationRepository notificationRepository,
+            JavaMailSender mailSender,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry) {
+        this.notificationRepository = notificationRepository;
+        this.mailSender = mailSender;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+        this.sentCounter = Counter.builder("cultureradar.notifications.sent")
+            .description("Notifications delivered to the mail server")
+            .register(meterRegistry);
+        this.retriedCounter = Counter.builder("cultureradar.notifications.retried")
+            .description("Delivery attempts that failed and were rescheduled")
+            .register(meterRegistry);
+        this.failedCounter = Counter.builder("cultureradar.notifications.failed")
+            .description("Notifications abandoned after the maximum number of attempts")
+            .register(meterRegistry);
+        this.batchTimer = Timer.builder("cultureradar.notifications.batch")
+            .description("Time spent sending one batch over a single SMTP connection")
+            .register(meterRegistry);
+        Gauge.builder("cultureradar.notifications.queue.depth", queueDepth, AtomicLong::get)
+            .description("Notifications waiting to be delivered")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Adds a notification to the outbound queue.
+     * This only writes to the database and never contacts the mail server.
+     *
+     * @param recipient E-mail address of the recipient
+     * @param subject Message subject
+     * @param body Plain-text message body
+     * @return The queued notification
+     */
+    public Notification enqueue(String recipient, String subject, String body) {
+        return enqueueAll(List.of(new Notification(recipient, subject, body))).get(0);
+    }
+
+    /**
+     * Adds several notifications to the outbound queue in one round trip.
+     *
+     * @param notifications Notifications to queue
+     * @return The queued notifications
+     */
+    public List<Notification> enqueueAll(List<Notification> notifications) {
+        LocalDateTime now = LocalDateTime.now();
+        for (Notification notification : notifications) {
+            notification.setStatus(NotificationStatus.PENDING);
+            notification.setAttempts(0);
+            notification.setNextAttemptAt(now);
+        }
+        List<Notification> saved = notificationRepository.saveAll(notifications);
+        queueDepth.addAndGet(saved.size());
+        return saved;
+    }
+
+    /**
+     * Drains due notifications from the queue.
+     * Keeps claiming and sending batches until the queue is empty or the
+     * send-rate budget for the current second is spent.
+     */
+    @Scheduled(fixedDelayString = "${cultureradar.notifications.poll-interval-ms:1000}")
+    public void drainQueue() {
+        refillPermits();
+
+        while (true) {
+            int permits = (int) Math.min(batchSize, Math.floor(sendPermits));
+            if (permits <= 0) {
+                break;
+            }
+
+            List<Notification> batch = claimBatch(permits);
+            if (batch.isEmpty()) {
+                break;
+            }
+
+            sendPermits -= batch.size();
+            batchTimer.record(() -> sendBatch(batch));
+        }
+
+        queueDepth.set(notificationRepository.countByStatusIn(DELIVERABLE));
+    }
+
+    private void refillPermits() {
+        long now = System.nanoTime();
+        double elapsedSeconds = (now - lastRefillNanos) / 1_000_000_000.0;
+        lastRefillNanos = now;
+        sendPermits = Math.min(ratePerSecond, sendPermits + elapsedSeconds * ratePerSecond);
+    }
+
+    /**
+     * Locks up to {@code limit} due notifications and leases them to this
+     * worker. Rows left in SENDING by a crashed worker become due again once
+     * the lease expires.
+     */
+    private List<Notification> claimBatch(int limit) {
+        List<Notification> claimed = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<Notification> due = notificationRepository.findDueForUpdate(
+                DELIVERABLE, now, PageRequest.of(0, limit));
+            for (Notification notification : due) {
+                notification.setStatus(NotificationStatus.SENDING);
+                notification.setNextAttemptAt(now.plusSeconds(leaseSeconds));
+            }
+            return notificationRepository.saveAll(due);
+        });
+        return claimed == null ? List.of() : claimed;
+    }
+
+    private void sendBatch(List<Notification> batch) {
+        Map<MimeMessage, Notification> messages = new IdentityHashMap<>();
+        Set<Notification> failed = Collections.newSetFromMap(new IdentityHashMap<>());
+        String error = null;
+
+        for (Notification notification : batch) {
+            try {
+                messages.put(toMimeMessage(notification), notification);
+            } catch (MessagingException e) {
+                notification.setLastError(truncate(e.getMessage()));
+                failed.add(notification);
+            }
+        }
+
+        try {
+            // JavaMailSenderImpl sends the whole array over one connection
+            mailSender.send(messages.keySet().toArray(new MimeMessage[0]));
+        } catch (MailSendException e) {
+            error = e.getMessage();
+            if (e.getFailedMessages().isEmpty()) {
+                failed.addAll(messages.values());
+            } else {
+                for (Object message : e.getFailedMessages().keySet()) {
+                    Notification notification = messages.get(message);
+                    if (notification != null) {
+                        failed.add(notification);
+                    }
+                }
+            }
+        } catch (MailException e) {
+            error = e.getMessage();
+            failed.addAll(messages.values());
+        }
+
+        if (!failed.isEmpty()) {
+            log.warn("Failed to deliver {} of {} notifications: {}", failed.size(), batch.size(), error);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        for (Notification notification : batch) {
+            if (failed.contains(notification)) {
+                scheduleRetry(notification, error, now);
+            } else {
+                notification.setStatus(NotificationStatus.SENT);
+                notification.setSentAt(now);
+                notification.setLastError(null);
+                sentCounter.increment();
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> notificationRepository.saveAll(batch));
+    }
+
+    private void scheduleRetry(Notification notification, String error, LocalDateTime now) {
+        int attempts = notification.getAttempts() + 1;
+        notification.setAttempts(attempts);
+        if (notification.getLastError() == null) {
+            notification.setLastError(truncate(error));
+        }
+
+        if (attempts >= maxAttempts) {
+            notification.setStatus(NotificationStatus.FAILED);
+            failedCounter.increment();
+            return;
+        }
+
+        notification.setStatus(NotificationStatus.PENDING);
+        notification.setNextAttemptAt(now.plus(backoff(attempts)));
+        retriedCounter.increment();
+    }
+
+    /**
+     * Computes the delay before the next attempt: the initial backoff
+     * doubled for every failed attempt, capped at the maximum backoff.
+     */
+    Duration backoff(int attempts) {
+        long multiplier = 1L << Math.min(attempts - 1, 20);
+        return Duration.ofSeconds(Math.min(maxBackoffSeconds, initialBackoffSeconds * multiplier));
+    }
+
+    private MimeMessage toMimeMessage(Notification notification) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, StandardCharsets.UTF_8.name());
+        helper.setFrom(from);
+        helper.setTo(notification.getRecipient());
+        helper.setSubject(notification.getSubject());
+        helper.setText(notification.getBody());
+        return message;
+    }
+
+    private static String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() > 1000 ? message.substring(0, 1000) : message;
+    }
 }
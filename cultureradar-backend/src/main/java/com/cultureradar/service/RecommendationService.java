@@ -0,0 +1,417 @@
+package com.cultureradar.service;
+
+import com.cultureradar.cache.CompactEvent;
+import com.cultureradar.model.Event;
+import com.cultureradar.model.EventCategory;
+import com.cultureradar.model.User;
+import com.cultureradar.repository.EventRepository;
+import com.cultureradar.repository.UserRepository;
+import com.cultureradar.util.StringDictionary;
+import com.cultureradar.util.TextNormalizer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.ToIntFunction;
+
+/**
+ * Service for personalized event recommendations.
+ * A background job periodically scores the upcoming events for every active
+ * user and keeps only the top candidates in compact arrays. Requests then
+ * re-rank that small candidate list in memory (dropping past events and
+ * applying proximity), so no database work happens on the request path.
+ * The upcoming events are held as {@link CompactEvent}s and only the
+ * returned ones are turned back into entities.
+ *
+ * <p>The event views behind category affinity are counted in memory on
+ * each node: a user's affinity only reflects the views served by that
+ * node and starts over when it restarts.
+ */
+@Service
+public class RecommendationService {
+
+    private static final Logger log = LoggerFactory.getLogger(RecommendationService.class);
+
+    private static final int CATEGORY_COUNT = EventCategory.values().length;
+
+    /**
+     * Top-N candidates for one user, stored as parallel primitive arrays.
+     */
+    record Candidates(long[] eventIds, float[] scores) {
+    }
+
+    /**
+     * Interaction profile of one user: how often they opened events of
+     * each category, and when they were last active.
+     */
+    private static final class UserActivity {
+        final AtomicIntegerArray categoryViews = new AtomicIntegerArray(CATEGORY_COUNT);
+        volatile long lastActiveMillis = System.currentTimeMillis();
+    }
+
+    private record Scored(CompactEvent event, double score) {
+    }
+
+    /**
+     * City, province and category affinity used for scoring.
+     */
+    private record Profile(String city, String province, float[] categoryAffinity) {
+    }
+
+    private final EventRepository eventRepository;
+    private final UserRepository userRepository;
+    private final StringDictionary dictionary;
+
+    private final Map<String, UserActivity> activityByUser = new ConcurrentHashMap<>();
+    private final Map<String, Candidates> candidatesByUser = new ConcurrentHashMap<>();
+    private final Map<Long, CompactEvent> upcomingEvents = new ConcurrentHashMap<>();
+    private volatile Map<String, List<CompactEvent>> eventsByProvince = Map.of();
+    private volatile Map<String, List<CompactEvent>> eventsByCity = Map.of();
+    // Set once the upcoming events were loaded by a refresh or restored from a snapshot
+    private volatile boolean poolLoaded;
+
+    @Value("${cultureradar.recommendations.candidates-per-user:100}")
+    private int candidatesPerUser = 100;
+
+    @Value("${cultureradar.recommendations.horizon-days:30}")
+    private int horizonDays = 30;
+
+    @Value("${cultureradar.recommendations.active-days:30}")
+    private int activeDays = 30;
+
+    @Autowired
+    public RecommendationService(EventRepository eventRepository, UserRepository userRepository,
+                                 StringDictionary dictionary) {
+        this.eventRepository = eventRepository;
+        this.userRepository = userRepository;
+        this.dictionary = dictionary;
+    }
+
+    /**
+     * Records that a user opened an event, feeding their category affinity.
+     *
+     * @param username User who viewed the event
+     * @param event The viewed event
+     */
+    public void recordView(String username, Event event) {
+        UserActivity activity = activityByUser.computeIfAbsent(username, u -> new UserActivity());
+        if (event.getCategory() != null) {
+            activity.categoryViews.incrementAndGet(event.getCategory().ordinal());
+        }
+        activity.lastActiveMillis = System.currentTimeMillis();
+    }
+
+    /**
+     * Returns recommended events for a user.
+     *
+     * @param username Authenticated user
+     * @param latitude Optional current latitude used for proximity re-ranking
+     * @param longitude Optional current longitude used for proximity re-ranking
+     * @param limit Maximum number of events to return
+     * @return Recommended events, best first
+     */
+    public List<Event> getRecommendations(String username, Double latitude, Double longitude, int limit) {
+        activityByUser.computeIfAbsent(username, u -> new UserActivity()).lastActiveMillis = System.currentTimeMillis();
+
+        Candidates candidates = candidatesByUser.get(username);
+        if (candidates == null) {
+            // Cold start: score this user once now, the refresh job keeps it up to date afterwards
+            boolean loaded = poolLoaded;
+            candidates = userRepository.findByUsername(username)
+                .map(user -> computeCandidates(toProfile(user), LocalDateTime.now()))
+                .orElse(new Candidates(new long[0], new float[0]));
+            // Before the first refresh there is nothing to score against; try again next time
+            if (loaded) {
+                candidatesByUser.put(username, candidates);
+            }
+        }
+
+        boolean hasPosition = latitude != null && longitude != null;
+        long now = CompactEvent.epochSecond(LocalDateTime.now());
+        List<Scored> ranked = new ArrayList<>(candidates.eventIds().length);
+
+        for (int i = 0; i < candidates.eventIds().length; i++) {
+            CompactEvent event = upcomingEvents.get(candidates.eventIds()[i]);
+            if (event == null || event.getEffectiveEndEpochSecond() < now) {
+                continue;
+            }
+
+            double score = candidates.scores()[i];
+            if (hasPosition && event.hasCoordinates()) {
+                double km = distanceKm(latitude, longitude, event.getLatitude(), event.getLongitude());
+                score += 2.0 / (1.0 + km / 5.0);
+            }
+            ranked.add(new Scored(event, score));
+        }
+
+        ranked.sort(Comparator.comparingDouble(Scored::score).reversed());
+        return ranked.stream().limit(limit).map(scored -> scored.event().toEvent(dictionary)).toList();
+    }
+
+    /**
+     * Recomputes the candidate lists of all active users from the upcoming
+     * approved events.
+     */
+    @Scheduled(fixedDelayString = "${cultureradar.recommendations.refresh-interval-ms:600000}",
+               initialDelayString = "${cultureradar.recommendations.initial-delay-ms:30000}")
+    @Transactional(readOnly = true)
+    public void refreshCandidates() {
+        long startNanos = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+
+        List<Event> events = eventRepository.findByApprovedTrueAndStartTimeBetween(now, now.plusDays(horizonDays));
+        Map<Long, CompactEvent> snapshot = new HashMap<>();
+        for (Event event : events) {
+            if (event.getLocation() != null) {
+                snapshot.put(event.getId(), CompactEvent.of(event, dictionary));
+            }
+        }
+        replaceUpcomingEvents(snapshot);
+
+        long activeSince = System.currentTimeMillis() - Duration.ofDays(activeDays).toMillis();
+        activityByUser.entrySet().removeIf(entry -> entry.getValue().lastActiveMillis < activeSince);
+        candidatesByUser.keySet().retainAll(activityByUser.keySet());
+
+        for (User user : userRepository.findByUsernameIn(activityByUser.keySet())) {
+            candidatesByUser.put(user.getUsername(), computeCandidates(toProfile(user), now));
+        }
+
+        log.info("Refreshed recommendation candidates for {} users over {} events in {} ms",
+            candidatesByUser.size(), events.size(), (System.nanoTime() - startNanos) / 1_000_000);
+    }
+
+    /**
+     * Keeps the upcoming events and their city and province pools in line
+     * with committed changes between refreshes. Newly approved events are
+     * scored for users on their next refresh or cold start.
+     *
+     * @param change The event change notification
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventsChanged(EventChangedEvent change) {
+        if (!poolLoaded) {
+            // The first refresh or restore loads everything
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, CompactEvent> changed = new HashMap<>();
+        Set<Long> affected = new HashSet<>();
+        for (Event event : change.events()) {
+            affected.add(event.getId());
+            if (change.type() != EventChangedEvent.Type.DELETED && isUpcoming(event, now)) {
+                changed.put(event.getId(), CompactEvent.of(event, dictionary));
+            }
+        }
+        updateUpcomingEvents(changed, affected);
+    }
+
+    /**
+     * @return The upcoming events scored for recommendations, for {@link EventSnapshotService}
+     */
+    public Collection<CompactEvent> getUpcomingEvents() {
+        return upcomingEvents.values();
+    }
+
+    /**
+     * Restores the upcoming events saved by another node, so that
+     * recommendations work before the first refresh. Ignored once a
+     * refresh has run.
+     *
+     * @param events Upcoming events from a snapshot
+     */
+    public synchronized void restoreUpcomingEvents(Collection<CompactEvent> events) {
+        if (poolLoaded) {
+            return;
+        }
+        Map<Long, CompactEvent> snapshot = new HashMap<>();
+        for (CompactEvent event : events) {
+            snapshot.put(event.getId(), event);
+        }
+        replaceUpcomingEvents(snapshot);
+        log.info("Restored {} upcoming events for recommendations", snapshot.size());
+    }
+
+    private synchronized void replaceUpcomingEvents(Map<Long, CompactEvent> snapshot) {
+        Map<String, List<CompactEvent>> byProvince = new HashMap<>();
+        Map<String, List<CompactEvent>> byCity = new HashMap<>();
+        // Each distinct city and province is normalized once
+        Map<Integer, String> normalized = new HashMap<>();
+        for (CompactEvent event : snapshot.values()) {
+            String province = normalized.computeIfAbsent(event.getProvinceCode(), this::poolKey);
+            String city = normalized.computeIfAbsent(event.getCityCode(), this::poolKey);
+            byProvince.computeIfAbsent(province, p -> new ArrayList<>()).add(event);
+            byCity.computeIfAbsent(city, c -> new ArrayList<>()).add(event);
+        }
+        eventsByProvince = byProvince;
+        eventsByCity = byCity;
+        upcomingEvents.putAll(snapshot);
+        upcomingEvents.keySet().retainAll(snapshot.keySet());
+        poolLoaded = true;
+    }
+
+    /**
+     * Replaces or removes the given events. Pools are copied on write, as
+     * candidate computation reads them without locking.
+     *
+     * @param changed Events to add or replace
+     * @param affected IDs of every changed or removed event
+     */
+    private synchronized void updateUpcomingEvents(Map<Long, CompactEvent> changed, Set<Long> affected) {
+        List<CompactEvent> previous = new ArrayList<>();
+        for (Long id : affected) {
+            CompactEvent event = upcomingEvents.get(id);
+            if (event != null) {
+                previous.add(event);
+            }
+        }
+        eventsByProvince = withChanges(eventsByProvince, CompactEvent::getProvinceCode, previous, changed.values(), affected);
+        eventsByCity = withChanges(eventsByCity, CompactEvent::getCityCode, previous, changed.values(), affected);
+        upcomingEvents.putAll(changed);
+        for (Long id : affected) {
+            if (!changed.containsKey(id)) {
+                upcomingEvents.remove(id);
+            }
+        }
+    }
+
+    private Map<String, List<CompactEvent>> withChanges(Map<String, List<CompactEvent>> pools,
+                                                        ToIntFunction<CompactEvent> code,
+                                                        Collection<CompactEvent> previous,
+                                                        Collection<CompactEvent> changed, Set<Long> affected) {
+        Map<String, List<CompactEvent>> added = new HashMap<>();
+        for (CompactEvent event : changed) {
+            added.computeIfAbsent(poolKey(code.applyAsInt(event)), k -> new ArrayList<>()).add(event);
+        }
+        Set<String> keys = new HashSet<>(added.keySet());
+        for (CompactEvent event : previous) {
+            keys.add(poolKey(code.applyAsInt(event)));
+        }
+
+        Map<String, List<CompactEvent>> updated = new HashMap<>(pools);
+        for (String key : keys) {
+            List<CompactEvent> events = new ArrayList<>();
+            for (CompactEvent event : pools.getOrDefault(key, List.of())) {
+                if (!affected.contains(event.getId())) {
+                    events.add(event);
+                }
+            }
+            events.addAll(added.getOrDefault(key, List.of()));
+            if (events.isEmpty()) {
+                updated.remove(key);
+            } else {
+                updated.put(key, events);
+            }
+        }
+        return updated;
+    }
+
+    private String poolKey(int code) {
+        return TextNormalizer.normalize(dictionary.decode(code));
+    }
+
+    private boolean isUpcoming(Event event, LocalDateTime now) {
+        // Same selection as the refresh query
+        return Boolean.TRUE.equals(event.getApproved()) && event.getLocation() != null
+            && event.getStartTime() != null && !event.getStartTime().isBefore(now)
+            && !event.getStartTime().isAfter(now.plusDays(horizonDays));
+    }
+
+    private Candidates computeCandidates(Profile profile, LocalDateTime now) {
+        // Min-heap of (score, event) keeps only the best N while scanning
+        PriorityQueue<Map.Entry<Float, CompactEvent>> top = new PriorityQueue<>(Map.Entry.comparingByKey());
+
+        // Score the user's province, or just their city when no province is on file
+        List<CompactEvent> pool = profile.province().isEmpty()
+            ? eventsByCity.getOrDefault(profile.city(), List.of())
+            : eventsByProvince.getOrDefault(profile.province(), List.of());
+
+        // The pool spans few cities, so each city code is normalized and compared once
+        Map<Integer, Boolean> sameCity = new HashMap<>();
+        long nowSeconds = CompactEvent.epochSecond(now);
+        for (CompactEvent event : pool) {
+            boolean inCity = !profile.city().isEmpty() && sameCity.computeIfAbsent(event.getCityCode(),
+                code -> profile.city().equals(TextNormalizer.normalize(dictionary.decode(code))));
+            float score = score(profile, event, inCity, nowSeconds);
+            if (top.size() < candidatesPerUser) {
+                top.add(Map.entry(score, event));
+            } else if (score > top.peek().getKey()) {
+                top.poll();
+                top.add(Map.entry(score, event));
+            }
+        }
+
+        int size = top.size();
+        long[] ids = new long[size];
+        float[] scores = new float[size];
+        for (int i = size - 1; i >= 0; i--) {
+            Map.Entry<Float, CompactEvent> entry = top.poll();
+            ids[i] = entry.getValue().getId();
+            scores[i] = entry.getKey();
+        }
+        return new Candidates(ids, scores);
+    }
+
+    private float score(Profile profile, CompactEvent event, boolean inCity, long nowSeconds) {
+        float score = 0f;
+
+        if (inCity) {
+            score += 3f;
+        }
+        if (event.getCategory() != null) {
+            score += 4f * profile.categoryAffinity()[event.getCategory().ordinal()];
+        }
+        if (event.isFreeEvent()) {
+            score += 0.5f;
+        }
+
+        long hoursUntil = Math.max(0, (event.getStartEpochSecond() - nowSeconds) / 3600);
+        score += 1f / (1f + hoursUntil / 168f);
+        return score;
+    }
+
+    private Profile toProfile(User user) {
+        float[] affinity = new float[CATEGORY_COUNT];
+        UserActivity activity = activityByUser.get(user.getUsername());
+        if (activity != null) {
+            int total = 0;
+            for (int i = 0; i < CATEGORY_COUNT; i++) {
+                total += activity.categoryViews.get(i);
+            }
+            for (int i = 0; total > 0 && i < CATEGORY_COUNT; i++) {
+                affinity[i] = (float) activity.categoryViews.get(i) / total;
+            }
+        }
+        return new Profile(TextNormalizer.normalize(user.getCity()),
+            TextNormalizer.normalize(user.getProvince()), affinity);
+    }
+
+    /**
+     * Great-circle distance between two coordinates using the haversine formula.
+     */
+    static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+            + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+            * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 6371.0 * 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+    }
+}
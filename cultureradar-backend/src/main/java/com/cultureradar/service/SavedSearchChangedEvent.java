@@ -0,0 +1,45 @@
+package com.cultureradar.service;
+
+import com.cultureradar.model.EventCategory;
+import com.cultureradar.model.SavedSearch;
+
+/**
+ * Application event published by {@link EventAlertService} whenever a saved
+ * search is created or deleted, so that every node's
+ * {@link AlertSubscriptionIndex} can apply the change once it commits.
+ * Changes made on other nodes are re-published by
+ * {@link EventInvalidationBus} with {@code remote} set.
+ *
+ * @param type What happened to the saved search
+ * @param searchId Saved search ID
+ * @param userId Owner of the saved search
+ * @param city City the search is restricted to; null for deletions
+ * @param category Category filter, or null for any category
+ * @param freeOnly Whether only free events should match
+ * @param remote Whether the change was made on another node
+ */
+public record SavedSearchChangedEvent(Type type, Long searchId, Long userId, String city,
+                                      EventCategory category, boolean freeOnly, boolean remote) {
+
+    public enum Type {
+        SAVED,
+        DELETED
+    }
+
+    public static SavedSearchChangedEvent saved(SavedSearch search) {
+        return new SavedSearchChangedEvent(Type.SAVED, search.getId(), search.getUser().getId(), search.getCity(),
+            search.getCategory(), Boolean.TRUE.equals(search.getFreeOnly()), false);
+    }
+
+    public static SavedSearchChangedEvent deleted(SavedSearch search) {
+        return new SavedSearchChangedEvent(Type.DELETED, search.getId(), search.getUser().getId(), null,
+            null, false, false);
+    }
+
+    /**
+     * @return The same change, as received from another node
+     */
+    public SavedSearchChangedEvent asRemote() {
+        return new SavedSearchChangedEvent(type, searchId, userId, city, category, freeOnly, true);
+    }
+}
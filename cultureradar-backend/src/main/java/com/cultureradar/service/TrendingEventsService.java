@@ -0,0 +1,260 @@
+package com.cultureradar.service;
+
+import com.cultureradar.model.Event;
+import com.cultureradar.util.CountMinSketch;
+import com.cultureradar.util.SpaceSaving;
+import com.cultureradar.util.TextNormalizer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Finds the events viewed most in the last hour or day, per city, in fixed
+ * memory. Views are counted in rotating time buckets; every bucket holds a
+ * {@link CountMinSketch} for approximate per-event counts and a
+ * {@link SpaceSaving} summary of its heaviest events. A query takes the
+ * heavy hitters of the buckets in its window as candidates and ranks them
+ * by their summed sketch estimates. Buckets are reset when they rotate
+ * out of the window, so old views simply expire.
+ *
+ * <p>Recording a view takes no lock: it increments a striped
+ * {@link LongAdder} per event, and the pending counts are moved into the
+ * buckets by a periodic drain and before every query. Only the drain and
+ * queries take a city's lock.
+ *
+ * <p>Counts are per node; behind a load balancer each node sees a similar
+ * sample of the traffic, which is enough to rank.
+ */
+@Service
+public class TrendingEventsService {
+
+    private static final String ALL_CITIES = "";
+    private static final int SKETCH_WIDTH = 256;
+    private static final int SKETCH_DEPTH = 4;
+    private static final long SKETCH_SEED = 0x7472656e64L;
+
+    /**
+     * Time window of a trending query and the buckets that cover it.
+     */
+    public enum Window {
+        HOUR(Duration.ofMinutes(15), 4),
+        DAY(Duration.ofHours(1), 24);
+
+        final long bucketMillis;
+        final int buckets;
+
+        Window(Duration bucket, int buckets) {
+            this.bucketMillis = bucket.toMillis();
+            this.buckets = buckets;
+        }
+    }
+
+    /**
+     * A trending event.
+     *
+     * @param event The event
+     * @param views Estimated views in the window (an upper bound)
+     */
+    public record TrendingEvent(Event event, long views) {
+    }
+
+    private record Trend(long eventId, long views) {
+    }
+
+    private final EventService eventService;
+    private final int maxCities;
+    private final int heavyHitters;
+    private final int maxPendingEvents;
+    private final ConcurrentMap<String, CityTracker> trackers = new ConcurrentHashMap<>();
+
+    @Autowired
+    public TrendingEventsService(
+            EventService eventService,
+            MeterRegistry meterRegistry,
+            @Value("${cultureradar.trending.max-cities:100}") int maxCities,
+            @Value("${cultureradar.trending.heavy-hitters:64}") int heavyHitters,
+            @Value("${cultureradar.trending.max-pending-events:10000}") int maxPendingEvents) {
+        this.eventService = eventService;
+        this.maxCities = maxCities;
+        this.heavyHitters = heavyHitters;
+        this.maxPendingEvents = maxPendingEvents;
+        Gauge.builder("cultureradar.trending.cities", trackers, Map::size)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Counts a view of an event for its city and for all cities.
+     *
+     * @param event The viewed event
+     */
+    public void recordView(Event event) {
+        tracker(ALL_CITIES).record(event.getId());
+        if (event.getLocation() != null) {
+            CityTracker city = tracker(TextNormalizer.normalize(event.getLocation().getCity()));
+            if (city != null) {
+                city.record(event.getId());
+            }
+        }
+    }
+
+    /**
+     * Moves the views recorded since the last drain into the buckets.
+     */
+    @Scheduled(fixedDelayString = "${cultureradar.trending.drain-interval-ms:1000}")
+    public void drain() {
+        long now = System.currentTimeMillis();
+        for (CityTracker tracker : trackers.values()) {
+            tracker.drain(now);
+        }
+    }
+
+    /**
+     * Finds the most viewed events of the window.
+     *
+     * @param city City (case- and accent-insensitive), or null for all cities
+     * @param window Time window
+     * @param limit Maximum number of events
+     * @return Trending events, most viewed first
+     */
+    public List<TrendingEvent> getTrending(String city, Window window, int limit) {
+        CityTracker tracker = trackers.get(city == null || city.isBlank() ? ALL_CITIES : TextNormalizer.normalize(city));
+        if (tracker == null) {
+            return List.of();
+        }
+
+        List<TrendingEvent> trending = new ArrayList<>(limit);
+        for (Trend trend : tracker.top(window, System.currentTimeMillis())) {
+            if (trending.size() == limit) {
+                break;
+            }
+            // Served from the event cache; deleted events drop out
+            Optional<Event> event = eventService.findById(trend.eventId());
+            event.ifPresent(e -> trending.add(new TrendingEvent(e, trend.views())));
+        }
+        return trending;
+    }
+
+    private CityTracker tracker(String city) {
+        CityTracker tracker = trackers.get(city);
+        if (tracker == null && (trackers.size() < maxCities || city.equals(ALL_CITIES))) {
+            tracker = trackers.computeIfAbsent(city, c -> new CityTracker());
+        }
+        return tracker;
+    }
+
+    private final class Bucket {
+        long epoch = -1;
+        final CountMinSketch sketch = new CountMinSketch(SKETCH_WIDTH, SKETCH_DEPTH, SKETCH_SEED);
+        final SpaceSaving top = new SpaceSaving(heavyHitters);
+    }
+
+    /**
+     * Bucket rings of one city. Memory is fixed: one sketch and one
+     * summary per bucket, whatever the traffic.
+     */
+    private final class CityTracker {
+        final Map<Window, Bucket[]> rings = new EnumMap<>(Window.class);
+        final ConcurrentMap<Long, LongAdder> pending = new ConcurrentHashMap<>();
+
+        CityTracker() {
+            for (Window window : Window.values()) {
+                Bucket[] ring = new Bucket[window.buckets];
+                for (int i = 0; i < ring.length; i++) {
+                    ring[i] = new Bucket();
+                }
+                rings.put(window, ring);
+            }
+        }
+
+        void record(long eventId) {
+            LongAdder adder = pending.get(eventId);
+            if (adder == null) {
+                if (pending.size() >= maxPendingEvents) {
+                    // Too many distinct events between drains to matter for the ranking
+                    return;
+                }
+                adder = pending.computeIfAbsent(eventId, id -> new LongAdder());
+            }
+            adder.increment();
+            if (pending.get(eventId) != adder) {
+                // Removed by a drain meanwhile, which may have read it before this increment
+                long carried = adder.sumThenReset();
+                if (carried > 0) {
+                    pending.computeIfAbsent(eventId, id -> new LongAdder()).add(carried);
+                }
+            }
+        }
+
+        /**
+         * Adds the pending views to the buckets of the current time.
+         */
+        synchronized void drain(long now) {
+            for (Window window : Window.values()) {
+                long epoch = now / window.bucketMillis;
+                Bucket bucket = rings.get(window)[(int) (epoch % window.buckets)];
+                if (bucket.epoch != epoch) {
+                    bucket.sketch.reset();
+                    bucket.top.reset();
+                    bucket.epoch = epoch;
+                }
+            }
+            for (Map.Entry<Long, LongAdder> entry : pending.entrySet()) {
+                pending.remove(entry.getKey(), entry.getValue());
+                long views = entry.getValue().sumThenReset();
+                if (views == 0) {
+                    continue;
+                }
+                int count = (int) Math.min(Integer.MAX_VALUE, views);
+                for (Window window : Window.values()) {
+                    Bucket bucket = rings.get(window)[(int) (now / window.bucketMillis % window.buckets)];
+                    bucket.sketch.add(entry.getKey(), count);
+                    bucket.top.add(entry.getKey(), count);
+                }
+            }
+        }
+
+        synchronized List<Trend> top(Window window, long now) {
+            drain(now);
+            long current = now / window.bucketMillis;
+            List<Bucket> live = new ArrayList<>(window.buckets);
+            for (Bucket bucket : rings.get(window)) {
+                if (bucket.epoch > current - window.buckets && bucket.epoch <= current) {
+                    live.add(bucket);
+                }
+            }
+
+            Set<Long> candidates = new HashSet<>();
+            for (Bucket bucket : live) {
+                for (SpaceSaving.Entry entry : bucket.top.entries()) {
+                    candidates.add(entry.key());
+                }
+            }
+
+            List<Trend> trends = new ArrayList<>(candidates.size());
+            for (long eventId : candidates) {
+                long views = 0;
+                for (Bucket bucket : live) {
+                    views += bucket.sketch.estimate(eventId);
+                }
+                trends.add(new Trend(eventId, views));
+            }
+            trends.sort((a, b) -> Long.compare(b.views(), a.views()));
+            return trends;
+        }
+    }
+}
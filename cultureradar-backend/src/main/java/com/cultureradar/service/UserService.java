@@ -1,5 +1,303 @@
 package com.cultureradar.service;
 
+import com.cultureradar.dto.RegisterRequest;
+import com.cultureradar.dto.UserDTO;
+import com.cultureradar.model.User;
+import com.cultureradar.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Service for user account management.
+ * Provides registration, profile updates, paged lookups and bulk exports
+ * for the admin endpoints.
+ */
+@Service
 public class UserService {
-    
+
+    /**
+     * Output formats supported by {@link #exportUsers(ExportFormat, OutputStream)}.
+     */
+    public enum ExportFormat {
+        NDJSON,
+        CSV
+    }
+
+    private static final String CSV_HEADER =
+        "id,username,email,firstName,lastName,city,province,roles,enabled,createdAt,lastLoginAt";
+
+    private static final String DEFAULT_ROLE = "ROLE_USER";
+
+    private final UserRepository userRepository;
+    private final ObjectMapper objectMapper;
+    private final PasswordEncoder passwordEncoder;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    public UserService(UserRepository userRepository, ObjectMapper objectMapper, PasswordEncoder passwordEncoder) {
+        this.userRepository = userRepository;
+        this.objectMapper = objectMapper;
+        this.passwordEncoder = passwordEncoder;
+    }
+
+    /**
+     * Retrieves a user by username.
+     *
+     * @param username Username
+     * @return The user, or null if there is none
+     */
+    @Transactional(readOnly = true)
+    public UserDTO getUserByUsername(String username) {
+        return userRepository.findByUsername(username).map(this::toDTO).orElse(null);
+    }
+
+    /**
+     * Retrieves a user by ID.
+     *
+     * @param id User ID
+     * @return The user, if found
+     */
+    @Transactional(readOnly = true)
+    public Optional<UserDTO> getUserById(Long id) {
+        return userRepository.findById(id).map(this::toDTO);
+    }
+
+    public boolean existsById(Long id) {
+        return userRepository.existsById(id);
+    }
+
+    public boolean existsByUsername(String username) {
+        return userRepository.existsByUsername(username);
+    }
+
+    public boolean existsByEmail(String email) {
+        return userRepository.existsByEmail(email);
+    }
+
+    /**
+     * Registers a new user with the default role.
+     *
+     * @param request Registration data
+     * @return The created user
+     */
+    @Transactional
+    public UserDTO createUser(RegisterRequest request) {
+        User user = new User();
+        user.setUsername(request.getUsername());
+        user.setEmail(request.getEmail());
+        user.setPassword(passwordEncoder.encode(request.getPassword()));
+        user.setFirstName(request.getFirstName());
+        user.setLastName(request.getLastName());
+        user.setCity(request.getCity());
+        user.setProvince(request.getProvince());
+        user.setRoles(new HashSet<>(Set.of(DEFAULT_ROLE)));
+        user.setEnabled(true);
+        return toDTO(userRepository.save(user));
+    }
+
+    /**
+     * Updates the profile fields a user may change themselves.
+     * Roles and the enabled flag are left as they are.
+     *
+     * @param username Username of the user to update
+     * @param userDTO Updated profile data
+     * @return The updated user, or null if there is no such user
+     */
+    @Transactional
+    public UserDTO updateProfile(String username, UserDTO userDTO) {
+        return userRepository.findByUsername(username)
+            .map(user -> {
+                copyProfile(userDTO, user);
+                return toDTO(userRepository.save(user));
+            })
+            .orElse(null);
+    }
+
+    /**
+     * Updates a user on behalf of an administrator. Besides the profile,
+     * roles and the enabled flag are changed when given.
+     *
+     * @param id User ID
+     * @param userDTO Updated user data
+     * @return The updated user, if found
+     */
+    @Transactional
+    public Optional<UserDTO> updateUser(Long id, UserDTO userDTO) {
+        return userRepository.findById(id)
+            .map(user -> {
+                copyProfile(userDTO, user);
+                if (userDTO.getRoles() != null) {
+                    user.setRoles(new HashSet<>(userDTO.getRoles()));
+                }
+                if (userDTO.getEnabled() != null) {
+                    user.setEnabled(userDTO.getEnabled());
+                }
+                return toDTO(userRepository.save(user));
+            });
+    }
+
+    /**
+     * Changes a user's password after checking the current one.
+     *
+     * @param username Username
+     * @param currentPassword Current password in clear
+     * @param newPassword New password in clear
+     * @return false if there is no such user, the current password is wrong or the new one is blank
+     */
+    @Transactional
+    public boolean changePassword(String username, String currentPassword, String newPassword) {
+        if (currentPassword == null || newPassword == null || newPassword.isBlank()) {
+            return false;
+        }
+        Optional<User> user = userRepository.findByUsername(username);
+        if (user.isEmpty() || !passwordEncoder.matches(currentPassword, user.get().getPassword())) {
+            return false;
+        }
+        user.get().setPassword(passwordEncoder.encode(newPassword));
+        userRepository.save(user.get());
+        return true;
+    }
+
+    @Transactional
+    public void deleteUser(Long id) {
+        userRepository.deleteById(id);
+    }
+
+    /**
+     * Retrieves one page of users.
+     *
+     * @param pageable Page request (number, size and sort)
+     * @return Page of users
+     */
+    @Transactional(readOnly = true)
+    public Page<UserDTO> getUsers(Pageable pageable) {
+        return userRepository.findAll(pageable).map(this::toDTO);
+    }
+
+    /**
+     * Writes every user to the given stream in the requested format.
+     * Users are read through a forward-only cursor and detached as soon as
+     * they are written, so memory use does not grow with the number of users.
+     *
+     * @param format Output format
+     * @param out Destination stream, typically the HTTP response body
+     * @return Number of users written
+     * @throws IOException if writing to the stream fails
+     */
+    @Transactional(readOnly = true)
+    public long exportUsers(ExportFormat format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        long count = 0;
+
+        try (Stream<User> users = userRepository.streamAllOrderedById()) {
+            Iterator<User> iterator = users.iterator();
+
+            if (format == ExportFormat.CSV) {
+                writer.write(CSV_HEADER);
+                writer.write('\n');
+                while (iterator.hasNext()) {
+                    User user = iterator.next();
+                    writeCsvRow(writer, toDTO(user));
+                    entityManager.detach(user);
+                    count++;
+                }
+            } else {
+                SequenceWriter sequenceWriter = objectMapper.writerFor(UserDTO.class)
+                    .withRootValueSeparator("\n")
+                    .writeValues(writer);
+                while (iterator.hasNext()) {
+                    User user = iterator.next();
+                    sequenceWriter.write(toDTO(user));
+                    entityManager.detach(user);
+                    count++;
+                }
+                sequenceWriter.flush();
+                if (count > 0) {
+                    writer.write('\n');
+                }
+            }
+        }
+
+        writer.flush();
+        return count;
+    }
+
+    private void writeCsvRow(Writer writer, UserDTO user) throws IOException {
+        writer.write(String.valueOf(user.getId()));
+        writeCsvField(writer, user.getUsername());
+        writeCsvField(writer, user.getEmail());
+        writeCsvField(writer, user.getFirstName());
+        writeCsvField(writer, user.getLastName());
+        writeCsvField(writer, user.getCity());
+        writeCsvField(writer, user.getProvince());
+        writeCsvField(writer, user.getRoles() == null ? null : String.join(";", user.getRoles()));
+        writeCsvField(writer, String.valueOf(user.getEnabled()));
+        writeCsvField(writer, user.getCreatedAt() == null ? null : user.getCreatedAt().toString());
+        writeCsvField(writer, user.getLastLoginAt() == null ? null : user.getLastLoginAt().toString());
+        writer.write('\n');
+    }
+
+    private void writeCsvField(Writer writer, String value) throws IOException {
+        writer.write(',');
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+
+        boolean needsQuotes = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+            || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!needsQuotes) {
+            writer.write(value);
+            return;
+        }
+
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private void copyProfile(UserDTO from, User to) {
+        to.setEmail(from.getEmail());
+        to.setFirstName(from.getFirstName());
+        to.setLastName(from.getLastName());
+        to.setCity(from.getCity());
+        to.setProvince(from.getProvince());
+    }
+
+    private UserDTO toDTO(User user) {
+        UserDTO dto = new UserDTO();
+        dto.setId(user.getId());
+        dto.setUsername(user.getUsername());
+        dto.setEmail(user.getEmail());
+        dto.setFirstName(user.getFirstName());
+        dto.setLastName(user.getLastName());
+        dto.setRoles(user.getRoles() == null ? null : new HashSet<>(user.getRoles()));
+        dto.setCity(user.getCity());
+        dto.setProvince(user.getProvince());
+        dto.setCreatedAt(user.getCreatedAt());
+        dto.setLastLoginAt(user.getLastLoginAt());
+        dto.setEnabled(user.getEnabled());
+        return dto;
+    }
 }
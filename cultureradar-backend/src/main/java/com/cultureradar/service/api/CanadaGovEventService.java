@@ -1,5 +1,135 @@
 package com.cultureradar.service.api;
 
-public class CanadaGovEventService {
-    
+import com.cultureradar.model.Event;
+import com.cultureradar.model.EventCategory;
+import com.cultureradar.model.Location;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+/**
+ * Client for the Government of Canada open data cultural events feed.
+ * The feed is paged by page number and reports whether more pages exist.
+ */
+@Service
+public class CanadaGovEventService implements ExternalEventSource {
+
+    private static final Logger log = LoggerFactory.getLogger(CanadaGovEventService.class);
+
+    public static final String SOURCE_NAME = "CANADA_GOV";
+
+    private final RestTemplate restTemplate;
+
+    @Value("${cultureradar.api.canadagov.base-url:}")
+    private String baseUrl;
+
+    @Value("${cultureradar.api.canadagov.page-size:100}")
+    private int pageSize;
+
+    @Value("${cultureradar.api.canadagov.max-pages:50}")
+    private int maxPages;
+
+    @Autowired
+    public CanadaGovEventService(RestTemplate restTemplate) {
+        this.restTemplate = restTemplate;
+    }
+
+    @Override
+    public String getSourceName() {
+        return SOURCE_NAME;
+    }
+
+    @Override
+    public void fetchEvents(Consumer<List<Event>> batchConsumer) {
+        if (baseUrl == null || baseUrl.isBlank()) {
+            log.debug("Canada Gov events feed is not configured, skipping fetch");
+            return;
+        }
+
+        for (int page = 0; page < maxPages; page++) {
+            String uri = UriComponentsBuilder.fromUriString(baseUrl)
+                .pathSegment("events")
+                .queryParam("page", page)
+                .queryParam("size", pageSize)
+                .toUriString();
+
+            JsonNode body;
+            try {
+                body = restTemplate.getForObject(uri, JsonNode.class);
+            } catch (RestClientException e) {
+                log.warn("Canada Gov events fetch failed on page {}: {}", page, e.getMessage());
+                return;
+            }
+            if (body == null) {
+                return;
+            }
+
+            List<Event> events = new ArrayList<>();
+            for (JsonNode node : body.path("events")) {
+                events.add(toEvent(node));
+            }
+            if (!events.isEmpty()) {
+                batchConsumer.accept(events);
+            }
+            if (!body.path("hasMore").asBoolean(false)) {
+                return;
+            }
+        }
+    }
+
+    private Event toEvent(JsonNode node) {
+        Event event = new Event();
+        event.setExternalId(node.path("id").asText(null));
+        event.setName(node.path("title").asText(null));
+        event.setDescription(node.path("description").asText(null));
+        event.setStartTime(parse(node.path("startDate").asText(null)));
+        event.setEndTime(parse(node.path("endDate").asText(null)));
+        event.setImageUrl(node.path("imageUrl").asText(null));
+        if (node.hasNonNull("price")) {
+            event.setPrice(node.path("price").asDouble());
+        }
+        event.setIsFree(node.path("free").asBoolean(false));
+        event.setCategory(mapCategory(node.path("category").asText("")));
+
+        Location location = new Location();
+        location.setName(node.path("venue").asText(null));
+        location.setAddress(node.path("address").asText(null));
+        location.setCity(node.path("city").asText(null));
+        location.setProvince(node.path("province").asText(null));
+        location.setPostalCode(node.path("postalCode").asText(null));
+        if (node.hasNonNull("latitude") && node.hasNonNull("longitude")) {
+            location.setLatitude(node.path("latitude").asDouble());
+            location.setLongitude(node.path("longitude").asDouble());
+        }
+        event.setLocation(location);
+        return event;
+    }
+
+    private static LocalDateTime parse(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        // The feed uses plain dates for all-day events
+        return value.length() == 10 ? LocalDateTime.parse(value + "T00:00:00") : LocalDateTime.parse(value);
+    }
+
+    private static EventCategory mapCategory(String category) {
+        try {
+            return EventCategory.valueOf(category.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return EventCategory.OTHER;
+        }
+    }
 }
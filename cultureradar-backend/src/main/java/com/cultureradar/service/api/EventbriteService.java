@@ -1,5 +1,154 @@
 package com.cultureradar.service.api;
 
-public class EventbriteService {
-    
+import com.cultureradar.model.Event;
+import com.cultureradar.model.EventCategory;
+import com.cultureradar.model.Location;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Client for the Eventbrite API.
+ * Fetches the live events of the configured organizations, one page at a time.
+ */
+@Service
+public class EventbriteService implements ExternalEventSource {
+
+    private static final Logger log = LoggerFactory.getLogger(EventbriteService.class);
+
+    public static final String SOURCE_NAME = "EVENTBRITE";
+
+    private final RestTemplate restTemplate;
+
+    @Value("${cultureradar.api.eventbrite.base-url:https://www.eventbriteapi.com/v3}")
+    private String baseUrl;
+
+    @Value("${cultureradar.api.eventbrite.token:}")
+    private String token;
+
+    @Value("${cultureradar.api.eventbrite.organization-ids:}")
+    private List<String> organizationIds;
+
+    @Value("${cultureradar.api.eventbrite.max-pages:20}")
+    private int maxPages;
+
+    @Autowired
+    public EventbriteService(RestTemplate restTemplate) {
+        this.restTemplate = restTemplate;
+    }
+
+    @Override
+    public String getSourceName() {
+        return SOURCE_NAME;
+    }
+
+    @Override
+    public void fetchEvents(Consumer<List<Event>> batchConsumer) {
+        if (token == null || token.isBlank() || organizationIds.isEmpty()) {
+            log.debug("Eventbrite is not configured, skipping fetch");
+            return;
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(token);
+        HttpEntity<Void> request = new HttpEntity<>(headers);
+
+        for (String organizationId : organizationIds) {
+            String continuation = null;
+            for (int page = 0; page < maxPages; page++) {
+                UriComponentsBuilder uri = UriComponentsBuilder.fromUriString(baseUrl)
+                    .pathSegment("organizations", organizationId.trim(), "events", "")
+                    .queryParam("status", "live")
+                    .queryParam("expand", "venue");
+                if (continuation != null) {
+                    uri.queryParam("continuation", continuation);
+                }
+
+                JsonNode body;
+                try {
+                    body = restTemplate.exchange(uri.toUriString(), HttpMethod.GET, request, JsonNode.class).getBody();
+                } catch (RestClientException e) {
+                    log.warn("Eventbrite fetch failed for organization {}: {}", organizationId, e.getMessage());
+                    break;
+                }
+                if (body == null) {
+                    break;
+                }
+
+                List<Event> events = new ArrayList<>();
+                for (JsonNode node : body.path("events")) {
+                    events.add(toEvent(node));
+                }
+                if (!events.isEmpty()) {
+                    batchConsumer.accept(events);
+                }
+
+                JsonNode pagination = body.path("pagination");
+                if (!pagination.path("has_more_items").asBoolean(false)) {
+                    break;
+                }
+                continuation = pagination.path("continuation").asText(null);
+            }
+        }
+    }
+
+    private Event toEvent(JsonNode node) {
+        Event event = new Event();
+        event.setExternalId(node.path("id").asText(null));
+        event.setName(node.path("name").path("text").asText(null));
+        event.setDescription(node.path("description").path("text").asText(null));
+        event.setStartTime(parseLocal(node.path("start").path("local").asText(null)));
+        event.setEndTime(parseLocal(node.path("end").path("local").asText(null)));
+        event.setImageUrl(node.path("logo").path("url").asText(null));
+        event.setIsFree(node.path("is_free").asBoolean(false));
+        event.setCategory(mapCategory(node.path("category_id").asText("")));
+
+        JsonNode venue = node.path("venue");
+        if (!venue.isMissingNode() && !venue.isNull()) {
+            JsonNode address = venue.path("address");
+            Location location = new Location();
+            location.setName(venue.path("name").asText(null));
+            location.setAddress(address.path("address_1").asText(null));
+            location.setCity(address.path("city").asText(null));
+            location.setProvince(address.path("region").asText(null));
+            location.setPostalCode(address.path("postal_code").asText(null));
+            if (address.hasNonNull("latitude") && address.hasNonNull("longitude")) {
+                location.setLatitude(address.path("latitude").asDouble());
+                location.setLongitude(address.path("longitude").asDouble());
+            }
+            event.setLocation(location);
+        }
+        return event;
+    }
+
+    private static LocalDateTime parseLocal(String value) {
+        return value == null || value.isBlank() ? null : LocalDateTime.parse(value);
+    }
+
+    /**
+     * Maps Eventbrite's top-level category IDs to our categories.
+     */
+    private static EventCategory mapCategory(String categoryId) {
+        return switch (categoryId) {
+            case "103" -> EventCategory.MUSIC;
+            case "104" -> EventCategory.FILM;
+            case "105" -> EventCategory.THEATRE;
+            case "113" -> EventCategory.COMMUNITY;
+            default -> EventCategory.OTHER;
+        };
+    }
 }
@@ -0,0 +1,27 @@
+package com.cultureradar.service.api;
+
+import com.cultureradar.model.Event;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * An external provider of cultural events, such as Eventbrite or the
+ * Government of Canada open data feed.
+ */
+public interface ExternalEventSource {
+
+    /**
+     * @return Value stored in {@link Event#getExternalSource()} for events from this source
+     */
+    String getSourceName();
+
+    /**
+     * Fetches the upcoming events of this source page by page.
+     * Each page is handed to the consumer as soon as it is parsed, so
+     * callers can process large feeds without holding them in memory.
+     *
+     * @param batchConsumer Receives each page of unsaved events
+     */
+    void fetchEvents(Consumer<List<Event>> batchConsumer);
+}
@@ -1,5 +1,288 @@
 package com.cultureradar.service.api;
 
+import com.cultureradar.service.api.resilience.LatencyWindow;
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Client for the Google Maps Geocoding API.
+ * Used to place venues that external sources publish without coordinates.
+ *
+ * <p>Lookups are idempotent, so a lookup still unanswered after the
+ * recent 95th percentile latency is hedged: a second identical request is
+ * sent and the first answer wins. Hedges are limited to a small share of
+ * the lookups so that a slow API does not receive twice the load. Once a
+ * lookup has an answer, or the caller stops waiting, the requests still
+ * running are interrupted, so they give back their concurrency slot.
+ * Callers wait at most the configured timeout; when the API is failing,
+ * the last known result for the address is returned even if it has expired.
+ */
+@Service
 public class GoogleMapsService {
-    
+
+    private static final Logger log = LoggerFactory.getLogger(GoogleMapsService.class);
+
+    private static final String CACHE_NAME = "googleMapsResults";
+    private static final int MIN_LATENCY_SAMPLES = 20;
+
+    /**
+     * A geocoded position.
+     */
+    public record Coordinates(double latitude, double longitude) {
+    }
+
+    /**
+     * A cached lookup; coordinates are null if the address was not found.
+     */
+    private record CachedResult(Coordinates coordinates, long fetchedAtMillis) {
+    }
+
+    private final RestTemplate restTemplate;
+    private final Cache cache;
+    private final ExecutorService lookups = Executors.newThreadPerTaskExecutor(
+        Thread.ofVirtual().name("geocode-", 0).factory());
+    private final LatencyWindow latencies = new LatencyWindow(200);
+
+    // Hedge budget: every lookup earns a fraction of a hedge, up to a small burst
+    private final Object hedgeLock = new Object();
+    private double hedgeTokens;
+    private final AtomicInteger hedges = new AtomicInteger();
+
+    @Value("${cultureradar.api.googlemaps.base-url:https://maps.googleapis.com/maps/api}")
+    private String baseUrl;
+
+    @Value("${cultureradar.api.googlemaps.api-key:}")
+    private String apiKey;
+
+    @Value("${cultureradar.api.googlemaps.timeout-ms:5000}")
+    private long timeoutMs;
+
+    @Value("${cultureradar.api.googlemaps.hedge-delay-ms:500}")
+    private long defaultHedgeDelayMs;
+
+    @Value("${cultureradar.api.googlemaps.hedge-ratio:0.1}")
+    private double hedgeRatio;
+
+    @Value("${cultureradar.api.googlemaps.found-ttl-hours:720}")
+    private long foundTtlHours;
+
+    @Value("${cultureradar.api.googlemaps.not-found-ttl-hours:24}")
+    private long notFoundTtlHours;
+
+    @Autowired
+    public GoogleMapsService(RestTemplate restTemplate, CacheManager cacheManager) {
+        this.restTemplate = restTemplate;
+        this.cache = cacheManager.getCache(CACHE_NAME);
+    }
+
+    /**
+     * Geocodes a postal address. Results, including misses, are cached;
+     * failed lookups are not.
+     *
+     * @param address Full address, e.g. "175 Rue Sainte-Catherine O, Montreal, QC"
+     * @return Coordinates of the best match, or empty if none was found or
+     *         the API is unavailable and the address was never looked up
+     */
+    public Optional<Coordinates> geocode(String address) {
+        if (apiKey == null || apiKey.isBlank() || address == null || address.isBlank()) {
+            return Optional.empty();
+        }
+
+        long now = System.currentTimeMillis();
+        CachedResult cached = cache.get(address, CachedResult.class);
+        if (cached != null && now - cached.fetchedAtMillis() < ttlMillis(cached)) {
+            return Optional.ofNullable(cached.coordinates());
+        }
+
+        try {
+            Optional<Coordinates> result = hedgedLookup(address);
+            cache.put(address, new CachedResult(result.orElse(null), now));
+            return result;
+        } catch (RestClientException | TimeoutException e) {
+            log.warn("Geocoding failed for '{}': {}", address, e.getMessage());
+            // An expired result beats none while the API is failing
+            return cached != null ? Optional.ofNullable(cached.coordinates()) : Optional.empty();
+        }
+    }
+
+    /**
+     * @return Number of hedged requests sent so far
+     */
+    public int getHedgeCount() {
+        return hedges.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        lookups.shutdownNow();
+    }
+
+    private Optional<Coordinates> hedgedLookup(String address) throws TimeoutException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        CompletableFuture<Optional<Coordinates>> first = startLookup(address);
+        CompletableFuture<Optional<Coordinates>> hedge = null;
+        earnHedge();
+
+        try {
+            CompletableFuture<Optional<Coordinates>> answer = first;
+            long hedgeDelay = hedgeDelayMillis();
+            if (hedgeDelay < timeoutMs) {
+                try {
+                    return await(first, TimeUnit.MILLISECONDS.toNanos(hedgeDelay));
+                } catch (TimeoutException e) {
+                    if (spendHedge()) {
+                        hedges.incrementAndGet();
+                        hedge = startLookup(address);
+                        answer = firstSuccessful(first, hedge);
+                    }
+                }
+            }
+            try {
+                return await(answer, deadline - System.nanoTime());
+            } catch (TimeoutException e) {
+                throw new TimeoutException("No answer within " + timeoutMs + " ms");
+            }
+        } finally {
+            // No effect on a finished request; a running one is abandoned
+            first.cancel(true);
+            if (hedge != null) {
+                hedge.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * Starts a lookup that can be abandoned: cancelling the returned future
+     * interrupts the request, which aborts it on the virtual thread running it.
+     */
+    private CompletableFuture<Optional<Coordinates>> startLookup(String address) {
+        CompletableFuture<Optional<Coordinates>> result = new CompletableFuture<>();
+        Future<?> task = lookups.submit(() -> {
+            try {
+                result.complete(lookup(address));
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        });
+        result.whenComplete((value, error) -> {
+            if (result.isCancelled()) {
+                task.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Sends one lookup request and records its latency.
+     */
+    private Optional<Coordinates> lookup(String address) {
+        String uri = UriComponentsBuilder.fromUriString(baseUrl)
+            .pathSegment("geocode", "json")
+            .queryParam("address", address)
+            .queryParam("region", "ca")
+            .queryParam("key", apiKey)
+            .toUriString();
+
+        long start = System.nanoTime();
+        JsonNode body = restTemplate.getForObject(uri, JsonNode.class);
+        latencies.record(System.nanoTime() - start);
+        String status = body == null ? "" : body.path("status").asText();
+        if ("ZERO_RESULTS".equals(status)) {
+            return Optional.empty();
+        }
+        if (!"OK".equals(status)) {
+            // Quota and server errors say nothing about the address; not cached
+            throw new RestClientException("Geocoding API returned status " + status);
+        }
+
+        JsonNode location = body.path("results").path(0).path("geometry").path("location");
+        if (!location.hasNonNull("lat") || !location.hasNonNull("lng")) {
+            return Optional.empty();
+        }
+        return Optional.of(new Coordinates(location.path("lat").asDouble(), location.path("lng").asDouble()));
+    }
+
+    private long hedgeDelayMillis() {
+        long p95 = latencies.percentile(0.95, MIN_LATENCY_SAMPLES);
+        if (p95 < 0) {
+            return defaultHedgeDelayMs;
+        }
+        // Never hedge so early that most requests would be sent twice
+        return Math.max(20, TimeUnit.NANOSECONDS.toMillis(p95));
+    }
+
+    private void earnHedge() {
+        synchronized (hedgeLock) {
+            hedgeTokens = Math.min(10, hedgeTokens + hedgeRatio);
+        }
+    }
+
+    private boolean spendHedge() {
+        synchronized (hedgeLock) {
+            if (hedgeTokens < 1) {
+                return false;
+            }
+            hedgeTokens--;
+            return true;
+        }
+    }
+
+    private long ttlMillis(CachedResult cached) {
+        return TimeUnit.HOURS.toMillis(cached.coordinates() != null ? foundTtlHours : notFoundTtlHours);
+    }
+
+    /**
+     * Completes with the first of two lookups to succeed, or fails when both fail.
+     */
+    private static <T> CompletableFuture<T> firstSuccessful(CompletableFuture<T> a, CompletableFuture<T> b) {
+        CompletableFuture<T> first = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+        for (CompletableFuture<T> attempt : List.of(a, b)) {
+            attempt.whenComplete((value, error) -> {
+                if (error == null) {
+                    first.complete(value);
+                } else if (failures.incrementAndGet() == 2) {
+                    first.completeExceptionally(error);
+                }
+            });
+        }
+        return first;
+    }
+
+    private static <T> T await(CompletableFuture<T> future, long timeoutNanos) throws TimeoutException {
+        try {
+            return future.get(Math.max(0, timeoutNanos), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TimeoutException("Interrupted while geocoding");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() instanceof CompletionException ? e.getCause().getCause() : e.getCause();
+            if (cause instanceof RestClientException restClientException) {
+                throw restClientException;
+            }
+            throw new RestClientException("Geocoding failed", cause);
+        }
+    }
 }
@@ -0,0 +1,78 @@
+package com.cultureradar.service.api.resilience;
+
+/**
+ * Concurrency limit that adapts to how a remote service responds, using
+ * additive increase and multiplicative decrease (AIMD). Each call that
+ * completes quickly while the limit was in use raises the limit by about
+ * one per limit's worth of calls; each slow or failed call cuts it by a
+ * fixed factor. A slowing service thus gets fewer concurrent calls, and
+ * calls beyond the limit are refused instead of waiting for a thread.
+ */
+public final class AdaptiveConcurrencyLimit {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long slowCallNanos;
+    private final double backoff;
+    private double limit;
+    private int inFlight;
+
+    /**
+     * @param initialLimit Starting limit
+     * @param minLimit Lowest limit, at least 1 so the service can be probed
+     * @param maxLimit Highest limit
+     * @param slowCallNanos Calls taking longer count as a sign of congestion
+     * @param backoff Factor applied to the limit on congestion, e.g. 0.9
+     */
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, long slowCallNanos, double backoff) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.slowCallNanos = slowCallNanos;
+        this.backoff = backoff;
+        this.limit = Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit));
+    }
+
+    /**
+     * Takes a slot for a call.
+     *
+     * @return false if the limit is reached; the call must not be made
+     */
+    public synchronized boolean tryAcquire() {
+        if (inFlight >= (int) limit) {
+            return false;
+        }
+        inFlight++;
+        return true;
+    }
+
+    /**
+     * Returns the slot of a completed call and adjusts the limit.
+     *
+     * @param latencyNanos How long the call took
+     * @param failed Whether it failed or was throttled by the remote service
+     */
+    public synchronized void release(long latencyNanos, boolean failed) {
+        inFlight--;
+        if (failed || latencyNanos > slowCallNanos) {
+            limit = Math.max(minLimit, limit * backoff);
+        } else if (inFlight + 1 >= limit / 2) {
+            // Only grow while the limit is actually being used
+            limit = Math.min(maxLimit, limit + 1 / limit);
+        }
+    }
+
+    /**
+     * Returns the slot of a call that was not made, leaving the limit as is.
+     */
+    public synchronized void cancel() {
+        inFlight--;
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+}
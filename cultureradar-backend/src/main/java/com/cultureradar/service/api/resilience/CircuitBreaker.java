@@ -0,0 +1,151 @@
+package com.cultureradar.service.api.resilience;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Circuit breaker over a sliding window of the most recent calls. When
+ * the share of failed calls in the window reaches a threshold, the
+ * breaker opens and calls fail immediately. After a wait it lets a few
+ * trial calls through (half-open): if they all succeed it closes again,
+ * and any failure reopens it.
+ */
+public final class CircuitBreaker {
+
+    /**
+     * State of a breaker. Ordinals are exported as a gauge.
+     */
+    public enum State {
+        CLOSED,
+        HALF_OPEN,
+        OPEN
+    }
+
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long openNanos;
+    private final int trialCalls;
+    private final LongSupplier clock;
+
+    // Outcomes of the last calls, as a ring
+    private final boolean[] outcomes;
+    private int recorded;
+    private int next;
+    private int failures;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int trialsStarted;
+    private int trialsSucceeded;
+
+    /**
+     * @param windowSize Number of recent calls considered
+     * @param minimumCalls Calls needed in the window before the breaker can open
+     * @param failureRateThreshold Share of failures that opens the breaker, e.g. 0.5
+     * @param openNanos How long the breaker stays open before trial calls
+     * @param trialCalls Trial calls that must succeed to close the breaker
+     */
+    public CircuitBreaker(int windowSize, int minimumCalls, double failureRateThreshold, long openNanos, int trialCalls) {
+        this(windowSize, minimumCalls, failureRateThreshold, openNanos, trialCalls, System::nanoTime);
+    }
+
+    CircuitBreaker(int windowSize, int minimumCalls, double failureRateThreshold, long openNanos, int trialCalls,
+                   LongSupplier clock) {
+        this.outcomes = new boolean[windowSize];
+        this.minimumCalls = Math.min(minimumCalls, windowSize);
+        this.failureRateThreshold = failureRateThreshold;
+        this.openNanos = openNanos;
+        this.trialCalls = Math.max(1, trialCalls);
+        this.clock = clock;
+    }
+
+    /**
+     * Asks whether a call may be made. Every permitted call must be
+     * followed by {@link #onSuccess()}, {@link #onFailure()} or
+     * {@link #onCancelled()}.
+     *
+     * @return false if the breaker is open
+     */
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN) {
+            if (clock.getAsLong() - openedAt < openNanos) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+            trialsStarted = 0;
+            trialsSucceeded = 0;
+        }
+        if (state == State.HALF_OPEN) {
+            if (trialsStarted >= trialCalls) {
+                return false;
+            }
+            trialsStarted++;
+        }
+        return true;
+    }
+
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            if (++trialsSucceeded >= trialCalls) {
+                state = State.CLOSED;
+                clearWindow();
+            }
+            return;
+        }
+        record(false);
+    }
+
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            open();
+            return;
+        }
+        record(true);
+        if (state == State.CLOSED && recorded >= minimumCalls && failures >= failureRateThreshold * recorded) {
+            open();
+        }
+    }
+
+    /**
+     * Gives back the permit of a call that was not made, or was abandoned
+     * before it completed.
+     */
+    public synchronized void onCancelled() {
+        if (state == State.HALF_OPEN && trialsStarted > 0) {
+            trialsStarted--;
+        }
+    }
+
+    public synchronized State getState() {
+        if (state == State.OPEN && clock.getAsLong() - openedAt >= openNanos) {
+            return State.HALF_OPEN;
+        }
+        return state;
+    }
+
+    private void record(boolean failed) {
+        if (recorded == outcomes.length) {
+            if (outcomes[next]) {
+                failures--;
+            }
+        } else {
+            recorded++;
+        }
+        outcomes[next] = failed;
+        if (failed) {
+            failures++;
+        }
+        next = (next + 1) % outcomes.length;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = clock.getAsLong();
+        clearWindow();
+    }
+
+    private void clearWindow() {
+        recorded = 0;
+        next = 0;
+        failures = 0;
+    }
+}
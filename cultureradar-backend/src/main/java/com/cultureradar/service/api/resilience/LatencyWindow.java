@@ -0,0 +1,44 @@
+package com.cultureradar.service.api.resilience;
+
+import java.util.Arrays;
+
+/**
+ * The latencies of the most recent calls, for estimating percentiles such
+ * as the delay after which a request is hedged.
+ */
+public final class LatencyWindow {
+
+    private final long[] samples;
+    private int recorded;
+    private int next;
+
+    public LatencyWindow(int size) {
+        this.samples = new long[size];
+    }
+
+    public synchronized void record(long latencyNanos) {
+        samples[next] = latencyNanos;
+        next = (next + 1) % samples.length;
+        if (recorded < samples.length) {
+            recorded++;
+        }
+    }
+
+    /**
+     * @param quantile Between 0 and 1, e.g. 0.95
+     * @param minSamples Samples needed for a meaningful estimate
+     * @return The latency at that quantile, or -1 with fewer samples
+     */
+    public long percentile(double quantile, int minSamples) {
+        long[] sorted;
+        synchronized (this) {
+            if (recorded < Math.max(1, minSamples)) {
+                return -1;
+            }
+            sorted = Arrays.copyOf(samples, recorded);
+        }
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, rank))];
+    }
+}
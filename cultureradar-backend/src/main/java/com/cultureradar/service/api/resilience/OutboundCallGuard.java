@@ -0,0 +1,147 @@
+package com.cultureradar.service.api.resilience;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Interceptor of the shared RestTemplate that protects the application
+ * from slow or failing external APIs. Each remote host gets an
+ * {@link AdaptiveConcurrencyLimit} and a {@link CircuitBreaker}: calls
+ * beyond the host's current limit, or made while its breaker is open, are
+ * refused at once with a {@link CallNotPermittedException} instead of
+ * occupying a thread until the read timeout. RestTemplate reports that as
+ * a {@code ResourceAccessException}, which the API clients already handle.
+ *
+ * <p>Server errors, 429 responses, I/O errors and calls slower than the
+ * slow-call threshold count as failures. Calls abandoned by interrupting
+ * their thread, such as a losing hedged request, count as neither.
+ */
+@Component
+public class OutboundCallGuard implements ClientHttpRequestInterceptor {
+
+    /**
+     * Thrown when a call is refused without being made.
+     */
+    public static class CallNotPermittedException extends IOException {
+        public CallNotPermittedException(String message) {
+            super(message);
+        }
+    }
+
+    private record HostGuard(AdaptiveConcurrencyLimit limit, CircuitBreaker breaker,
+                             Counter limited, Counter broken) {
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, HostGuard> guards = new ConcurrentHashMap<>();
+    private final long slowCallNanos;
+    private final int initialLimit;
+    private final int maxLimit;
+    private final int windowSize;
+    private final double failureRateThreshold;
+    private final long openNanos;
+
+    @Autowired
+    public OutboundCallGuard(
+            MeterRegistry meterRegistry,
+            @Value("${cultureradar.api.resilience.slow-call-ms:2000}") long slowCallMs,
+            @Value("${cultureradar.api.resilience.initial-limit:10}") int initialLimit,
+            @Value("${cultureradar.api.resilience.max-limit:50}") int maxLimit,
+            @Value("${cultureradar.api.resilience.window-size:50}") int windowSize,
+            @Value("${cultureradar.api.resilience.failure-rate-threshold:0.5}") double failureRateThreshold,
+            @Value("${cultureradar.api.resilience.open-seconds:30}") long openSeconds) {
+        this.meterRegistry = meterRegistry;
+        this.slowCallNanos = TimeUnit.MILLISECONDS.toNanos(slowCallMs);
+        this.initialLimit = initialLimit;
+        this.maxLimit = maxLimit;
+        this.windowSize = windowSize;
+        this.failureRateThreshold = failureRateThreshold;
+        this.openNanos = TimeUnit.SECONDS.toNanos(openSeconds);
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        String host = request.getURI().getHost();
+        HostGuard guard = guards.computeIfAbsent(host == null ? "" : host, this::createGuard);
+
+        if (!guard.limit().tryAcquire()) {
+            guard.limited().increment();
+            throw new CallNotPermittedException("Too many concurrent calls to " + host);
+        }
+        if (!guard.breaker().tryAcquire()) {
+            guard.limit().cancel();
+            guard.broken().increment();
+            throw new CallNotPermittedException("Circuit open for " + host);
+        }
+
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            ClientHttpResponse response = execution.execute(request, body);
+            int status = response.getStatusCode().value();
+            failed = status >= 500 || status == 429;
+            return response;
+        } finally {
+            long latency = System.nanoTime() - start;
+            if (Thread.currentThread().isInterrupted()) {
+                // The caller gave up on the call; its outcome says nothing about the host
+                guard.limit().cancel();
+                guard.breaker().onCancelled();
+            } else {
+                guard.limit().release(latency, failed);
+                if (failed || latency > slowCallNanos) {
+                    guard.breaker().onFailure();
+                } else {
+                    guard.breaker().onSuccess();
+                }
+            }
+        }
+    }
+
+    /**
+     * @return The breaker state of a host, CLOSED for hosts not called yet
+     */
+    public CircuitBreaker.State getState(String host) {
+        HostGuard guard = guards.get(host);
+        return guard == null ? CircuitBreaker.State.CLOSED : guard.breaker().getState();
+    }
+
+    private HostGuard createGuard(String host) {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(initialLimit, 1, maxLimit, slowCallNanos, 0.9);
+        CircuitBreaker breaker = new CircuitBreaker(windowSize, Math.max(1, windowSize / 5), failureRateThreshold,
+            openNanos, 3);
+        Gauge.builder("cultureradar.api.concurrency.limit", limit, AdaptiveConcurrencyLimit::getLimit)
+            .tag("host", host)
+            .register(meterRegistry);
+        Gauge.builder("cultureradar.api.concurrency.in-flight", limit, AdaptiveConcurrencyLimit::getInFlight)
+            .tag("host", host)
+            .register(meterRegistry);
+        Gauge.builder("cultureradar.api.circuit.state", breaker, b -> b.getState().ordinal())
+            .description("0 closed, 1 half-open, 2 open")
+            .tag("host", host)
+            .register(meterRegistry);
+        Counter limited = Counter.builder("cultureradar.api.calls.rejected")
+            .tag("host", host)
+            .tag("reason", "limit")
+            .register(meterRegistry);
+        Counter broken = Counter.builder("cultureradar.api.calls.rejected")
+            .tag("host", host)
+            .tag("reason", "circuit-open")
+            .register(meterRegistry);
+        return new HostGuard(limit, breaker, limited, broken);
+    }
+}
@@ -0,0 +1,68 @@
+package com.cultureradar.util;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Count-Min Sketch: approximate counts of long keys in fixed memory. Each
+ * key increments one counter in every row; its estimate is the smallest of
+ * those counters. Estimates never undercount, and overcount by at most
+ * {@code e / width} of the total with probability {@code 1 - e^-depth}.
+ *
+ * <p>Not thread-safe.
+ */
+public final class CountMinSketch {
+
+    private final int[][] counters;
+    private final long[] seeds;
+    private final int mask;
+    private long total;
+
+    /**
+     * @param width Counters per row; rounded up to a power of two
+     * @param depth Number of rows
+     * @param seed Seed for the per-row hash functions
+     */
+    public CountMinSketch(int width, int depth, long seed) {
+        int roundedWidth = Integer.highestOneBit(Math.max(1, width - 1)) << 1;
+        this.counters = new int[depth][roundedWidth];
+        this.seeds = new long[depth];
+        this.mask = roundedWidth - 1;
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int i = 0; i < depth; i++) {
+            seeds[i] = random.nextLong();
+        }
+    }
+
+    public void add(long key, int count) {
+        for (int row = 0; row < counters.length; row++) {
+            int[] counts = counters[row];
+            int index = (int) MinHash.mix(key ^ seeds[row]) & mask;
+            // Saturate rather than wrap around
+            counts[index] = (int) Math.min(Integer.MAX_VALUE, (long) counts[index] + count);
+        }
+        total += count;
+    }
+
+    public long estimate(long key) {
+        int min = Integer.MAX_VALUE;
+        for (int row = 0; row < counters.length; row++) {
+            min = Math.min(min, counters[row][(int) MinHash.mix(key ^ seeds[row]) & mask]);
+        }
+        return min;
+    }
+
+    /**
+     * @return Sum of all counts added since the last reset
+     */
+    public long total() {
+        return total;
+    }
+
+    public void reset() {
+        for (int[] row : counters) {
+            Arrays.fill(row, 0);
+        }
+        total = 0;
+    }
+}
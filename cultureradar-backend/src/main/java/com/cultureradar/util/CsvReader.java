@@ -0,0 +1,117 @@
+package com.cultureradar.util;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads CSV (RFC 4180) records one at a time from a character stream.
+ * Fields may be quoted, with doubled quotes standing for a quote; quoted
+ * fields may contain separators and line breaks. Both CRLF and LF line
+ * endings are accepted. The caller should pass a buffered reader.
+ */
+public final class CsvReader {
+
+    private final Reader in;
+    private final char separator;
+    private final int maxFieldLength;
+    private long line = 1;
+    private long recordLine;
+    private int pending = -2;
+
+    /**
+     * @param in Source of the records
+     * @param separator Field separator, usually ','
+     * @param maxFieldLength Longest field accepted, in characters; bounds
+     *                       the memory used by an unterminated quote
+     */
+    public CsvReader(Reader in, char separator, int maxFieldLength) {
+        this.in = in;
+        this.separator = separator;
+        this.maxFieldLength = maxFieldLength;
+    }
+
+    /**
+     * Reads the next record. Blank lines are skipped.
+     *
+     * @return The fields of the record, or null at the end of the input
+     * @throws IOException If reading fails, a field is too long or a quote
+     *                     is not terminated
+     */
+    public List<String> next() throws IOException {
+        int c = read();
+        while (c == '\r' || c == '\n') {
+            c = read();
+        }
+        if (c < 0) {
+            return null;
+        }
+        recordLine = line;
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c < 0) {
+                    throw new IOException("Unterminated quoted field starting on line " + recordLine);
+                }
+                if (c == '"') {
+                    c = read();
+                    if (c != '"') {
+                        quoted = false;
+                        continue;
+                    }
+                }
+                append(field, (char) c);
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == separator) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c < 0 || c == '\n' || c == '\r') {
+                if (c == '\r') {
+                    int next = read();
+                    if (next != '\n') {
+                        pending = next;
+                    }
+                }
+                fields.add(field.toString());
+                return fields;
+            } else {
+                append(field, (char) c);
+            }
+            c = read();
+        }
+    }
+
+    /**
+     * @return The line on which the last record returned by {@link #next()}
+     *         starts, 1-based
+     */
+    public long getRecordLine() {
+        return recordLine;
+    }
+
+    private void append(StringBuilder field, char c) throws IOException {
+        if (field.length() == maxFieldLength) {
+            throw new IOException("Field longer than " + maxFieldLength + " characters on line " + recordLine);
+        }
+        field.append(c);
+    }
+
+    private int read() throws IOException {
+        int c;
+        if (pending != -2) {
+            c = pending;
+            pending = -2;
+        } else {
+            c = in.read();
+        }
+        if (c == '\n') {
+            line++;
+        }
+        return c;
+    }
+}
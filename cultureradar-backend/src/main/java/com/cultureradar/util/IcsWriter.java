@@ -0,0 +1,94 @@
+package com.cultureradar.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Writes iCalendar (RFC 5545) content lines to a stream as they are
+ * produced, so a feed never has to be held in memory. Takes care of text
+ * escaping, CRLF line endings and folding lines longer than 75 octets
+ * without splitting UTF-8 sequences.
+ */
+public final class IcsWriter {
+
+    private static final int MAX_LINE_OCTETS = 75;
+    private static final byte[] CRLF = {'\r', '\n'};
+    private static final byte[] FOLD = {'\r', '\n', ' '};
+    private static final DateTimeFormatter UTC_DATE_TIME =
+        DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'").withZone(ZoneOffset.UTC);
+
+    private final OutputStream out;
+
+    public IcsWriter(OutputStream out) {
+        this.out = out;
+    }
+
+    /**
+     * Writes a property whose value is already in iCalendar syntax.
+     */
+    public IcsWriter raw(String name, String value) throws IOException {
+        line(name + ':' + value);
+        return this;
+    }
+
+    /**
+     * Writes a TEXT property, escaping the value. Null values are skipped.
+     */
+    public IcsWriter text(String name, String value) throws IOException {
+        if (value != null && !value.isEmpty()) {
+            line(name + ':' + escape(value));
+        }
+        return this;
+    }
+
+    /**
+     * Writes a DATE-TIME property in UTC.
+     */
+    public IcsWriter dateTime(String name, Instant value) throws IOException {
+        return raw(name, UTC_DATE_TIME.format(value));
+    }
+
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    static String escape(String value) {
+        StringBuilder escaped = new StringBuilder(value.length() + 8);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\', ';', ',' -> escaped.append('\\').append(c);
+                case '\n' -> escaped.append("\\n");
+                case '\r' -> {
+                    // Dropped; a following \n produces the line break
+                }
+                default -> escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    private void line(String line) throws IOException {
+        byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+        int start = 0;
+        // Continuation lines start with a space, which counts towards their length
+        int limit = MAX_LINE_OCTETS;
+        while (bytes.length - start > limit) {
+            int end = start + limit;
+            while ((bytes[end] & 0xC0) == 0x80) {
+                // Do not split inside a multi-byte character
+                end--;
+            }
+            out.write(bytes, start, end - start);
+            out.write(FOLD);
+            start = end;
+            limit = MAX_LINE_OCTETS - 1;
+        }
+        out.write(bytes, start, bytes.length - start);
+        out.write(CRLF);
+    }
+}
@@ -0,0 +1,214 @@
+package com.cultureradar.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Balanced (AVL) tree of half-open intervals {@code [start, end)} that
+ * answers stabbing queries: which intervals contain a given point.
+ * Nodes are ordered by start and augmented with the largest end in their
+ * subtree, so a query skips every subtree whose intervals all end before
+ * the point and every right subtree starting after it. Insertions and
+ * removals take O(log n).
+ *
+ * <p>Not thread-safe.
+ *
+ * @param <K> Endpoint type
+ * @param <V> Value type; together with the endpoints it identifies an entry
+ */
+public class IntervalTree<K extends Comparable<? super K>, V extends Comparable<? super V>> {
+
+    private final class Node {
+        final K start;
+        final K end;
+        final V value;
+        K maxEnd;
+        int height = 1;
+        Node left;
+        Node right;
+
+        Node(K start, K end, V value) {
+            this.start = start;
+            this.end = end;
+            this.value = value;
+            this.maxEnd = end;
+        }
+    }
+
+    private Node root;
+    private int size;
+
+    /**
+     * Adds an interval. Adding an entry that is already present has no effect.
+     *
+     * @param start Inclusive start
+     * @param end Exclusive end; must not be before start
+     * @param value Value returned by queries that hit the interval
+     */
+    public void insert(K start, K end, V value) {
+        if (end.compareTo(start) < 0) {
+            throw new IllegalArgumentException("Interval ends before it starts: [" + start + ", " + end + ")");
+        }
+        root = insert(root, new Node(start, end, value));
+    }
+
+    /**
+     * Removes an interval previously added with the same endpoints and value.
+     *
+     * @return Whether the entry was present
+     */
+    public boolean remove(K start, K end, V value) {
+        int before = size;
+        root = remove(root, start, end, value);
+        return size < before;
+    }
+
+    /**
+     * @param point Point in time (or any other key)
+     * @return Values of the intervals with {@code start <= point < end}, ordered by start
+     */
+    public List<V> stab(K point) {
+        List<V> result = new ArrayList<>();
+        stab(root, point, result::add);
+        return result;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    private int compare(Node node, K start, K end, V value) {
+        int c = start.compareTo(node.start);
+        if (c == 0) {
+            c = end.compareTo(node.end);
+        }
+        if (c == 0) {
+            c = value.compareTo(node.value);
+        }
+        return c;
+    }
+
+    private Node insert(Node node, Node added) {
+        if (node == null) {
+            size++;
+            return added;
+        }
+        int c = compare(node, added.start, added.end, added.value);
+        if (c < 0) {
+            node.left = insert(node.left, added);
+        } else if (c > 0) {
+            node.right = insert(node.right, added);
+        } else {
+            return node;
+        }
+        return rebalance(node);
+    }
+
+    private Node remove(Node node, K start, K end, V value) {
+        if (node == null) {
+            return null;
+        }
+        int c = compare(node, start, end, value);
+        if (c < 0) {
+            node.left = remove(node.left, start, end, value);
+        } else if (c > 0) {
+            node.right = remove(node.right, start, end, value);
+        } else {
+            size--;
+            if (node.left == null) {
+                return node.right;
+            }
+            if (node.right == null) {
+                return node.left;
+            }
+            Node successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            successor.right = removeMin(node.right);
+            successor.left = node.left;
+            node = successor;
+        }
+        return rebalance(node);
+    }
+
+    private Node removeMin(Node node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        node.left = removeMin(node.left);
+        return rebalance(node);
+    }
+
+    private void stab(Node node, K point, Consumer<V> sink) {
+        if (node == null || node.maxEnd.compareTo(point) <= 0) {
+            return;
+        }
+        stab(node.left, point, sink);
+        if (node.start.compareTo(point) > 0) {
+            // Everything to the right starts even later
+            return;
+        }
+        if (node.end.compareTo(point) > 0) {
+            sink.accept(node.value);
+        }
+        stab(node.right, point, sink);
+    }
+
+    private Node rebalance(Node node) {
+        update(node);
+        int balance = height(node.left) - height(node.right);
+        if (balance > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (balance < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private Node rotateRight(Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private void update(Node node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        K maxEnd = node.end;
+        if (node.left != null && node.left.maxEnd.compareTo(maxEnd) > 0) {
+            maxEnd = node.left.maxEnd;
+        }
+        if (node.right != null && node.right.maxEnd.compareTo(maxEnd) > 0) {
+            maxEnd = node.right.maxEnd;
+        }
+        node.maxEnd = maxEnd;
+    }
+
+    private int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+}
@@ -0,0 +1,112 @@
+package com.cultureradar.util;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * MinHash signatures for estimating the Jaccard similarity of two texts
+ * from their character shingles. Two signatures agree in a given position
+ * with probability equal to the Jaccard similarity of the shingle sets,
+ * so the fraction of equal positions is an unbiased estimate of it.
+ */
+public final class MinHash {
+
+    private final long[] seeds;
+    private final int shingleLength;
+
+    /**
+     * @param numHashes Signature length; more hashes give a tighter estimate
+     * @param shingleLength Length of the character shingles
+     * @param seed Seed for the hash family; signatures are only comparable
+     *             when produced with the same seed
+     */
+    public MinHash(int numHashes, int shingleLength, long seed) {
+        this.seeds = new long[numHashes];
+        this.shingleLength = shingleLength;
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int i = 0; i < numHashes; i++) {
+            seeds[i] = random.nextLong();
+        }
+    }
+
+    public int numHashes() {
+        return seeds.length;
+    }
+
+    /**
+     * Computes the signature of a text.
+     *
+     * @param text Normalized text
+     * @return Signature of {@link #numHashes()} values
+     */
+    public int[] signature(String text) {
+        int[] signature = new int[seeds.length];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+
+        long[] shingles = shingleHashes(text);
+        for (long shingle : shingles) {
+            for (int i = 0; i < seeds.length; i++) {
+                int value = (int) (mix(shingle ^ seeds[i]) >>> 33);
+                if (value < signature[i]) {
+                    signature[i] = value;
+                }
+            }
+        }
+        return signature;
+    }
+
+    /**
+     * Estimates the Jaccard similarity of the texts behind two signatures.
+     *
+     * @return Fraction of positions where the signatures agree, from 0 to 1
+     */
+    public static double similarity(int[] a, int[] b) {
+        int equal = 0;
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] == b[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / a.length;
+    }
+
+    /**
+     * Hashes every distinct character shingle of the text. Texts shorter
+     * than one shingle are hashed as a single shingle.
+     */
+    private long[] shingleHashes(String text) {
+        if (text.isEmpty()) {
+            return new long[0];
+        }
+
+        int count = Math.max(1, text.length() - shingleLength + 1);
+        long[] hashes = new long[count];
+        for (int start = 0; start < count; start++) {
+            long hash = 0xcbf29ce484222325L;
+            int end = Math.min(text.length(), start + shingleLength);
+            for (int i = start; i < end; i++) {
+                hash ^= text.charAt(i);
+                hash *= 0x100000001b3L;
+            }
+            hashes[start] = hash;
+        }
+
+        Arrays.sort(hashes);
+        int distinct = 0;
+        for (int i = 0; i < hashes.length; i++) {
+            if (i == 0 || hashes[i] != hashes[i - 1]) {
+                hashes[distinct++] = hashes[i];
+            }
+        }
+        return Arrays.copyOf(hashes, distinct);
+    }
+
+    /**
+     * SplitMix64 finalizer, used to derive independent hash functions from one seed each.
+     */
+    static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
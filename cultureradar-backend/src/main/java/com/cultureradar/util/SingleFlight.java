@@ -0,0 +1,72 @@
+package com.cultureradar.util;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent calls for the same key into one computation.
+ * The first caller for a key runs the supplier; callers arriving while it
+ * runs wait for and share its result (or its exception). Nothing is cached:
+ * once the computation finishes, the next call for the key starts a new one.
+ *
+ * @param <K> Key type; must implement equals and hashCode
+ * @param <V> Result type; shared between callers, so it should be immutable
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder shared = new LongAdder();
+
+    /**
+     * Returns the result of the in-flight computation for the key, starting
+     * one on the calling thread if there is none.
+     *
+     * @param key Identifies equivalent computations
+     * @param supplier Computes the result
+     * @return The computed or shared result
+     */
+    public V execute(K key, Supplier<V> supplier) {
+        CompletableFuture<V> own = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, own);
+        if (existing != null) {
+            shared.increment();
+            return join(existing);
+        }
+
+        try {
+            V value = supplier.get();
+            own.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            own.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, own);
+        }
+    }
+
+    /**
+     * @return Number of calls that were served by another caller's computation
+     */
+    public long getSharedCount() {
+        return shared.sum();
+    }
+
+    private static <V> V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.cultureradar.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Space-Saving heavy-hitter summary: tracks at most {@code capacity} keys
+ * and guarantees that every key occurring more than {@code total / capacity}
+ * times is among them. When a new key arrives and the summary is full, it
+ * replaces the key with the smallest count and inherits that count, so
+ * counts are overestimates by at most the inherited amount.
+ *
+ * <p>Not thread-safe.
+ */
+public final class SpaceSaving {
+
+    /**
+     * A tracked key.
+     *
+     * @param key The key
+     * @param count Upper bound of its occurrences
+     * @param error How much of the count may have been inherited
+     */
+    public record Entry(long key, long count, long error) {
+    }
+
+    private final int capacity;
+    private final Map<Long, long[]> counts;
+
+    public SpaceSaving(int capacity) {
+        this.capacity = capacity;
+        this.counts = new HashMap<>(capacity * 2);
+    }
+
+    public void add(long key, long count) {
+        long[] entry = counts.get(key);
+        if (entry != null) {
+            entry[0] += count;
+            return;
+        }
+        if (counts.size() < capacity) {
+            counts.put(key, new long[]{count, 0});
+            return;
+        }
+
+        // A linear scan is cheaper than a heap at the small capacities used here
+        Long minKey = null;
+        long[] min = null;
+        for (Map.Entry<Long, long[]> candidate : counts.entrySet()) {
+            if (min == null || candidate.getValue()[0] < min[0]) {
+                minKey = candidate.getKey();
+                min = candidate.getValue();
+            }
+        }
+        counts.remove(minKey);
+        counts.put(key, new long[]{min[0] + count, min[0]});
+    }
+
+    /**
+     * @return The tracked keys, in no particular order
+     */
+    public List<Entry> entries() {
+        List<Entry> entries = new ArrayList<>(counts.size());
+        counts.forEach((key, entry) -> entries.add(new Entry(key, entry[0], entry[1])));
+        return entries;
+    }
+
+    public void reset() {
+        counts.clear();
+    }
+}
@@ -0,0 +1,70 @@
+package com.cultureradar.util;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Assigns small int codes to strings that repeat across many objects,
+ * such as city and province names, so those objects can store a 4-byte
+ * code instead of a reference to their own copy of the string. Each
+ * distinct string is kept once, and its code never changes for the life
+ * of the dictionary.
+ *
+ * <p>Decoding is a plain array read and encoding a known string a map
+ * lookup; only new strings take a lock. The dictionary only grows, so it
+ * is meant for values of low cardinality.
+ */
+public final class StringDictionary {
+
+    /**
+     * Code of a null string.
+     */
+    public static final int NULL = -1;
+
+    private final ConcurrentMap<String, Integer> codes = new ConcurrentHashMap<>();
+    private volatile String[] values = new String[64];
+    private int size;
+
+    /**
+     * @param value Any string, or null
+     * @return The code of the string, assigned on first use, or {@link #NULL}
+     */
+    public int encode(String value) {
+        if (value == null) {
+            return NULL;
+        }
+        Integer code = codes.get(value);
+        if (code != null) {
+            return code;
+        }
+        synchronized (this) {
+            code = codes.get(value);
+            if (code == null) {
+                if (size == values.length) {
+                    values = Arrays.copyOf(values, size * 2);
+                }
+                // Stored before the code is published, so whoever sees the code can decode it
+                values[size] = value;
+                code = size++;
+                codes.put(value, code);
+            }
+            return code;
+        }
+    }
+
+    /**
+     * @param code A code returned by {@link #encode(String)}
+     * @return The string, or null for {@link #NULL}
+     */
+    public String decode(int code) {
+        return code == NULL ? null : values[code];
+    }
+
+    /**
+     * @return Number of distinct strings, for metrics
+     */
+    public int size() {
+        return codes.size();
+    }
+}
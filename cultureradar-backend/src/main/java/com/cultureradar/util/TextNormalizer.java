@@ -0,0 +1,32 @@
+package com.cultureradar.util;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Helpers for normalizing free text such as city and venue names, so that
+ * "Montréal", " montreal " and "MONTREAL" compare equal.
+ */
+public final class TextNormalizer {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private TextNormalizer() {
+    }
+
+    /**
+     * Lower-cases the value, strips accents and collapses whitespace.
+     *
+     * @param value Text to normalize, may be null
+     * @return Normalized text, or an empty string for null input
+     */
+    public static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        String stripped = DIACRITICS.matcher(Normalizer.normalize(value, Normalizer.Form.NFD)).replaceAll("");
+        return WHITESPACE.matcher(stripped.trim().toLowerCase(Locale.ROOT)).replaceAll(" ");
+    }
+}
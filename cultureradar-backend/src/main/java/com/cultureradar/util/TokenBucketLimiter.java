@@ -0,0 +1,89 @@
+package com.cultureradar.util;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token buckets per key, e.g. per client, with a fixed capacity and
+ * refill rate. Each bucket is a single {@link AtomicLong} holding the time
+ * at which it would be full again (the generic cell rate algorithm), so
+ * taking a token is one compare-and-set and never blocks.
+ *
+ * <p>Buckets are kept in two generations of at most half the key limit
+ * each. When the current generation fills up, the previous one is dropped
+ * and the current one becomes previous; a key found in the previous
+ * generation moves back to the current one. Memory is thus bounded, and
+ * only keys idle for a whole generation are forgotten, whose buckets
+ * would mostly have refilled anyway.
+ */
+public final class TokenBucketLimiter {
+
+    private final long nanosPerToken;
+    private final long burstNanos;
+    private final int generationSize;
+    private volatile ConcurrentMap<String, AtomicLong> current = new ConcurrentHashMap<>();
+    private volatile ConcurrentMap<String, AtomicLong> previous = new ConcurrentHashMap<>();
+
+    /**
+     * @param capacity Tokens a full bucket holds, i.e. the largest burst
+     * @param tokensPerSecond Refill rate
+     * @param maxKeys Most keys tracked at once
+     */
+    public TokenBucketLimiter(int capacity, double tokensPerSecond, int maxKeys) {
+        this.nanosPerToken = (long) (1_000_000_000L / tokensPerSecond);
+        this.burstNanos = nanosPerToken * (capacity - 1L);
+        this.generationSize = Math.max(1, maxKeys / 2);
+    }
+
+    /**
+     * Takes a token from a key's bucket.
+     *
+     * @param key The client
+     * @param nowNanos Current {@link System#nanoTime()}
+     * @return 0 if a token was taken, otherwise how many nanoseconds until one is available
+     */
+    public long tryAcquire(String key, long nowNanos) {
+        AtomicLong bucket = bucket(key, nowNanos);
+        while (true) {
+            long fullAt = bucket.get();
+            long start = Math.max(fullAt, nowNanos);
+            long wait = start - nowNanos - burstNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (bucket.compareAndSet(fullAt, start + nanosPerToken)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * @return Number of keys tracked, for metrics
+     */
+    public int size() {
+        return current.size() + previous.size();
+    }
+
+    private AtomicLong bucket(String key, long nowNanos) {
+        ConcurrentMap<String, AtomicLong> generation = current;
+        AtomicLong bucket = generation.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        AtomicLong old = previous.get(key);
+        if (generation.size() >= generationSize) {
+            rotate(generation);
+            generation = current;
+        }
+        // A new bucket starts full
+        return generation.computeIfAbsent(key, k -> old != null ? old : new AtomicLong(nowNanos));
+    }
+
+    private synchronized void rotate(ConcurrentMap<String, AtomicLong> full) {
+        if (current == full) {
+            previous = full;
+            current = new ConcurrentHashMap<>();
+        }
+    }
+}
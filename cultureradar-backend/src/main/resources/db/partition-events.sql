@@ -0,0 +1,54 @@
+-- One-time conversion of "events" into a table range-partitioned by start_time, one partition per month.
+-- Requires PostgreSQL 13 or later. Run during a maintenance window with the application stopped, then
+-- set cultureradar.events.partitioning.enabled=true so EventPartitionMaintenance creates upcoming
+-- partitions and moves expired ones to events_archive.
+--
+-- Partitioned tables need the partition key in every unique constraint, so the primary key becomes
+-- (id, start_time); ids stay unique through the identity sequence. No foreign key references events.
+--
+-- spring.jpa.hibernate.ddl-auto=update keeps working: columns it adds to events propagate to every partition,
+-- and EventPartitionMaintenance adds them to events_archive before attaching expired partitions there.
+
+BEGIN;
+
+ALTER TABLE events RENAME TO events_unpartitioned;
+
+CREATE TABLE events (
+    LIKE events_unpartitioned INCLUDING DEFAULTS INCLUDING CONSTRAINTS INCLUDING IDENTITY INCLUDING STORAGE
+) PARTITION BY RANGE (start_time);
+
+ALTER TABLE events ADD CONSTRAINT events_pkey_partitioned PRIMARY KEY (id, start_time);
+ALTER TABLE events ADD FOREIGN KEY (location_id) REFERENCES locations (id);
+ALTER TABLE events ADD FOREIGN KEY (creator_id) REFERENCES users (id);
+CREATE INDEX idx_events_start_time ON events (start_time);
+CREATE INDEX idx_events_location_start_time ON events (location_id, start_time);
+
+-- Expired partitions are detached from events and attached here unchanged, so archiving copies no rows
+CREATE TABLE events_archive (
+    LIKE events_unpartitioned INCLUDING DEFAULTS INCLUDING CONSTRAINTS INCLUDING STORAGE
+) PARTITION BY RANGE (start_time);
+ALTER TABLE events_archive ADD PRIMARY KEY (id, start_time);
+CREATE INDEX idx_events_archive_start_time ON events_archive (start_time);
+
+-- Monthly partitions from the oldest event up to a year ahead, named events_pYYYYMM
+DO $$
+DECLARE
+    month date := date_trunc('month', coalesce((SELECT min(start_time) FROM events_unpartitioned), now()));
+    last_month date := date_trunc('month', now() + interval '12 months');
+BEGIN
+    WHILE month <= last_month LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF events FOR VALUES FROM (%L) TO (%L)',
+            'events_p' || to_char(month, 'YYYYMM'), month, month + interval '1 month');
+        month := month + interval '1 month';
+    END LOOP;
+END $$;
+
+-- Catches events too far in the future for the pre-created partitions
+CREATE TABLE events_default PARTITION OF events DEFAULT;
+
+INSERT INTO events SELECT * FROM events_unpartitioned;
+SELECT setval(pg_get_serial_sequence('events', 'id'), coalesce((SELECT max(id) FROM events), 0) + 1, false);
+
+DROP TABLE events_unpartitioned;
+
+COMMIT;
@@ -0,0 +1,108 @@
+package com.cultureradar.cache;
+
+import com.cultureradar.model.Event;
+import com.cultureradar.model.EventCategory;
+import com.cultureradar.model.Location;
+import com.cultureradar.model.User;
+import com.cultureradar.util.StringDictionary;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompactEventCacheTest {
+
+    private final StringDictionary dictionary = new StringDictionary();
+    private final CompactEventCache cache = new CompactEventCache("events", false, dictionary);
+
+    @Test
+    void rebuildsAnEqualEventOnEveryRead() {
+        Event event = event(1L, "Montreal");
+        cache.put(1L, event);
+
+        Event first = cache.get(1L, Event.class);
+        assertThat(first).isEqualTo(event).isNotSameAs(event);
+        assertThat(cache.get(1L, Event.class)).isNotSameAs(first);
+        // Change detection relies on the exact update time
+        assertThat(first.getUpdatedAt()).isEqualTo(event.getUpdatedAt());
+    }
+
+    @Test
+    void keepsNullFieldsNull() {
+        Event event = new Event();
+        event.setId(2L);
+        event.setName("No venue");
+        event.setStartTime(LocalDateTime.of(2025, 6, 1, 20, 0));
+        event.setViewCount(0L);
+        event.setClickCount(0L);
+        cache.put(2L, event);
+
+        Event copy = cache.get(2L, Event.class);
+        assertThat(copy).isEqualTo(event);
+        assertThat(copy.getLocation()).isNull();
+        assertThat(copy.getPrice()).isNull();
+        assertThat(copy.getEndTime()).isNull();
+    }
+
+    @Test
+    void storesPagesCompactlyAndSharesVenueStrings() {
+        Page<Event> page = new PageImpl<>(List.of(event(1L, "Montreal"), event(2L, "Montreal")),
+            PageRequest.of(0, 20), 42);
+        cache.put("montreal", page);
+
+        Object stored = cache.getNativeCache().get("montreal");
+        assertThat(stored).isInstanceOf(CompactEventCache.CompactPage.class);
+        assertThat(((CompactEventCache.CompactPage) stored).containsAny(Set.of(2L))).isTrue();
+        assertThat(((CompactEventCache.CompactPage) stored).containsAny(Set.of(3L))).isFalse();
+
+        @SuppressWarnings("unchecked")
+        Page<Event> copy = cache.get("montreal", Page.class);
+        assertThat(copy.getContent()).isEqualTo(page.getContent());
+        assertThat(copy.getTotalElements()).isEqualTo(42);
+        assertThat(copy.getPageable()).isEqualTo(page.getPageable());
+        // Source, city and province; venue strings are interned, not kept by the dictionary
+        assertThat(dictionary.size()).isEqualTo(3);
+        assertThat(copy.getContent().get(1).getLocation().getName())
+            .isSameAs(copy.getContent().get(0).getLocation().getName());
+    }
+
+    @Test
+    void storesOtherValuesAsGiven() {
+        cache.put("count", 3);
+        assertThat(cache.getNativeCache().get("count")).isEqualTo(3);
+    }
+
+    private static Event event(long id, String city) {
+        Location location = new Location(7L, "Salle Wilfrid-Pelletier", "175 Rue Sainte-Catherine O",
+            city, "QC", "H2X 1Y9", 45.508, -73.566);
+        User creator = new User();
+        creator.setId(3L);
+
+        Event event = new Event();
+        event.setId(id);
+        event.setName("Concert " + id);
+        event.setDescription("An evening of chamber music.");
+        event.setStartTime(LocalDateTime.of(2025, 6, 1, 20, 0));
+        event.setEndTime(LocalDateTime.of(2025, 6, 1, 22, 30));
+        event.setImageUrl("https://images.cultureradar.ca/events/" + id + ".jpg");
+        event.setPrice(35.5);
+        event.setIsFree(false);
+        event.setExternalId("ext-" + id);
+        event.setExternalSource("EVENTBRITE");
+        event.setLocation(location);
+        event.setCategory(EventCategory.values()[0]);
+        event.setApproved(true);
+        event.setViewCount(12L);
+        event.setClickCount(4L);
+        event.setCreatedAt(LocalDateTime.of(2025, 5, 1, 9, 15, 30, 123_456_000));
+        event.setUpdatedAt(LocalDateTime.of(2025, 5, 2, 10, 0, 1, 987_654_321));
+        event.setCreator(creator);
+        return event;
+    }
+}
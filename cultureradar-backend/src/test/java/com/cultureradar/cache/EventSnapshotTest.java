@@ -0,0 +1,90 @@
+package com.cultureradar.cache;
+
+import com.cultureradar.model.Event;
+import com.cultureradar.model.EventCategory;
+import com.cultureradar.model.Location;
+import com.cultureradar.util.StringDictionary;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EventSnapshotTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void readsBackWhatWasWrittenIntoAnotherDictionary() throws IOException {
+        StringDictionary written = new StringDictionary();
+        CompactEvent montreal = CompactEvent.of(event(1L, "Montreal"), written);
+        CompactEvent toronto = CompactEvent.of(event(2L, "Toronto"), written);
+        PageRequest pageable = PageRequest.of(1, 20, Sort.by(Sort.Order.asc("startTime").ignoreCase(),
+            Sort.Order.desc("id").nullsLast()));
+        EventSnapshot snapshot = new EventSnapshot(LocalDateTime.of(2025, 6, 1, 12, 0, 0, 500),
+            Map.of(1L, montreal, 2L, toronto), List.of(1L, 2L), List.of(2L),
+            List.of(new EventSnapshot.SearchPage("eventsByCity", "montreal", true, EventCategory.values()[0],
+                pageable, 21, List.of(1L))));
+        Path path = directory.resolve("snapshot.bin");
+        snapshot.write(path, written);
+
+        // Codes differ in the reading node's dictionary
+        StringDictionary reading = new StringDictionary();
+        reading.encode("Already here");
+        EventSnapshot read = EventSnapshot.read(path, reading);
+
+        assertThat(read.writtenAt()).isEqualTo(snapshot.writtenAt());
+        assertThat(read.events().get(1L).toEvent(reading)).isEqualTo(montreal.toEvent(written));
+        assertThat(read.events().get(2L).toEvent(reading)).isEqualTo(toronto.toEvent(written));
+        assertThat(read.upcomingIds()).containsExactly(1L, 2L);
+        assertThat(read.cachedIds()).containsExactly(2L);
+        assertThat(read.searches()).containsExactlyElementsOf(snapshot.searches());
+        // The temporary file was moved into place
+        assertThat(directory.toFile().list()).containsExactly("snapshot.bin");
+    }
+
+    @Test
+    void rejectsDamagedFiles() throws IOException {
+        StringDictionary dictionary = new StringDictionary();
+        EventSnapshot snapshot = new EventSnapshot(LocalDateTime.of(2025, 6, 1, 12, 0),
+            Map.of(1L, CompactEvent.of(event(1L, "Montreal"), dictionary)), List.of(1L), List.of(), List.of());
+        Path path = directory.resolve("snapshot.bin");
+        snapshot.write(path, dictionary);
+
+        byte[] bytes = Files.readAllBytes(path);
+        Files.write(path, Arrays.copyOf(bytes, bytes.length - 20));
+        assertThatThrownBy(() -> EventSnapshot.read(path, dictionary)).isInstanceOf(IOException.class);
+
+        bytes[bytes.length / 2] ^= 1;
+        Files.write(path, bytes);
+        assertThatThrownBy(() -> EventSnapshot.read(path, dictionary)).isInstanceOf(IOException.class);
+    }
+
+    private static Event event(long id, String city) {
+        Event event = new Event();
+        event.setId(id);
+        event.setName("Festival " + id);
+        event.setDescription("Street festival with food and music.");
+        event.setStartTime(LocalDateTime.of(2025, 7, 1, 11, 0));
+        event.setIsFree(true);
+        event.setExternalSource("CANADA_GOV");
+        event.setLocation(new Location(id + 10, "Parc " + city, null, city, "QC", null, null, null));
+        event.setCategory(EventCategory.values()[0]);
+        event.setApproved(true);
+        event.setViewCount(0L);
+        event.setClickCount(0L);
+        event.setUpdatedAt(LocalDateTime.of(2025, 6, 1, 11, 59, 59, 123_456_789));
+        return event;
+    }
+}
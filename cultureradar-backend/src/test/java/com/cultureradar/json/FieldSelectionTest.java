@@ -0,0 +1,49 @@
+package com.cultureradar.json;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FieldSelectionTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    void keepsSelectedTopLevelAndNestedFields() throws Exception {
+        JsonNode events = mapper.readTree("""
+            [{"id":1,"name":"Jazz","price":10,"location":{"city":"Montreal","address":"1 Rue"}},
+             {"id":2,"name":"Opera","location":null}]""");
+
+        FieldSelection.parse("id, location.city,name").apply(events);
+
+        assertThat(events).isEqualTo(mapper.readTree("""
+            [{"id":1,"name":"Jazz","location":{"city":"Montreal"}},
+             {"id":2,"name":"Opera","location":null}]"""));
+    }
+
+    @Test
+    void wholeObjectWinsOverNestedPath() throws Exception {
+        JsonNode event = mapper.readTree("""
+            {"id":1,"location":{"city":"Montreal","address":"1 Rue"}}""");
+
+        FieldSelection.parse("location.city,location").apply(event);
+
+        assertThat(event).isEqualTo(mapper.readTree("""
+            {"location":{"city":"Montreal","address":"1 Rue"}}"""));
+    }
+
+    @Test
+    void parsesBlankAndEquivalentSelections() {
+        assertThat(FieldSelection.parse(" ")).isNull();
+        assertThat(FieldSelection.parse("name,id")).isEqualTo(FieldSelection.parse("id, name"));
+
+        String tooMany = IntStream.range(0, 51).mapToObj(i -> "f" + i).collect(Collectors.joining(","));
+        assertThatThrownBy(() -> FieldSelection.parse(tooMany)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
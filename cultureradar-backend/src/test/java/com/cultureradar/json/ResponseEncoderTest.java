@@ -0,0 +1,27 @@
+package com.cultureradar.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResponseEncoderTest {
+
+    private final ResponseEncoder encoder =
+        new ResponseEncoder(new ObjectMapper(), new MappingJackson2CborHttpMessageConverter());
+
+    @Test
+    void selectsCborOnlyWhenExplicitlyAccepted() {
+        assertThat(encoder.negotiate("application/cbor")).isEqualTo(MediaType.APPLICATION_CBOR);
+        assertThat(encoder.negotiate("application/cbor, application/json;q=0.5")).isEqualTo(MediaType.APPLICATION_CBOR);
+        assertThat(encoder.negotiate("application/json, application/cbor")).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(encoder.negotiate("application/cbor;q=0.1, application/json")).isEqualTo(MediaType.APPLICATION_JSON);
+
+        assertThat(encoder.negotiate("*/*")).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(encoder.negotiate("application/*")).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(encoder.negotiate(null)).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(encoder.negotiate("not a media type")).isEqualTo(MediaType.APPLICATION_JSON);
+    }
+}
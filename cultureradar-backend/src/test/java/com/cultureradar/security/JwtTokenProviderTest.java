@@ -0,0 +1,44 @@
+package com.cultureradar.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.oauth2.server.resource.authentication.BearerTokenAuthenticationToken;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtTokenProviderTest {
+
+    private static final String SECRET = "a-test-secret-that-is-at-least-32-bytes";
+
+    private final JwtTokenProvider provider = new JwtTokenProvider(SECRET, 60);
+
+    @Test
+    void authenticatesIssuedTokensWithTheirRoles() {
+        String token = provider.generateToken(UsernamePasswordAuthenticationToken.authenticated(
+            "alice", null, AuthorityUtils.createAuthorityList("ROLE_USER", "ROLE_MODERATOR")));
+
+        Authentication authentication =
+            provider.getAuthenticationManager().authenticate(new BearerTokenAuthenticationToken(token));
+
+        assertThat(authentication.getName()).isEqualTo("alice");
+        // Roles are kept as issued, so hasRole("MODERATOR") matches
+        assertThat(authentication.getAuthorities()).extracting(GrantedAuthority::getAuthority)
+            .containsExactlyInAnyOrder("ROLE_USER", "ROLE_MODERATOR");
+    }
+
+    @Test
+    void rejectsTokensSignedWithAnotherKey() {
+        String token = new JwtTokenProvider("another-secret-that-is-at-least-32-bytes", 60)
+            .generateToken(UsernamePasswordAuthenticationToken.authenticated(
+                "mallory", null, AuthorityUtils.createAuthorityList("ROLE_ADMIN")));
+
+        assertThat(provider.validateToken(token)).isFalse();
+        assertThatThrownBy(() -> provider.getAuthenticationManager().authenticate(
+            new BearerTokenAuthenticationToken(token))).isInstanceOf(AuthenticationException.class);
+    }
+}
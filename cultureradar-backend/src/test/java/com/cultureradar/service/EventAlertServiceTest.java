@@ -0,0 +1,135 @@
+package com.cultureradar.service;
+
+import com.cultureradar.dto.SavedSearchDTO;
+import com.cultureradar.model.Event;
+import com.cultureradar.model.EventCategory;
+import com.cultureradar.model.Location;
+import com.cultureradar.model.Notification;
+import com.cultureradar.model.SavedSearch;
+import com.cultureradar.model.User;
+import com.cultureradar.repository.SavedSearchRepository;
+import com.cultureradar.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EventAlertServiceTest {
+
+    private SavedSearchRepository savedSearchRepository;
+    private NotificationService notificationService;
+    private ApplicationEventPublisher eventPublisher;
+    private EventAlertService service;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        savedSearchRepository = mock(SavedSearchRepository.class);
+        UserRepository userRepository = mock(UserRepository.class);
+        notificationService = mock(NotificationService.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        service = new EventAlertService(savedSearchRepository, userRepository, notificationService, eventPublisher);
+
+        user = new User();
+        user.setId(7L);
+        user.setUsername("alice");
+        user.setEmail("alice@example.com");
+        user.setEnabled(true);
+        when(userRepository.findByUsername("alice")).thenReturn(Optional.of(user));
+        when(userRepository.findAllById(any())).thenReturn(List.of(user));
+        when(savedSearchRepository.save(any(SavedSearch.class))).thenAnswer(invocation -> {
+            SavedSearch search = invocation.getArgument(0);
+            search.setId(1L);
+            return search;
+        });
+    }
+
+    @Test
+    void savedSearchIsMatchedOnlyOnceItsChangeIsApplied() {
+        service.createSavedSearch("alice", new SavedSearchDTO(null, "Montréal", null, false, null));
+
+        ArgumentCaptor<SavedSearchChangedEvent> published = ArgumentCaptor.forClass(SavedSearchChangedEvent.class);
+        verify(eventPublisher).publishEvent(published.capture());
+        assertThat(published.getValue().remote()).isFalse();
+
+        // Not committed yet, as far as the index knows
+        approve(event("Montreal"));
+        verify(notificationService, never()).enqueueAll(anyList());
+
+        service.onSavedSearchChanged(published.getValue());
+        approve(event("Montreal"));
+        verify(notificationService).enqueueAll(anyList());
+    }
+
+    @Test
+    void remoteChangesUpdateTheIndex() {
+        service.onSavedSearchChanged(new SavedSearchChangedEvent(SavedSearchChangedEvent.Type.SAVED, 1L, 7L,
+            "Toronto", EventCategory.values()[0], false, true));
+        approve(event("Toronto"));
+        verify(notificationService).enqueueAll(anyList());
+
+        clearInvocations(notificationService);
+        service.onSavedSearchChanged(new SavedSearchChangedEvent(SavedSearchChangedEvent.Type.DELETED, 1L, 7L,
+            null, null, false, true));
+        approve(event("Toronto"));
+        verify(notificationService, never()).enqueueAll(anyList());
+    }
+
+    @Test
+    void changesAppliedDuringAReloadWinOverTheLoadedState() {
+        SavedSearch search = new SavedSearch(1L, user, "Quebec", null, false, LocalDateTime.now());
+        when(savedSearchRepository.findAll()).thenAnswer(invocation -> {
+            // Deleted and committed after the rows were read
+            service.onSavedSearchChanged(SavedSearchChangedEvent.deleted(search));
+            return List.of(search);
+        });
+
+        service.reloadIndex();
+
+        approve(event("Quebec"));
+        verify(notificationService, never()).enqueueAll(anyList());
+    }
+
+    @Test
+    void reloadRestoresMissedChanges() {
+        when(savedSearchRepository.findAll())
+            .thenReturn(List.of(new SavedSearch(1L, user, "Quebec", null, false, LocalDateTime.now())));
+
+        service.reloadIndex();
+
+        approve(event("Québec"));
+        ArgumentCaptor<List<Notification>> digests = ArgumentCaptor.forClass(List.class);
+        verify(notificationService).enqueueAll(digests.capture());
+        assertThat(digests.getValue()).singleElement()
+            .satisfies(digest -> assertThat(digest.getRecipient()).isEqualTo("alice@example.com"));
+    }
+
+    private void approve(Event event) {
+        service.onEventsChanged(new EventChangedEvent(EventChangedEvent.Type.APPROVED, List.of(event)));
+    }
+
+    private static Event event(String city) {
+        Event event = new Event();
+        event.setId(100L);
+        event.setName("Concert");
+        event.setStartTime(LocalDateTime.now().plusDays(3));
+        event.setCategory(EventCategory.values()[0]);
+        event.setIsFree(false);
+        event.setPrice(20.0);
+        event.setLocation(new Location(5L, "Salle", null, city, "QC", null, null, null));
+        return event;
+    }
+}
@@ -0,0 +1,120 @@
+package com.cultureradar.service;
+
+import com.cultureradar.model.Event;
+import com.cultureradar.model.Location;
+import com.cultureradar.repository.EventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EventDeduplicatorTest {
+
+    private static final LocalDateTime START = LocalDateTime.now().plusDays(10).withHour(20).withMinute(0);
+
+    private final List<Event> stored = new ArrayList<>();
+    private EventRepository eventRepository;
+    private PlatformTransactionManager transactionManager;
+    private EventDeduplicator deduplicator;
+
+    @BeforeEach
+    void setUp() {
+        eventRepository = mock(EventRepository.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        when(eventRepository.findWithLocationByStartTimeWindow(any(), any())).thenAnswer(invocation -> {
+            LocalDateTime from = invocation.getArgument(0);
+            LocalDateTime to = invocation.getArgument(1);
+            return stored.stream()
+                .filter(e -> !e.getStartTime().isBefore(from) && e.getStartTime().isBefore(to))
+                .toList();
+        });
+        deduplicator = new EventDeduplicator(eventRepository, transactionManager, 120);
+    }
+
+    @Test
+    void matchesTheSameEventListedOnTheNextDay() {
+        stored.add(event(1L, "Jazz Night at the Old Port", "Montreal", START));
+
+        Event incoming = event(null, "Jazz night @ the old port!", "Montréal", START.plusHours(5));
+
+        assertThat(deduplicator.findDuplicate(incoming, new EventDeduplicator.Staged())).contains(1L);
+        assertThat(deduplicator.findDuplicate(event(null, "Jazz Night at the Old Port", "Toronto", START),
+            new EventDeduplicator.Staged())).isEmpty();
+        assertThat(deduplicator.findDuplicate(event(null, "Farmers Market", "Montreal", START),
+            new EventDeduplicator.Staged())).isEmpty();
+    }
+
+    @Test
+    void stagedEventsOnlyEnterTheIndexOnceCommitted() {
+        EventDeduplicator.Staged staged = new EventDeduplicator.Staged();
+        Event saved = event(2L, "Comedy Club Showcase", "Quebec", START);
+        // Load the day before the event is saved, as a batch would
+        assertThat(deduplicator.findDuplicate(saved, staged)).isEmpty();
+        deduplicator.stage(staged, saved);
+
+        // Later listings of the same batch see it
+        assertThat(deduplicator.findDuplicate(event(null, "Comedy Club Showcase", "Quebec", START), staged))
+            .contains(2L);
+        // A rolled-back batch leaves nothing behind
+        assertThat(deduplicator.findDuplicate(event(null, "Comedy Club Showcase", "Quebec", START),
+            new EventDeduplicator.Staged())).isEmpty();
+
+        deduplicator.onEventsChanged(new EventChangedEvent(EventChangedEvent.Type.CREATED, List.of(saved)));
+        assertThat(deduplicator.findDuplicate(event(null, "Comedy Club Showcase", "Quebec", START),
+            new EventDeduplicator.Staged())).contains(2L);
+    }
+
+    @Test
+    void deletedEventsNoLongerMatch() {
+        Event existing = event(3L, "Open Air Cinema", "Gatineau", START);
+        stored.add(existing);
+        assertThat(deduplicator.findDuplicate(event(null, "Open Air Cinema", "Gatineau", START),
+            new EventDeduplicator.Staged())).contains(3L);
+
+        deduplicator.onEventsChanged(new EventChangedEvent(EventChangedEvent.Type.DELETED, List.of(existing)));
+
+        assertThat(deduplicator.findDuplicate(event(null, "Open Air Cinema", "Gatineau", START),
+            new EventDeduplicator.Staged())).isEmpty();
+    }
+
+    @Test
+    void readsDaysInTheirOwnReadOnlyTransaction() {
+        stored.add(event(4L, "Street Food Festival", "Laval", START));
+        Event incoming = event(null, "Street Food Festival", "Laval", START);
+        deduplicator.preload(List.of(incoming));
+
+        ArgumentCaptor<TransactionDefinition> definition = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager, times(3)).getTransaction(definition.capture());
+        assertThat(definition.getValue().isReadOnly()).isTrue();
+        assertThat(definition.getValue().getPropagationBehavior())
+            .isEqualTo(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        // Matching a preloaded batch reads nothing more
+        clearInvocations(eventRepository);
+        assertThat(deduplicator.findDuplicate(incoming, new EventDeduplicator.Staged())).contains(4L);
+        verify(eventRepository, never()).findWithLocationByStartTimeWindow(any(), any());
+    }
+
+    private static Event event(Long id, String name, String city, LocalDateTime start) {
+        Event event = new Event();
+        event.setId(id);
+        event.setName(name);
+        event.setStartTime(start);
+        event.setLocation(new Location(null, "Quai Jacques-Cartier", null, city, "QC", null, null, null));
+        return event;
+    }
+}
@@ -0,0 +1,119 @@
+package com.cultureradar.service;
+
+import com.cultureradar.model.Event;
+import com.cultureradar.model.EventCategory;
+import com.cultureradar.model.Location;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EventImportServiceTest {
+
+    private static final String CATEGORY = EventCategory.values()[0].name();
+
+    private JdbcTemplate jdbcTemplate;
+    private PlatformTransactionManager transactionManager;
+    private LocationService locationService;
+    private ApplicationEventPublisher eventPublisher;
+    private EventImportService service;
+    private final List<String> inserted = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        locationService = mock(LocationService.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        service = new EventImportService(jdbcTemplate, transactionManager, locationService,
+            Validation.buildDefaultValidatorFactory().getValidator(), new ObjectMapper().findAndRegisterModules(),
+            eventPublisher, new SimpleMeterRegistry(), 2, 1000, 10, 1000);
+
+        Location venue = new Location(9L, "Salle Wilfrid", null, "Montreal", "QC", null, 45.5, -73.6);
+        when(locationService.prepare(anyCollection()))
+            .thenReturn(new LocationService.Resolution(Map.of(LocationService.key(venue), venue), List.of()));
+        when(locationService.save(any())).thenAnswer(invocation ->
+            invocation.<LocationService.Resolution>getArgument(0).locations());
+
+        AtomicLong ids = new AtomicLong(100);
+        when(jdbcTemplate.batchUpdate(any(PreparedStatementCreator.class), any(BatchPreparedStatementSetter.class),
+                any(KeyHolder.class))).thenAnswer(invocation -> {
+            BatchPreparedStatementSetter setter = invocation.getArgument(1);
+            KeyHolder keys = invocation.getArgument(2);
+            for (int i = 0; i < setter.getBatchSize(); i++) {
+                PreparedStatement statement = mock(PreparedStatement.class);
+                setter.setValues(statement, i);
+                ArgumentCaptor<String> name = ArgumentCaptor.forClass(String.class);
+                verify(statement).setString(eq(1), name.capture());
+                inserted.add(name.getValue());
+                keys.getKeyList().add(Map.of("id", ids.incrementAndGet()));
+            }
+            return new int[setter.getBatchSize()];
+        });
+    }
+
+    @Test
+    void importsValidRowsInChunksAndReportsTheRest() throws Exception {
+        String csv = """
+            name,start_time,category,venue,city
+            Jazz,2026-07-01 20:00,%1$s,Salle Wilfrid,Montreal
+            Opera,not a date,%1$s,,
+            Theatre,2026-07-02T19:30,,,
+            Ballet,2026-07-03T19:30:00,%1$s,,
+            Choir,2026-07-04 18:00,%1$s,Salle Wilfrid,Montréal
+            """.formatted(CATEGORY);
+
+        EventImportService.ImportReport report = service.importEvents(
+            new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), EventImportService.Format.CSV,
+            StandardCharsets.UTF_8, "PARTNER");
+
+        assertThat(report.rows()).isEqualTo(5);
+        assertThat(report.imported()).isEqualTo(3);
+        assertThat(report.rejected()).isEqualTo(2);
+        assertThat(report.errors()).extracting(EventImportService.RowError::row).containsExactly(3L, 4L);
+        assertThat(report.errors().get(1).message()).isEqualTo("Category is required");
+        assertThat(inserted).containsExactly("Jazz", "Ballet", "Choir");
+
+        // Venues are matched and geocoded before each chunk's transaction opens
+        InOrder order = inOrder(locationService, transactionManager);
+        for (int chunk = 0; chunk < 3; chunk++) {
+            order.verify(locationService).prepare(anyCollection());
+            order.verify(transactionManager).getTransaction(any());
+            order.verify(locationService).save(any());
+        }
+
+        ArgumentCaptor<EventChangedEvent> published = ArgumentCaptor.forClass(EventChangedEvent.class);
+        verify(eventPublisher, times(3)).publishEvent(published.capture());
+        List<Event> created = published.getAllValues().stream().flatMap(change -> change.events().stream()).toList();
+        assertThat(created).extracting(Event::getId).containsExactly(101L, 102L, 103L);
+        assertThat(created.get(2).getLocation().getId()).isEqualTo(9L);
+        assertThat(created).allSatisfy(event -> assertThat(event.getExternalSource()).isEqualTo("PARTNER"));
+    }
+}
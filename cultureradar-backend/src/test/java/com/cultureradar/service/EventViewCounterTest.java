@@ -0,0 +1,102 @@
+package com.cultureradar.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class EventViewCounterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private JdbcTemplate jdbcTemplate;
+    private EventViewCounter counter;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        counter = new EventViewCounter(jdbcTemplate, mock(PlatformTransactionManager.class), meterRegistry,
+            100, 500);
+    }
+
+    @Test
+    void failedFlushIsWrittenByTheNextOne() {
+        List<List<Object[]>> written = new ArrayList<>();
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+            .thenThrow(new QueryTimeoutException("statement timeout"))
+            .thenAnswer(invocation -> {
+                written.add(new ArrayList<>(invocation.<List<Object[]>>getArgument(1)));
+                return new int[0];
+            });
+
+        counter.recordView(1L);
+        counter.recordView(1L);
+        counter.recordClick(2L);
+        counter.flush();
+        assertThat(meterRegistry.counter("cultureradar.counters.flush.failures").count()).isEqualTo(1);
+
+        counter.recordView(1L);
+        counter.flush();
+
+        assertThat(written).singleElement().satisfies(rows -> assertThat(rows).containsExactly(
+            new Object[]{3L, 0L, 1L},
+            new Object[]{0L, 1L, 2L}));
+    }
+
+    @Test
+    void noIncrementIsLostToConcurrentFlushes() throws InterruptedException {
+        // Every third flush fails; idle counters are removed while views keep arriving
+        AtomicInteger flushes = new AtomicInteger();
+        Map<Long, Long> stored = new ConcurrentHashMap<>();
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(invocation -> {
+            if (flushes.incrementAndGet() % 3 == 0) {
+                throw new QueryTimeoutException("statement timeout");
+            }
+            for (Object[] row : invocation.<List<Object[]>>getArgument(1)) {
+                stored.merge((Long) row[2], (Long) row[0], Long::sum);
+            }
+            return new int[0];
+        });
+
+        int threads = 4;
+        int viewsPerThread = 20_000;
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < viewsPerThread; i++) {
+                    counter.recordView((long) (i % 8));
+                }
+                done.countDown();
+            });
+        }
+        AtomicBoolean flushing = new AtomicBoolean(true);
+        Thread flusher = Thread.ofPlatform().start(() -> {
+            while (flushing.get()) {
+                counter.flush();
+            }
+        });
+        done.await();
+        flushing.set(false);
+        flusher.join();
+
+        // At most one of two consecutive flushes fails
+        counter.flush();
+        counter.flush();
+        assertThat(stored.values().stream().mapToLong(Long::longValue).sum()).isEqualTo((long) threads * viewsPerThread);
+    }
+}
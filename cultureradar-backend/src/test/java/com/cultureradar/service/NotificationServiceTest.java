@@ -0,0 +1,145 @@
+package com.cultureradar.service;
+
+import com.cultureradar.model.Notification;
+import com.cultureradar.model.NotificationStatus;
+import com.cultureradar.repository.NotificationRepository;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class NotificationServiceTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    private final List<Notification> queue = new ArrayList<>();
+    private NotificationRepository repository;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        queue.clear();
+        meterRegistry = new SimpleMeterRegistry();
+        repository = mock(NotificationRepository.class);
+
+        // Hand out due notifications from the in-memory queue, honouring the page size
+        when(repository.findDueForUpdate(anyCollection(), any(LocalDateTime.class), any(Pageable.class)))
+            .thenAnswer(invocation -> {
+                LocalDateTime now = invocation.getArgument(1);
+                Pageable pageable = invocation.getArgument(2);
+                return queue.stream()
+                    .filter(n -> n.getStatus() == NotificationStatus.PENDING)
+                    .filter(n -> !n.getNextAttemptAt().isAfter(now))
+                    .limit(pageable.getPageSize())
+                    .toList();
+            });
+        when(repository.saveAll(anyCollection())).thenAnswer(invocation -> new ArrayList<>(invocation.getArgument(0)));
+    }
+
+    private NotificationService createService(int port) {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(port);
+
+        NotificationService service = new NotificationService(
+            repository, mailSender, mock(PlatformTransactionManager.class), meterRegistry);
+        ReflectionTestUtils.setField(service, "batchSize", 2);
+        return service;
+    }
+
+    private void givenQueued(int count) {
+        for (int i = 0; i < count; i++) {
+            Notification notification = new Notification("user" + i + "@example.com", "New free events", "Body " + i);
+            notification.setNextAttemptAt(LocalDateTime.now().minusSeconds(1));
+            queue.add(notification);
+        }
+    }
+
+    @Test
+    void drainQueueDeliversAllDueNotificationsInBatches() {
+        NotificationService service = createService(greenMail.getSmtp().getPort());
+        givenQueued(5);
+
+        service.drainQueue();
+
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertThat(received).hasSize(5);
+        assertThat(queue).allMatch(n -> n.getStatus() == NotificationStatus.SENT && n.getSentAt() != null);
+        assertThat(meterRegistry.counter("cultureradar.notifications.sent").count()).isEqualTo(5);
+        assertThat(meterRegistry.timer("cultureradar.notifications.batch").count()).isEqualTo(3);
+    }
+
+    @Test
+    void drainQueueRespectsSendRate() {
+        NotificationService service = createService(greenMail.getSmtp().getPort());
+        ReflectionTestUtils.setField(service, "ratePerSecond", 3);
+        givenQueued(10);
+
+        service.drainQueue();
+
+        assertThat(greenMail.getReceivedMessages()).hasSize(3);
+        assertThat(queue.stream().filter(n -> n.getStatus() == NotificationStatus.PENDING)).hasSize(7);
+    }
+
+    @Test
+    void failedDeliveryIsRescheduledWithBackoff() {
+        // The port is only known while the server runs
+        int port = greenMail.getSmtp().getPort();
+        greenMail.stop();
+        NotificationService service = createService(port);
+        givenQueued(1);
+
+        LocalDateTime before = LocalDateTime.now();
+        service.drainQueue();
+
+        Notification notification = queue.get(0);
+        assertThat(notification.getStatus()).isEqualTo(NotificationStatus.PENDING);
+        assertThat(notification.getAttempts()).isEqualTo(1);
+        assertThat(notification.getLastError()).isNotBlank();
+        assertThat(notification.getNextAttemptAt()).isAfterOrEqualTo(before.plusSeconds(30));
+        assertThat(meterRegistry.counter("cultureradar.notifications.retried").count()).isEqualTo(1);
+    }
+
+    @Test
+    void notificationIsAbandonedAfterMaxAttempts() {
+        // The port is only known while the server runs
+        int port = greenMail.getSmtp().getPort();
+        greenMail.stop();
+        NotificationService service = createService(port);
+        givenQueued(1);
+        queue.get(0).setAttempts(5);
+
+        service.drainQueue();
+
+        assertThat(queue.get(0).getStatus()).isEqualTo(NotificationStatus.FAILED);
+        assertThat(meterRegistry.counter("cultureradar.notifications.failed").count()).isEqualTo(1);
+    }
+
+    @Test
+    void backoffDoublesUpToTheCap() {
+        NotificationService service = createService(greenMail.getSmtp().getPort());
+
+        assertThat(service.backoff(1).getSeconds()).isEqualTo(30);
+        assertThat(service.backoff(2).getSeconds()).isEqualTo(60);
+        assertThat(service.backoff(4).getSeconds()).isEqualTo(240);
+        assertThat(service.backoff(20).getSeconds()).isEqualTo(3600);
+    }
+}
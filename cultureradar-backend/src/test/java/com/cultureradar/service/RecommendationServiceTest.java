@@ -0,0 +1,122 @@
+package com.cultureradar.service;
+
+import com.cultureradar.cache.CompactEvent;
+import com.cultureradar.model.Event;
+import com.cultureradar.model.EventCategory;
+import com.cultureradar.model.Location;
+import com.cultureradar.model.User;
+import com.cultureradar.repository.EventRepository;
+import com.cultureradar.repository.UserRepository;
+import com.cultureradar.util.StringDictionary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RecommendationServiceTest {
+
+    private static final EventCategory MUSIC = EventCategory.values()[0];
+    private static final EventCategory THEATRE = EventCategory.values()[1];
+
+    private final StringDictionary dictionary = new StringDictionary();
+    private EventRepository eventRepository;
+    private UserRepository userRepository;
+    private RecommendationService service;
+
+    private final Event montreal = event(1L, "Montreal", "QC", MUSIC, 45.50, -73.57);
+    private final Event quebec = event(2L, "Quebec", "QC", THEATRE, 46.81, -71.21);
+    private final Event toronto = event(3L, "Toronto", "ON", THEATRE, 43.65, -79.38);
+
+    @BeforeEach
+    void setUp() {
+        eventRepository = mock(EventRepository.class);
+        userRepository = mock(UserRepository.class);
+        service = new RecommendationService(eventRepository, userRepository, dictionary);
+
+        User user = new User();
+        user.setUsername("alice");
+        user.setCity("Montréal");
+        user.setProvince("QC");
+        when(userRepository.findByUsername("alice")).thenReturn(Optional.of(user));
+        when(userRepository.findByUsernameIn(any())).thenReturn(List.of(user));
+        when(eventRepository.findByApprovedTrueAndStartTimeBetween(any(), any()))
+            .thenReturn(List.of(montreal, quebec, toronto));
+    }
+
+    @Test
+    void scoresTheProvinceByCityAndCategoryAffinity() {
+        service.refreshCandidates();
+
+        // Same city, no affinity yet
+        assertThat(ids(service.getRecommendations("alice", null, null, 10))).containsExactly(1L, 2L);
+
+        service.recordView("alice", quebec);
+        service.refreshCandidates();
+        assertThat(ids(service.getRecommendations("alice", null, null, 10))).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void proximityReranksTheCandidates() {
+        service.recordView("alice", quebec);
+        service.refreshCandidates();
+
+        assertThat(ids(service.getRecommendations("alice", 45.50, -73.57, 10))).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void approvedEventsJoinThePoolsAndDeletedOnesLeaveThem() {
+        when(eventRepository.findByApprovedTrueAndStartTimeBetween(any(), any())).thenReturn(List.of(montreal));
+        when(userRepository.findByUsernameIn(any())).thenReturn(List.of());
+        service.refreshCandidates();
+
+        service.onEventsChanged(new EventChangedEvent(EventChangedEvent.Type.APPROVED, List.of(quebec)));
+        service.onEventsChanged(new EventChangedEvent(EventChangedEvent.Type.DELETED, List.of(montreal)));
+
+        // Scored on the first request, against the updated province pool
+        assertThat(ids(service.getRecommendations("alice", null, null, 10))).containsExactly(2L);
+    }
+
+    @Test
+    void coldStartBeforeTheFirstRefreshIsNotCached() {
+        assertThat(service.getRecommendations("alice", null, null, 10)).isEmpty();
+
+        // A restore does not rescore users; the next request must
+        service.restoreUpcomingEvents(List.of(CompactEvent.of(montreal, dictionary), CompactEvent.of(quebec, dictionary)));
+        assertThat(ids(service.getRecommendations("alice", null, null, 10))).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void restoreIsIgnoredOnceRefreshed() {
+        when(eventRepository.findByApprovedTrueAndStartTimeBetween(any(), any())).thenReturn(List.of());
+        service.refreshCandidates();
+
+        service.restoreUpcomingEvents(List.of(CompactEvent.of(montreal, dictionary)));
+
+        assertThat(service.getUpcomingEvents()).isEmpty();
+    }
+
+    private static List<Long> ids(List<Event> events) {
+        return events.stream().map(Event::getId).toList();
+    }
+
+    private static Event event(long id, String city, String province, EventCategory category,
+                               double latitude, double longitude) {
+        Event event = new Event();
+        event.setId(id);
+        event.setName("Event " + id);
+        event.setStartTime(LocalDateTime.now().plusDays(2));
+        event.setCategory(category);
+        event.setIsFree(false);
+        event.setPrice(25.0);
+        event.setApproved(true);
+        event.setLocation(new Location(id + 10, "Venue " + id, null, city, province, null, latitude, longitude));
+        return event;
+    }
+}
@@ -0,0 +1,25 @@
+package com.cultureradar.service.api.resilience;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimitTest {
+
+    @Test
+    void backsOffOnSlowCallsAndGrowsWhileBusy() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 1, 20, 100, 0.5);
+        for (int i = 0; i < 10; i++) {
+            assertThat(limit.tryAcquire()).isTrue();
+        }
+        assertThat(limit.tryAcquire()).isFalse();
+
+        limit.release(500, false);
+        assertThat(limit.getLimit()).isEqualTo(5);
+        for (int i = 0; i < 9; i++) {
+            limit.release(10, false);
+        }
+        assertThat(limit.getInFlight()).isZero();
+        assertThat(limit.getLimit()).isBetween(5, 6);
+    }
+}
@@ -0,0 +1,58 @@
+package com.cultureradar.service.api.resilience;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CircuitBreakerTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final CircuitBreaker breaker = new CircuitBreaker(10, 4, 0.5, 1_000, 2, now::get);
+
+    @Test
+    void opensWhenTheFailureRateIsReached() {
+        call(true);
+        call(true);
+        call(false);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+
+        call(true);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquire()).isFalse();
+    }
+
+    @Test
+    void closesAfterSuccessfulTrialCallsAndReopensOnFailure() {
+        for (int i = 0; i < 4; i++) {
+            call(true);
+        }
+        now.addAndGet(1_000);
+
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.tryAcquire()).isTrue();
+        // Only two trial calls at a time
+        assertThat(breaker.tryAcquire()).isFalse();
+        breaker.onSuccess();
+        breaker.onFailure();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        now.addAndGet(1_000);
+        call(false);
+        call(false);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        // The window starts over, so earlier failures are forgotten
+        call(true);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    private void call(boolean fails) {
+        assertThat(breaker.tryAcquire()).isTrue();
+        if (fails) {
+            breaker.onFailure();
+        } else {
+            breaker.onSuccess();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.cultureradar.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CountMinSketchTest {
+
+    @Test
+    void neverUndercountsAndStaysWithinTheErrorBound() {
+        CountMinSketch sketch = new CountMinSketch(256, 4, 11);
+        Map<Long, Long> exact = new HashMap<>();
+        Random random = new Random(3);
+        for (int i = 0; i < 50_000; i++) {
+            long key = random.nextInt(5_000);
+            int count = 1 + random.nextInt(3);
+            sketch.add(key, count);
+            exact.merge(key, (long) count, Long::sum);
+        }
+
+        // e / width of the total, exceeded by at most e^-4 (under 2%) of the keys
+        long bound = (long) Math.ceil(Math.E / 256 * sketch.total());
+        long overBound = 0;
+        for (Map.Entry<Long, Long> entry : exact.entrySet()) {
+            long estimate = sketch.estimate(entry.getKey());
+            assertThat(estimate).isGreaterThanOrEqualTo(entry.getValue());
+            if (estimate - entry.getValue() > bound) {
+                overBound++;
+            }
+        }
+        assertThat(overBound).isLessThan(exact.size() / 50);
+        assertThat(sketch.total()).isEqualTo(exact.values().stream().mapToLong(Long::longValue).sum());
+    }
+
+    @Test
+    void saturatesAndResets() {
+        CountMinSketch sketch = new CountMinSketch(100, 2, 1);
+        sketch.add(42, Integer.MAX_VALUE);
+        sketch.add(42, 10);
+
+        assertThat(sketch.estimate(42)).isEqualTo(Integer.MAX_VALUE);
+
+        sketch.reset();
+        assertThat(sketch.estimate(42)).isZero();
+        assertThat(sketch.total()).isZero();
+    }
+}
@@ -0,0 +1,41 @@
+package com.cultureradar.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CsvReaderTest {
+
+    @Test
+    void readsQuotedFieldsAcrossLines() throws Exception {
+        CsvReader reader = new CsvReader(new StringReader(
+            "name,description,price\r\n"
+                + "\"Jazz, live\",\"Two sets\nwith \"\"guests\"\"\",12.5\r\n"
+                + "\n"
+                + "Open air,,\n"), ',', 1000);
+
+        assertThat(reader.next()).containsExactly("name", "description", "price");
+        assertThat(reader.next()).containsExactly("Jazz, live", "Two sets\nwith \"guests\"", "12.5");
+        assertThat(reader.getRecordLine()).isEqualTo(2);
+        assertThat(reader.next()).containsExactly("Open air", "", "");
+        assertThat(reader.getRecordLine()).isEqualTo(5);
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    void rejectsUnterminatedQuotesAndOversizedFields() throws Exception {
+        CsvReader unterminated = new CsvReader(new StringReader("a,\"b\nc"), ',', 1000);
+        assertThatThrownBy(unterminated::next).isInstanceOf(IOException.class);
+
+        CsvReader oversized = new CsvReader(new StringReader("x".repeat(11)), ',', 10);
+        assertThatThrownBy(oversized::next).isInstanceOf(IOException.class);
+
+        CsvReader lastLine = new CsvReader(new StringReader("a;b"), ';', 10);
+        assertThat(lastLine.next()).isEqualTo(List.of("a", "b"));
+    }
+}
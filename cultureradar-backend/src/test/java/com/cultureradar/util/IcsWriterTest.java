@@ -0,0 +1,38 @@
+package com.cultureradar.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IcsWriterTest {
+
+    @Test
+    void escapesTextAndFormatsUtcDateTimes() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new IcsWriter(out)
+            .text("SUMMARY", "Jazz, blues; and \\ more\r\nTonight")
+            .text("DESCRIPTION", null)
+            .dateTime("DTSTART", Instant.parse("2026-07-01T19:30:00Z"));
+
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(
+            "SUMMARY:Jazz\\, blues\\; and \\\\ more\\nTonight\r\n"
+                + "DTSTART:20260701T193000Z\r\n");
+    }
+
+    @Test
+    void foldsLongLinesWithoutSplittingCharacters() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        String value = "\u00e9".repeat(100);
+        new IcsWriter(out).text("SUMMARY", value);
+
+        String written = out.toString(StandardCharsets.UTF_8);
+        for (String line : written.split("\r\n")) {
+            assertThat(line.getBytes(StandardCharsets.UTF_8).length).isLessThanOrEqualTo(75);
+        }
+        assertThat(written.replace("\r\n ", "")).isEqualTo("SUMMARY:" + value + "\r\n");
+    }
+}
@@ -0,0 +1,65 @@
+package com.cultureradar.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IntervalTreeTest {
+
+    private final IntervalTree<Integer, Long> tree = new IntervalTree<>();
+
+    @Test
+    void stabReturnsIntervalsContainingThePoint() {
+        tree.insert(10, 20, 1L);
+        tree.insert(15, 30, 2L);
+        tree.insert(25, 26, 3L);
+        tree.insert(0, 100, 4L);
+
+        assertThat(tree.stab(10)).containsExactly(4L, 1L);
+        assertThat(tree.stab(20)).containsExactly(4L, 2L);
+        assertThat(tree.stab(25)).containsExactly(4L, 2L, 3L);
+        assertThat(tree.stab(100)).isEmpty();
+    }
+
+    @Test
+    void removedIntervalsAreNoLongerReturned() {
+        tree.insert(10, 20, 1L);
+        tree.insert(10, 20, 2L);
+
+        assertThat(tree.remove(10, 20, 1L)).isTrue();
+        assertThat(tree.remove(10, 20, 1L)).isFalse();
+        assertThat(tree.stab(15)).containsExactly(2L);
+        assertThat(tree.size()).isEqualTo(1);
+    }
+
+    @Test
+    void matchesBruteForceUnderRandomInsertsAndRemovals() {
+        Random random = new Random(42);
+        List<int[]> expected = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            if (expected.isEmpty() || random.nextInt(3) > 0) {
+                int start = random.nextInt(1_000);
+                int[] interval = {start, start + random.nextInt(50), i};
+                tree.insert(interval[0], interval[1], (long) interval[2]);
+                expected.add(interval);
+            } else {
+                int[] interval = expected.remove(random.nextInt(expected.size()));
+                assertThat(tree.remove(interval[0], interval[1], (long) interval[2])).isTrue();
+            }
+
+            if (i % 100 == 0) {
+                int point = random.nextInt(1_050);
+                List<Long> hits = expected.stream()
+                    .filter(interval -> interval[0] <= point && point < interval[1])
+                    .map(interval -> (long) interval[2])
+                    .toList();
+                assertThat(tree.stab(point)).containsExactlyInAnyOrderElementsOf(hits);
+            }
+        }
+        assertThat(tree.size()).isEqualTo(expected.size());
+    }
+}
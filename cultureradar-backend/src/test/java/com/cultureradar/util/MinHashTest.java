@@ -0,0 +1,36 @@
+package com.cultureradar.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MinHashTest {
+
+    private final MinHash minHash = new MinHash(128, 3, 42);
+
+    @Test
+    void estimatesJaccardSimilarityOfShingles() {
+        int[] a = minHash.signature("jazz night at the old port");
+
+        assertThat(MinHash.similarity(a, minHash.signature("jazz night at the old port"))).isEqualTo(1.0);
+        // 22 of 27 distinct shingles shared: Jaccard 0.81
+        assertThat(MinHash.similarity(a, minHash.signature("jazz nights at the old port")))
+            .isBetween(0.7, 0.92);
+        assertThat(MinHash.similarity(a, minHash.signature("farmers market downtown"))).isLessThan(0.15);
+    }
+
+    @Test
+    void signaturesAreOnlyComparableUnderTheSameSeed() {
+        MinHash sameSeed = new MinHash(128, 3, 42);
+        MinHash otherSeed = new MinHash(128, 3, 43);
+
+        assertThat(sameSeed.signature("theatre")).isEqualTo(minHash.signature("theatre"));
+        assertThat(MinHash.similarity(otherSeed.signature("theatre"), minHash.signature("theatre"))).isLessThan(0.2);
+    }
+
+    @Test
+    void handlesTextsShorterThanAShingle() {
+        assertThat(minHash.signature("ab")).hasSize(minHash.numHashes());
+        assertThat(minHash.signature("")).containsOnly(Integer.MAX_VALUE);
+    }
+}
@@ -0,0 +1,84 @@
+package com.cultureradar.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    private final SingleFlight<String, String> singleFlight = new SingleFlight<>();
+
+    @Test
+    void concurrentCallsForTheSameKeyShareOneComputation() throws Exception {
+        AtomicInteger computations = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            Future<String> leader = executor.submit(() -> singleFlight.execute("montreal", () -> {
+                computations.incrementAndGet();
+                started.countDown();
+                await(release);
+                return "result";
+            }));
+            started.await();
+
+            List<Future<String>> followers = new ArrayList<>();
+            for (int i = 0; i < 7; i++) {
+                followers.add(executor.submit(() -> singleFlight.execute("montreal", () -> {
+                    computations.incrementAndGet();
+                    return "other";
+                })));
+            }
+            // Let the followers reach the in-flight computation before it completes
+            while (singleFlight.getSharedCount() < 7) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("result");
+            for (Future<String> follower : followers) {
+                assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo("result");
+            }
+        }
+        assertThat(computations).hasValue(1);
+    }
+
+    @Test
+    void completedComputationsAreNotCached() {
+        AtomicInteger computations = new AtomicInteger();
+
+        singleFlight.execute("toronto", () -> "v" + computations.incrementAndGet());
+        String second = singleFlight.execute("toronto", () -> "v" + computations.incrementAndGet());
+
+        assertThat(second).isEqualTo("v2");
+        assertThat(singleFlight.getSharedCount()).isZero();
+    }
+
+    @Test
+    void failureIsRethrownAndDoesNotPoisonTheKey() {
+        assertThatThrownBy(() -> singleFlight.execute("quebec", () -> {
+            throw new IllegalStateException("database down");
+        })).isInstanceOf(IllegalStateException.class).hasMessage("database down");
+
+        assertThat(singleFlight.execute("quebec", () -> "recovered")).isEqualTo("recovered");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.cultureradar.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SpaceSavingTest {
+
+    @Test
+    void keepsHeavyHittersAmongManyRareKeys() {
+        SpaceSaving summary = new SpaceSaving(16);
+        CountMinSketch sketch = new CountMinSketch(256, 4, 1);
+        Random random = new Random(7);
+        for (int i = 0; i < 100_000; i++) {
+            // Keys 1-3 take 30% of the traffic, the rest is spread over 50,000 keys
+            long key = random.nextInt(10) < 3 ? 1 + random.nextInt(3) : 1_000 + random.nextInt(50_000);
+            summary.add(key, 1);
+            sketch.add(key, 1);
+        }
+
+        List<Long> top = summary.entries().stream()
+            .sorted(Comparator.comparingLong(SpaceSaving.Entry::count).reversed())
+            .limit(3)
+            .map(SpaceSaving.Entry::key)
+            .toList();
+        assertThat(top).containsExactlyInAnyOrder(1L, 2L, 3L);
+        assertThat(sketch.estimate(1)).isBetween(9_000L, 11_000L + sketch.total() / 64);
+        assertThat(sketch.total()).isEqualTo(100_000);
+    }
+
+    @Test
+    void countsAreUpperBoundsWithinTheirError() {
+        SpaceSaving summary = new SpaceSaving(2);
+        summary.add(1, 5);
+        summary.add(2, 3);
+        summary.add(3, 1);
+
+        assertThat(summary.entries()).containsExactlyInAnyOrder(
+            new SpaceSaving.Entry(1, 5, 0),
+            new SpaceSaving.Entry(3, 4, 3));
+    }
+}
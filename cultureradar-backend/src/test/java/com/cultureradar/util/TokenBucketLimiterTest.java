@@ -0,0 +1,38 @@
+package com.cultureradar.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void allowsABurstThenRefillsAtTheConfiguredRate() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(3, 2, 100);
+        long now = 1_000 * SECOND;
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire("client", now)).isZero();
+        }
+        assertThat(limiter.tryAcquire("client", now)).isEqualTo(SECOND / 2);
+        // Other clients have their own bucket
+        assertThat(limiter.tryAcquire("other", now)).isZero();
+
+        assertThat(limiter.tryAcquire("client", now + SECOND / 2)).isZero();
+        assertThat(limiter.tryAcquire("client", now + SECOND / 2)).isPositive();
+    }
+
+    @Test
+    void forgetsIdleClientsToStayBounded() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(1, 1, 10);
+        for (int i = 0; i < 1_000; i++) {
+            limiter.tryAcquire("client-" + i, 0);
+        }
+        assertThat(limiter.size()).isLessThanOrEqualTo(10);
+        // A client seen in the previous generation keeps its bucket
+        assertThat(limiter.tryAcquire("client-999", 0)).isPositive();
+    }
+}
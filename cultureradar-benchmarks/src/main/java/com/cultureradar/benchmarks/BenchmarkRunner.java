@@ -0,0 +1,189 @@
+package com.cultureradar.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Runs the benchmarks with the GC profiler attached and compares the
+ * results with a baseline JMH JSON file.
+ *
+ * <p>Accepts the usual JMH command line, plus:
+ * <ul>
+ *   <li>{@code --baseline=<file>}: baseline to compare with (default {@code baseline/results.json})</li>
+ *   <li>{@code --threshold=<percent>}: allowed slowdown or allocation growth (default 10)</li>
+ *   <li>{@code --update-baseline}: replace the baseline with this run's results instead of comparing</li>
+ * </ul>
+ * Exits with status 1 when any benchmark regressed beyond the threshold, and
+ * also when the baseline has entries but none of the benchmarks that ran,
+ * since that points at renamed benchmarks or parameters. A missing or empty
+ * baseline only prints a warning, as none has been recorded on the
+ * reference machine yet. Results are written to
+ * {@code target/jmh-results.json}.
+ */
+public class BenchmarkRunner {
+
+    private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+
+    private record Score(double score, Double allocatedBytes) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path baselinePath = Path.of("baseline/results.json");
+        double threshold = 10;
+        boolean updateBaseline = false;
+        List<String> jmhArgs = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.equals("--update-baseline")) {
+                updateBaseline = true;
+            } else if (arg.startsWith("--baseline=")) {
+                baselinePath = Path.of(arg.substring("--baseline=".length()));
+            } else if (arg.startsWith("--threshold=")) {
+                threshold = Double.parseDouble(arg.substring("--threshold=".length()));
+            } else {
+                jmhArgs.add(arg);
+            }
+        }
+
+        Path resultPath = Path.of("target/jmh-results.json");
+        Files.createDirectories(resultPath.getParent());
+        Options options = new OptionsBuilder()
+            .parent(new CommandLineOptions(jmhArgs.toArray(new String[0])))
+            .addProfiler(GCProfiler.class)
+            .resultFormat(ResultFormatType.JSON)
+            .result(resultPath.toString())
+            .build();
+
+        Collection<RunResult> results = new Runner(options).run();
+
+        if (updateBaseline) {
+            Files.createDirectories(baselinePath.toAbsolutePath().getParent());
+            Files.copy(resultPath, baselinePath, StandardCopyOption.REPLACE_EXISTING);
+            System.out.printf("Baseline %s replaced with the results of this run%n", baselinePath);
+            return;
+        }
+
+        Map<String, Score> baseline = readBaseline(baselinePath);
+        if (baseline.isEmpty()) {
+            System.err.printf("WARNING: no baseline entries in %s, so nothing was compared.%n"
+                + "Run the full suite on the reference machine with --update-baseline to record one.%n", baselinePath);
+            return;
+        }
+        Comparison comparison = compare(results, baseline, threshold);
+        if (comparison.compared() == 0) {
+            System.err.printf("FAILED: none of the benchmarks that ran are in %s, so nothing was compared.%n",
+                baselinePath);
+            System.exit(1);
+        }
+        if (comparison.regressions() > 0) {
+            System.exit(1);
+        }
+    }
+
+    private record Comparison(int compared, int regressions) {
+    }
+
+    /**
+     * Prints one line per benchmark and counts the comparisons and regressions.
+     */
+    private static Comparison compare(Collection<RunResult> results, Map<String, Score> baseline, double threshold) {
+        int compared = 0;
+        int regressions = 0;
+        System.out.printf("%nComparison with baseline (threshold %.1f%%):%n", threshold);
+        for (RunResult result : results) {
+            BenchmarkParams params = result.getParams();
+            String key = key(params.getBenchmark(), paramsOf(params));
+            Score before = baseline.get(key);
+            if (before == null) {
+                System.out.printf("  NEW        %s%n", key);
+                continue;
+            }
+
+            double score = result.getPrimaryResult().getScore();
+            // Throughput is better when higher, every other mode when lower
+            boolean higherIsBetter = params.getMode().shortLabel().equals("thrpt");
+            double timeChange = percentChange(before.score(), score) * (higherIsBetter ? -1 : 1);
+
+            Double allocated = allocatedBytes(result);
+            double allocationChange = allocated == null || before.allocatedBytes() == null
+                ? 0 : percentChange(before.allocatedBytes(), allocated);
+
+            boolean regressed = timeChange > threshold || allocationChange > threshold;
+            compared++;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("  %-10s %s: score %+.1f%%, allocation %+.1f%%%n",
+                regressed ? "REGRESSED" : "ok", key, timeChange, allocationChange);
+        }
+        return new Comparison(compared, regressions);
+    }
+
+    private static double percentChange(double before, double after) {
+        return before == 0 ? 0 : (after - before) * 100 / before;
+    }
+
+    private static Double allocatedBytes(RunResult result) {
+        for (Map.Entry<String, Result> entry : result.getSecondaryResults().entrySet()) {
+            if (entry.getKey().endsWith(ALLOCATION_METRIC)) {
+                return entry.getValue().getScore();
+            }
+        }
+        return null;
+    }
+
+    private static Map<String, String> paramsOf(BenchmarkParams params) {
+        Map<String, String> values = new TreeMap<>();
+        for (String name : params.getParamsKeys()) {
+            values.put(name, params.getParam(name));
+        }
+        return values;
+    }
+
+    private static String key(String benchmark, Map<String, String> params) {
+        return params.isEmpty() ? benchmark : benchmark + params;
+    }
+
+    private static Map<String, Score> readBaseline(Path path) throws IOException {
+        Map<String, Score> baseline = new HashMap<>();
+        if (!Files.exists(path)) {
+            return baseline;
+        }
+
+        for (JsonNode node : new ObjectMapper().readTree(path.toFile())) {
+            Map<String, String> params = new TreeMap<>();
+            node.path("params").fields().forEachRemaining(e -> params.put(e.getKey(), e.getValue().asText()));
+
+            Double allocated = null;
+            for (Iterator<Map.Entry<String, JsonNode>> it = node.path("secondaryMetrics").fields(); it.hasNext(); ) {
+                Map.Entry<String, JsonNode> metric = it.next();
+                if (metric.getKey().endsWith(ALLOCATION_METRIC)) {
+                    allocated = metric.getValue().path("score").asDouble();
+                }
+            }
+            baseline.put(key(node.path("benchmark").asText(), params),
+                new Score(node.path("primaryMetric").path("score").asDouble(), allocated));
+        }
+        return baseline;
+    }
+}
@@ -0,0 +1,83 @@
+package com.cultureradar.benchmarks;
+
+import com.cultureradar.config.CacheConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cache.Cache;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exercises the caches built by {@link CacheConfig} from many threads at
+ * once: pure reads, read-through loads, and a mixed group where a few
+ * writers keep replacing entries while readers hit them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CacheBenchmark {
+
+    private static final int KEYS = 10_000;
+
+    private Cache cache;
+
+    @Setup
+    public void setUp() {
+        CacheConfig config = new CacheConfig();
+        cache = config.cacheManager(config.eventDictionary()).getCache("events");
+        for (int i = 0; i < KEYS; i++) {
+            cache.put(key(i), "event-" + i);
+        }
+    }
+
+    private static String key(int i) {
+        return "montreal|MUSIC|" + i;
+    }
+
+    private static String randomKey() {
+        return key(ThreadLocalRandom.current().nextInt(KEYS));
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Object get() {
+        return cache.get(randomKey());
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Object getWithLoader() {
+        String key = randomKey();
+        return cache.get(key, () -> "loaded-" + key);
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(6)
+    public Object mixedRead() {
+        return cache.get(randomKey());
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(2)
+    public void mixedWrite() {
+        String key = randomKey();
+        cache.put(key, "updated-" + key);
+    }
+}
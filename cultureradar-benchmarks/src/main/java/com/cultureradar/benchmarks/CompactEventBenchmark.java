@@ -0,0 +1,63 @@
+package com.cultureradar.benchmarks;
+
+import com.cultureradar.cache.CompactEvent;
+import com.cultureradar.model.Event;
+import com.cultureradar.util.StringDictionary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the compact event caches: encoding a search page of entities on
+ * a cache put, and rebuilding the entities on every hit.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompactEventBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    private final StringDictionary dictionary = new StringDictionary();
+    private List<Event> page;
+    private List<CompactEvent> compactPage;
+
+    @Setup
+    public void setUp() {
+        EventFixtures fixtures = new EventFixtures(42);
+        page = fixtures.events(PAGE_SIZE, fixtures.locations());
+        compactPage = encode();
+    }
+
+    @Benchmark
+    public List<CompactEvent> encode() {
+        List<CompactEvent> result = new ArrayList<>(PAGE_SIZE);
+        for (Event event : page) {
+            result.add(CompactEvent.of(event, dictionary));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<Event> hydrate() {
+        List<Event> result = new ArrayList<>(PAGE_SIZE);
+        for (CompactEvent event : compactPage) {
+            result.add(event.toEvent(dictionary));
+        }
+        return result;
+    }
+}
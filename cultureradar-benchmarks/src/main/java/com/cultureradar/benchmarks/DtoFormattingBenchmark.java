@@ -0,0 +1,75 @@
+package com.cultureradar.benchmarks;
+
+import com.cultureradar.dto.EventDTO;
+import com.cultureradar.dto.LocationDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the computed display properties of the DTOs, which Jackson
+ * calls once per event in every serialized page.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DtoFormattingBenchmark {
+
+    private static final int SAMPLES = 1024;
+
+    private EventDTO[] events;
+    private LocationDTO[] locations;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        EventFixtures fixtures = new EventFixtures(11);
+        List<EventDTO> dtos = fixtures.events(SAMPLES, fixtures.locations()).stream()
+            .map(EventFixtures::toDTO)
+            .toList();
+        events = dtos.toArray(new EventDTO[0]);
+        locations = dtos.stream().map(EventDTO::getLocation).toArray(LocationDTO[]::new);
+    }
+
+    private int nextIndex() {
+        next = (next + 1) & (SAMPLES - 1);
+        return next;
+    }
+
+    @Benchmark
+    public String fullAddress() {
+        return locations[nextIndex()].getFullAddress();
+    }
+
+    @Benchmark
+    public String formattedDate() {
+        return events[nextIndex()].getFormattedDate();
+    }
+
+    @Benchmark
+    public String formattedTime() {
+        return events[nextIndex()].getFormattedTime();
+    }
+
+    @Benchmark
+    public void allDisplayProperties(Blackhole blackhole) {
+        EventDTO event = events[nextIndex()];
+        blackhole.consume(event.getFormattedDate());
+        blackhole.consume(event.getFormattedTime());
+        blackhole.consume(event.getLocation().getFullAddress());
+    }
+}
@@ -0,0 +1,130 @@
+package com.cultureradar.benchmarks;
+
+import com.cultureradar.dto.EventDTO;
+import com.cultureradar.dto.LocationDTO;
+import com.cultureradar.model.Event;
+import com.cultureradar.model.EventCategory;
+import com.cultureradar.model.Location;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Generates deterministic, realistic-looking events for the benchmarks.
+ * The same seed always yields the same data, so runs stay comparable.
+ */
+final class EventFixtures {
+
+    static final String[] CITIES = {
+        "Montreal", "Toronto", "Vancouver", "Quebec", "Ottawa", "Calgary", "Edmonton",
+        "Winnipeg", "Halifax", "Victoria", "Saskatoon", "Regina", "Sherbrooke", "Gatineau",
+        "Kingston", "Moncton", "Fredericton", "Laval", "Longueuil", "St. John's"
+    };
+
+    static final String[] PROVINCES = {
+        "QC", "ON", "BC", "QC", "ON", "AB", "AB", "MB", "NS", "BC",
+        "SK", "SK", "QC", "QC", "ON", "NB", "NB", "QC", "QC", "NL"
+    };
+
+    static final int VENUES_PER_CITY = 10;
+
+    private static final String[] WORDS = {
+        "Jazz", "Night", "Market", "Festival", "Gallery", "Opening", "Community", "Film",
+        "Screening", "Poetry", "Reading", "Dance", "Workshop", "Summer", "Winter", "Open",
+        "Air", "Concert", "Theatre", "Exhibition", "Family", "Day", "Street", "Art"
+    };
+
+    static final LocalDateTime EPOCH = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    private final SplittableRandom random;
+
+    EventFixtures(long seed) {
+        this.random = new SplittableRandom(seed);
+    }
+
+    /**
+     * @return All venues, {@link #VENUES_PER_CITY} per city, IDs starting at 1
+     */
+    List<Location> locations() {
+        List<Location> locations = new ArrayList<>(CITIES.length * VENUES_PER_CITY);
+        long id = 1;
+        for (int c = 0; c < CITIES.length; c++) {
+            for (int v = 0; v < VENUES_PER_CITY; v++) {
+                Location location = new Location();
+                location.setId(id++);
+                location.setName(title(2) + " Hall");
+                location.setAddress((100 + random.nextInt(9000)) + " rue " + title(1));
+                location.setCity(CITIES[c]);
+                location.setProvince(PROVINCES[c]);
+                location.setPostalCode("H" + random.nextInt(10) + "X " + random.nextInt(10) + "A" + random.nextInt(10));
+                location.setLatitude(43 + random.nextDouble() * 6);
+                location.setLongitude(-123 + random.nextDouble() * 70);
+                locations.add(location);
+            }
+        }
+        return locations;
+    }
+
+    /**
+     * Generates an event spread over the year following {@link #EPOCH}.
+     */
+    Event event(long id, List<Location> locations) {
+        EventCategory[] categories = EventCategory.values();
+        LocalDateTime start = EPOCH.plusDays(random.nextInt(365))
+            .with(LocalTime.of(10 + random.nextInt(12), random.nextInt(4) * 15));
+        boolean free = random.nextInt(3) == 0;
+
+        Event event = new Event();
+        event.setId(id);
+        event.setName(title(2 + random.nextInt(3)));
+        event.setDescription(sentence(25 + random.nextInt(40)));
+        event.setStartTime(start);
+        event.setEndTime(random.nextInt(4) == 0 ? null : start.plusHours(1 + random.nextInt(4)));
+        event.setImageUrl("https://images.cultureradar.ca/events/" + id + ".jpg");
+        event.setIsFree(free);
+        event.setPrice(free ? null : 5.0 + random.nextInt(60));
+        event.setExternalId("ext-" + id);
+        event.setExternalSource(random.nextBoolean() ? "EVENTBRITE" : "CANADA_GOV");
+        event.setLocation(locations.get(random.nextInt(locations.size())));
+        event.setCategory(categories[random.nextInt(categories.length)]);
+        event.setApproved(random.nextInt(10) != 0);
+        event.setCreatedAt(start.minusDays(30));
+        event.setUpdatedAt(start.minusDays(7));
+        return event;
+    }
+
+    List<Event> events(int count, List<Location> locations) {
+        List<Event> events = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            events.add(event(i, locations));
+        }
+        return events;
+    }
+
+    static EventDTO toDTO(Event event) {
+        Location location = event.getLocation();
+        LocationDTO locationDTO = location == null ? null : new LocationDTO(
+            location.getId(), location.getName(), location.getAddress(), location.getCity(),
+            location.getProvince(), location.getPostalCode(), location.getLatitude(), location.getLongitude());
+        return new EventDTO(
+            event.getId(), event.getName(), event.getDescription(), event.getStartTime(), event.getEndTime(),
+            event.getImageUrl(), event.getPrice(), event.getIsFree(), event.getCategory(), locationDTO,
+            event.getExternalId(), event.getExternalSource(), event.getApproved(), event.getDistanceKm());
+    }
+
+    private String title(int words) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) sb.append(' ');
+            sb.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return sb.toString();
+    }
+
+    private String sentence(int words) {
+        return title(words).toLowerCase() + '.';
+    }
+}
@@ -0,0 +1,94 @@
+package com.cultureradar.benchmarks;
+
+import com.cultureradar.cache.CompactEvent;
+import com.cultureradar.model.Event;
+import com.cultureradar.model.Location;
+import com.cultureradar.util.StringDictionary;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures the retained heap of 100k events held as entities and as
+ * {@link CompactEvent}s, with JOL walking the object graphs. This is a
+ * size report rather than a JMH benchmark, so it is run on its own:
+ *
+ * <pre>
+ * mvn -f cultureradar-benchmarks/pom.xml compile exec:java -Dexec.mainClass=com.cultureradar.benchmarks.EventFootprint
+ * </pre>
+ *
+ * Entities are measured twice: sharing their venues, as in the result of
+ * one query, and with a copy of the venue each, as when cache entries
+ * were loaded by different queries.
+ */
+public class EventFootprint {
+
+    private static final int EVENT_COUNT = 100_000;
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : EVENT_COUNT;
+        EventFixtures fixtures = new EventFixtures(42);
+        List<Event> shared = fixtures.events(count, fixtures.locations());
+
+        List<Event> copied = new ArrayList<>(count);
+        for (Event event : shared) {
+            Event copy = copy(event);
+            copy.setLocation(copy(event.getLocation()));
+            copied.add(copy);
+        }
+
+        StringDictionary dictionary = new StringDictionary();
+        List<CompactEvent> compact = new ArrayList<>(count);
+        for (Event event : copied) {
+            compact.add(CompactEvent.of(event, dictionary));
+        }
+
+        long sharedBytes = GraphLayout.parseInstance(shared).totalSize();
+        long copiedBytes = GraphLayout.parseInstance(copied).totalSize();
+        long compactBytes = GraphLayout.parseInstance(compact, dictionary).totalSize();
+
+        System.out.printf("Retained heap of %,d events:%n", count);
+        report("Entities, shared venues", sharedBytes, count, sharedBytes);
+        report("Entities, venue per event", copiedBytes, count, sharedBytes);
+        report("Compact events + dictionary", compactBytes, count, sharedBytes);
+        System.out.printf("Saved per 100k events: %,d bytes against shared venues, %,d against venue copies"
+                + " (dictionary holds %d strings)%n",
+            (sharedBytes - compactBytes) * 100_000 / count, (copiedBytes - compactBytes) * 100_000 / count,
+            dictionary.size());
+    }
+
+    private static void report(String label, long bytes, int count, long baseline) {
+        System.out.printf("  %-28s %,14d bytes  %,6d bytes/event  %5.1f%%%n",
+            label, bytes, bytes / count, bytes * 100.0 / baseline);
+    }
+
+    /**
+     * Copies an event the way a separate database load would, with its own
+     * strings and boxed values.
+     */
+    private static Event copy(Event event) {
+        Event copy = new Event();
+        copy.setId(event.getId());
+        copy.setName(new String(event.getName()));
+        copy.setDescription(new String(event.getDescription()));
+        copy.setStartTime(event.getStartTime());
+        copy.setEndTime(event.getEndTime());
+        copy.setImageUrl(new String(event.getImageUrl()));
+        copy.setPrice(event.getPrice());
+        copy.setIsFree(event.getIsFree());
+        copy.setExternalId(new String(event.getExternalId()));
+        copy.setExternalSource(new String(event.getExternalSource()));
+        copy.setCategory(event.getCategory());
+        copy.setApproved(event.getApproved());
+        copy.setCreatedAt(event.getCreatedAt());
+        copy.setUpdatedAt(event.getUpdatedAt());
+        return copy;
+    }
+
+    private static Location copy(Location location) {
+        return new Location(location.getId(), new String(location.getName()), new String(location.getAddress()),
+            new String(location.getCity()), new String(location.getProvince()), new String(location.getPostalCode()),
+            location.getLatitude(), location.getLongitude());
+    }
+}
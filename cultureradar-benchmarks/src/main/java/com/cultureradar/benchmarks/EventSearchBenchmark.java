@@ -0,0 +1,182 @@
+package com.cultureradar.benchmarks;
+
+import com.cultureradar.model.Event;
+import com.cultureradar.model.EventCategory;
+import com.cultureradar.model.Location;
+import com.cultureradar.repository.EventRepository;
+import com.cultureradar.service.EventDeduplicator;
+import com.cultureradar.service.EventIngestService;
+import com.cultureradar.service.EventService;
+import com.cultureradar.service.EventServiceImpl;
+import com.cultureradar.service.LocationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link EventService#findEvents} against an in-memory H2 database
+ * holding 10k, 100k and 1M generated events. Only the JPA slice of the
+ * application is started, so the numbers reflect the query, the mapping
+ * and the transaction, not the web stack.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class EventSearchBenchmark {
+
+    private static final int INSERT_BATCH = 5_000;
+
+    @Param({"10000", "100000", "1000000"})
+    public int eventCount;
+
+    private ConfigurableApplicationContext context;
+    private EventService eventService;
+
+    private final Pageable firstPage = PageRequest.of(0, 20, Sort.Direction.ASC, "startTime");
+    private final Pageable deepPage = PageRequest.of(50, 20, Sort.Direction.ASC, "startTime");
+
+    /**
+     * The JPA slice of the application: repositories, entities and the event service.
+     */
+    @Configuration
+    @ImportAutoConfiguration({
+        DataSourceAutoConfiguration.class,
+        DataSourceTransactionManagerAutoConfiguration.class,
+        JdbcTemplateAutoConfiguration.class,
+        HibernateJpaAutoConfiguration.class,
+        TransactionAutoConfiguration.class
+    })
+    @EntityScan(basePackageClasses = Event.class)
+    @EnableJpaRepositories(basePackageClasses = EventRepository.class)
+    @Import({EventServiceImpl.class, EventIngestService.class, LocationService.class, EventDeduplicator.class})
+    static class SearchSlice {
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(SearchSlice.class)
+            .web(WebApplicationType.NONE)
+            .properties(
+                "spring.datasource.url=jdbc:h2:mem:bench;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+                "spring.datasource.driver-class-name=org.h2.Driver",
+                "spring.jpa.hibernate.ddl-auto=create-drop",
+                "spring.jpa.open-in-view=false",
+                "logging.level.root=WARN")
+            .run();
+        eventService = context.getBean(EventService.class);
+        populate(context.getBean(JdbcTemplate.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<Event> cityAndFreeFirstPage() {
+        return eventService.findEvents("montreal", true, null, null, null, firstPage);
+    }
+
+    @Benchmark
+    public Page<Event> categoryAndDateRangeFirstPage() {
+        return eventService.findEvents(null, null, EventCategory.MUSIC,
+            EventFixtures.EPOCH.plusDays(30), EventFixtures.EPOCH.plusDays(60), firstPage);
+    }
+
+    @Benchmark
+    public Page<Event> unfilteredDeepPage() {
+        return eventService.findEvents(null, null, null, null, null, deepPage);
+    }
+
+    /**
+     * Loads the generated data with plain JDBC batches; going through JPA
+     * would make the 1M setup take longer than the benchmark itself.
+     */
+    private void populate(JdbcTemplate jdbc) {
+        EventFixtures fixtures = new EventFixtures(42);
+        List<Location> locations = fixtures.locations();
+
+        jdbc.batchUpdate(
+            "insert into locations (id, name, address, city, province, postal_code, latitude, longitude) "
+                + "values (?, ?, ?, ?, ?, ?, ?, ?)",
+            locations, locations.size(), (ps, location) -> {
+                ps.setLong(1, location.getId());
+                ps.setString(2, location.getName());
+                ps.setString(3, location.getAddress());
+                ps.setString(4, location.getCity());
+                ps.setString(5, location.getProvince());
+                ps.setString(6, location.getPostalCode());
+                ps.setDouble(7, location.getLatitude());
+                ps.setDouble(8, location.getLongitude());
+            });
+
+        List<Event> batch = new ArrayList<>(INSERT_BATCH);
+        for (int id = 1; id <= eventCount; id++) {
+            batch.add(fixtures.event(id, locations));
+            if (batch.size() == INSERT_BATCH || id == eventCount) {
+                insertEvents(jdbc, batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private static void insertEvents(JdbcTemplate jdbc, List<Event> events) {
+        jdbc.batchUpdate(
+            "insert into events (id, name, description, start_time, end_time, image_url, price, is_free, "
+                + "external_id, external_source, location_id, category, approved, created_at, updated_at) "
+                + "values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+            events, events.size(), (ps, event) -> {
+                ps.setLong(1, event.getId());
+                ps.setString(2, event.getName());
+                ps.setString(3, event.getDescription());
+                ps.setTimestamp(4, Timestamp.valueOf(event.getStartTime()));
+                ps.setTimestamp(5, event.getEndTime() == null ? null : Timestamp.valueOf(event.getEndTime()));
+                ps.setString(6, event.getImageUrl());
+                ps.setObject(7, event.getPrice());
+                ps.setBoolean(8, event.getIsFree());
+                ps.setString(9, event.getExternalId());
+                ps.setString(10, event.getExternalSource());
+                ps.setLong(11, event.getLocation().getId());
+                ps.setString(12, event.getCategory().name());
+                ps.setBoolean(13, event.getApproved());
+                ps.setTimestamp(14, Timestamp.valueOf(event.getCreatedAt()));
+                ps.setTimestamp(15, Timestamp.valueOf(event.getUpdatedAt()));
+            });
+    }
+}
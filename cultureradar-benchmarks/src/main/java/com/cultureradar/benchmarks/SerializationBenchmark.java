@@ -0,0 +1,81 @@
+package com.cultureradar.benchmarks;
+
+import com.cultureradar.dto.EventDTO;
+import com.cultureradar.json.EventFragmentCache;
+import com.cultureradar.model.Event;
+import com.cultureradar.model.Location;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.web.PagedModel;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares serializing a page of {@link Event} entities with serializing
+ * the equivalent page of {@link EventDTO}s, and with assembling the page
+ * from the fragments of {@link EventFragmentCache} as the application
+ * does. The mappers are configured the way Spring Boot configures the one
+ * used by the MVC message converters.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"20", "100"})
+    public int pageSize;
+
+    private ObjectMapper objectMapper;
+    private ObjectMapper fragmentMapper;
+    private PagedModel<Event> eventPage;
+    private PagedModel<EventDTO> dtoPage;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        fragmentMapper = Jackson2ObjectMapperBuilder.json()
+            .modulesToInstall(new EventFragmentCache(new SimpleMeterRegistry(), 100_000, 3_600))
+            .build();
+
+        EventFixtures fixtures = new EventFixtures(7);
+        List<Location> locations = fixtures.locations();
+        List<Event> events = fixtures.events(pageSize, locations);
+        List<EventDTO> dtos = events.stream().map(EventFixtures::toDTO).toList();
+
+        eventPage = new PagedModel<>(new PageImpl<>(events, PageRequest.of(0, pageSize), 10_000));
+        dtoPage = new PagedModel<>(new PageImpl<>(dtos, PageRequest.of(0, pageSize), 10_000));
+    }
+
+    @Benchmark
+    public byte[] eventPage() throws Exception {
+        return objectMapper.writeValueAsBytes(eventPage);
+    }
+
+    @Benchmark
+    public byte[] eventPageFromFragments() throws Exception {
+        return fragmentMapper.writeValueAsBytes(eventPage);
+    }
+
+    @Benchmark
+    public byte[] eventDtoPage() throws Exception {
+        return objectMapper.writeValueAsBytes(dtoPage);
+    }
+}
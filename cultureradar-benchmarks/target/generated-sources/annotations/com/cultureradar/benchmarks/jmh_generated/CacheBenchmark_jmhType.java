@@ -0,0 +1,4 @@
+package com.cultureradar.benchmarks.jmh_generated;
+public class CacheBenchmark_jmhType extends CacheBenchmark_jmhType_B3 {
+}
+
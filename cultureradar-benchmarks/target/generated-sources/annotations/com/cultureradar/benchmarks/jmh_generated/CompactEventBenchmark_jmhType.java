@@ -0,0 +1,4 @@
+package com.cultureradar.benchmarks.jmh_generated;
+public class CompactEventBenchmark_jmhType extends CompactEventBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package com.cultureradar.benchmarks.jmh_generated;
+public class DtoFormattingBenchmark_jmhType extends DtoFormattingBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package com.cultureradar.benchmarks.jmh_generated;
+public class EventSearchBenchmark_jmhType extends EventSearchBenchmark_jmhType_B3 {
+}
+
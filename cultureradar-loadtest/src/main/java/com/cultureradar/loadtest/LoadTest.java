@@ -0,0 +1,182 @@
+package com.cultureradar.loadtest;
+
+import com.cultureradar.CultureradarApplication;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Entry point of the load-test suite. Starts an embedded PostgreSQL server,
+ * the external API stubs and the backend wired to both, optionally seeds
+ * events through the regular ingest path, then runs the phases of a
+ * scenario and reports throughput, latency percentiles and error rates.
+ *
+ * <p>Usage: {@code LoadTest <scenario name or JSON file>}
+ */
+public class LoadTest {
+
+    private static final Duration SEED_TIMEOUT = Duration.ofMinutes(5);
+
+    public static void main(String[] args) throws Exception {
+        Scenario scenario = Scenario.load(args.length > 0 ? args[0] : "search-mix");
+
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.builder().start();
+             StubApis stubs = new StubApis(scenario.stubs())) {
+            ConfigurableApplicationContext app = startBackend(postgres, stubs);
+            try {
+                String baseUrl = "http://127.0.0.1:" + app.getEnvironment().getProperty("local.server.port");
+                if (scenario.seedFromExternalSources()) {
+                    seed(baseUrl);
+                }
+                if (scenario.users() != null) {
+                    register(baseUrl, scenario.users());
+                }
+
+                WorkloadRunner runner = new WorkloadRunner(baseUrl, scenario);
+                List<WorkloadRunner.PhaseResult> results = new ArrayList<>();
+                for (Scenario.Phase phase : scenario.phases()) {
+                    System.out.printf("Running phase '%s' for %ds%n", phase.name(), phase.durationSeconds());
+                    WorkloadRunner.PhaseResult result = runner.run(phase);
+                    if (phase.recorded()) {
+                        results.add(result);
+                        print(result);
+                    }
+                }
+                System.out.println("Stub requests: " + stubs.requestCounts());
+                writeReport(scenario, results, stubs.requestCounts());
+            } finally {
+                app.close();
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext startBackend(EmbeddedPostgres postgres, StubApis stubs) {
+        String stubUrl = stubs.baseUrl();
+        // Passed as command line arguments: default properties would lose to application.properties
+        String[] properties = {
+            "server.port=0",
+            "spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+            "spring.datasource.username=postgres",
+            "spring.datasource.password=postgres",
+            "spring.jpa.hibernate.ddl-auto=create-drop",
+            // Request-level DEBUG logging would dominate the measurements
+            "logging.level.root=WARN",
+            "logging.level.org.springframework.web=WARN",
+            // Every simulated client comes from the loopback address and would share one bucket
+            "cultureradar.ratelimit.enabled=false",
+            "cultureradar.api.eventbrite.base-url=" + stubUrl + "/eventbrite",
+            "cultureradar.api.eventbrite.token=stub",
+            "cultureradar.api.eventbrite.organization-ids=org-1,org-2",
+            "cultureradar.api.canadagov.base-url=" + stubUrl + "/canadagov",
+            "cultureradar.api.googlemaps.base-url=" + stubUrl + "/maps",
+            "cultureradar.api.googlemaps.api-key=stub"
+        };
+        return new SpringApplicationBuilder(CultureradarApplication.class)
+            .run(Arrays.stream(properties).map(property -> "--" + property).toArray(String[]::new));
+    }
+
+    /**
+     * Loads events through /admin/fetch-external and waits until the event
+     * count stops growing, so the phases run against a realistic data set
+     * produced by the real ingest and deduplication path.
+     */
+    private static void seed(String baseUrl) throws Exception {
+        HttpClient client = HttpClient.newHttpClient();
+        String adminAuth = "Basic " + Base64.getEncoder().encodeToString("admin:admin".getBytes(StandardCharsets.UTF_8));
+        client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/events/admin/fetch-external"))
+            .header("Authorization", adminAuth)
+            .POST(HttpRequest.BodyPublishers.noBody())
+            .build(), HttpResponse.BodyHandlers.discarding());
+
+        ObjectMapper mapper = new ObjectMapper();
+        long deadline = System.nanoTime() + SEED_TIMEOUT.toNanos();
+        long previous = -1;
+        int stableChecks = 0;
+        while (stableChecks < 3 && System.nanoTime() < deadline) {
+            Thread.sleep(2_000);
+            HttpResponse<String> response = client.send(
+                HttpRequest.newBuilder(URI.create(baseUrl + "/api/events/public/search?size=1")).build(),
+                HttpResponse.BodyHandlers.ofString());
+            JsonNode page = mapper.readTree(response.body());
+            long total = page.has("page") ? page.path("page").path("totalElements").asLong()
+                : page.path("totalElements").asLong();
+            stableChecks = total == previous ? stableChecks + 1 : 0;
+            previous = total;
+        }
+        System.out.printf("Seeded %d events%n", previous);
+    }
+
+    /**
+     * Registers the scenario's accounts through /api/auth/register, so that
+     * logins are checked against database users as in production.
+     */
+    private static void register(String baseUrl, List<Scenario.UserAccount> users) throws Exception {
+        HttpClient client = HttpClient.newHttpClient();
+        ObjectMapper mapper = new ObjectMapper();
+        for (Scenario.UserAccount user : users) {
+            String body = mapper.writeValueAsString(Map.of(
+                "username", user.username(),
+                "email", user.username() + "@loadtest.cultureradar.ca",
+                "password", user.password()));
+            HttpResponse<String> response = client.send(
+                HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/register"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build(),
+                HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() / 100 != 2) {
+                throw new IllegalStateException("Could not register " + user.username() + ": HTTP "
+                    + response.statusCode() + " " + response.body());
+            }
+        }
+        System.out.printf("Registered %d users%n", users.size());
+    }
+
+    private static void print(WorkloadRunner.PhaseResult result) {
+        System.out.printf("%nPhase %s (concurrency %d, %s)%n", result.phase(), result.concurrency(),
+            result.ratePerSecond() > 0 ? result.ratePerSecond() + " req/s target" : "closed loop");
+        System.out.printf("  %-20s %10s %10s %10s %10s %10s %8s%n",
+            "request", "count", "req/s", "p50 ms", "p99 ms", "max ms", "errors");
+        for (WorkloadRunner.RequestStats stats : result.requests()) {
+            System.out.printf("  %-20s %10d %10.1f %10.2f %10.2f %10.2f %7.2f%%%n",
+                stats.name(), stats.count(), stats.throughputPerSecond(), stats.p50Ms(), stats.p99Ms(),
+                stats.maxMs(), stats.errorRate() * 100);
+        }
+    }
+
+    private static void writeReport(Scenario scenario, List<WorkloadRunner.PhaseResult> results,
+                                    Map<String, Long> stubRequests) throws Exception {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("scenario", scenario.name());
+        report.put("finishedAt", LocalDateTime.now().toString());
+        report.put("stubs", scenario.stubs());
+        report.put("stubRequests", stubRequests);
+        report.put("phases", results);
+
+        Path path = Path.of("target", "loadtest-" + scenario.name() + "-"
+            + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".json");
+        Files.createDirectories(path.getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(path.toFile(), report);
+        System.out.println("Report written to " + path);
+    }
+}
@@ -0,0 +1,122 @@
+package com.cultureradar.loadtest;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A scripted workload, read from JSON. A scenario configures the API stubs,
+ * how the database is seeded, the user accounts to register, the weighted
+ * mix of requests and the phases to run them in.
+ *
+ * @param name Scenario name, used in the report file name
+ * @param stubs Behaviour of the external API stubs
+ * @param seedFromExternalSources Whether to load events through /admin/fetch-external before the phases
+ * @param users Accounts registered through /api/auth/register before the phases, may be absent
+ * @param variables Values substituted for {name} placeholders in request paths and bodies
+ * @param requests Weighted request mix
+ * @param phases Phases run one after another
+ */
+public record Scenario(
+        String name,
+        StubSettings stubs,
+        boolean seedFromExternalSources,
+        List<UserAccount> users,
+        Map<String, List<String>> variables,
+        List<RequestTemplate> requests,
+        List<Phase> phases) {
+
+    /**
+     * Behaviour of the local Eventbrite, Canada Gov and Google Maps stubs.
+     *
+     * @param latencyMs Base latency added to every stub response
+     * @param jitterMs Random latency added on top of the base, uniformly distributed
+     * @param eventsPerPage Events returned per feed page
+     * @param pages Pages per feed (and per Eventbrite organization)
+     * @param descriptionBytes Size of each event description, to control payload size
+     * @param duplicateRatio Share of Canada Gov events that mirror an Eventbrite event
+     * @param errorRate Share of stub responses that fail with 503
+     */
+    public record StubSettings(
+            int latencyMs,
+            int jitterMs,
+            int eventsPerPage,
+            int pages,
+            int descriptionBytes,
+            double duplicateRatio,
+            double errorRate) {
+    }
+
+    /**
+     * An account for requests that log in.
+     *
+     * @param username Username, also used for the e-mail address
+     * @param password Password, at least 8 characters
+     */
+    public record UserAccount(
+            String username,
+            String password) {
+    }
+
+    /**
+     * One kind of request in the mix.
+     *
+     * @param name Name used in the report
+     * @param method HTTP method
+     * @param path Path and query, may contain {variable} placeholders
+     * @param body Optional JSON body
+     * @param basicAuth Optional "user:password" for HTTP Basic authentication
+     * @param weight Relative frequency in the mix
+     */
+    public record RequestTemplate(
+            String name,
+            String method,
+            String path,
+            String body,
+            String basicAuth,
+            int weight) {
+    }
+
+    /**
+     * A period of constant load. Without a rate the phase is a closed loop
+     * of {@code concurrency} clients sending back to back; with a rate,
+     * requests are started on a fixed schedule and latency is measured from
+     * the scheduled start, so queueing in the client is not hidden.
+     *
+     * @param name Phase name
+     * @param durationSeconds Length of the phase
+     * @param concurrency Maximum requests in flight
+     * @param ratePerSecond Target request rate, or 0 for a closed loop
+     * @param recorded Whether the phase appears in the report (false for warm-up)
+     */
+    public record Phase(
+            String name,
+            int durationSeconds,
+            int concurrency,
+            int ratePerSecond,
+            boolean recorded) {
+    }
+
+    /**
+     * Loads a scenario from the classpath ({@code scenarios/<name>.json}) or from a file.
+     */
+    public static Scenario load(String nameOrPath) throws IOException {
+        ObjectMapper mapper = new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        Path path = Path.of(nameOrPath);
+        if (Files.exists(path)) {
+            return mapper.readValue(path.toFile(), Scenario.class);
+        }
+        try (InputStream in = Scenario.class.getResourceAsStream("/scenarios/" + nameOrPath + ".json")) {
+            if (in == null) {
+                throw new IOException("Unknown scenario: " + nameOrPath);
+            }
+            return mapper.readValue(in, Scenario.class);
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package com.cultureradar.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Local stand-ins for the Eventbrite, Canada Gov and Google Maps APIs,
+ * served from one JDK HTTP server. Responses follow the shape the backend
+ * clients parse, with latency, payload size and failure rate taken from
+ * the scenario. Feeds are generated from fixed seeds, so every run ingests
+ * the same events.
+ */
+public class StubApis implements AutoCloseable {
+
+    static final String[] CITIES = {
+        "Montreal", "Toronto", "Vancouver", "Quebec", "Ottawa", "Calgary", "Halifax", "Winnipeg"
+    };
+
+    private static final String[] PROVINCES = {"QC", "ON", "BC", "QC", "ON", "AB", "NS", "MB"};
+
+    private static final String[] WORDS = {
+        "Jazz", "Night", "Market", "Festival", "Gallery", "Opening", "Community", "Film",
+        "Screening", "Poetry", "Reading", "Dance", "Workshop", "Concert", "Theatre", "Exhibition"
+    };
+
+    private static final String[] CATEGORIES = {"MUSIC", "FILM", "THEATRE", "ART", "DANCE", "FESTIVAL", "COMMUNITY"};
+
+    private final Scenario.StubSettings settings;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpServer server;
+    private final LocalDate firstDay = LocalDate.now();
+    private final String description;
+
+    private final Map<String, LongAdder> requestCounts = new HashMap<>();
+
+    public StubApis(Scenario.StubSettings settings) throws IOException {
+        this.settings = settings;
+        this.description = "x".repeat(Math.max(0, settings.descriptionBytes()));
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/eventbrite/", exchange -> handle(exchange, "eventbrite", this::eventbritePage));
+        server.createContext("/canadagov/", exchange -> handle(exchange, "canadagov", this::canadaGovPage));
+        server.createContext("/maps/", exchange -> handle(exchange, "googlemaps", this::geocode));
+        for (String stub : new String[] {"eventbrite", "canadagov", "googlemaps"}) {
+            requestCounts.put(stub, new LongAdder());
+        }
+        server.start();
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    /**
+     * @return Requests served so far, per stub
+     */
+    public Map<String, Long> requestCounts() {
+        Map<String, Long> counts = new HashMap<>();
+        requestCounts.forEach((stub, count) -> counts.put(stub, count.sum()));
+        return counts;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    @FunctionalInterface
+    private interface Responder {
+        ObjectNode respond(Map<String, String> query, String path);
+    }
+
+    private void handle(HttpExchange exchange, String stub, Responder responder) throws IOException {
+        requestCounts.get(stub).increment();
+        try (exchange) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            int delay = settings.latencyMs() + (settings.jitterMs() > 0 ? random.nextInt(settings.jitterMs() + 1) : 0);
+            if (delay > 0) {
+                Thread.sleep(delay);
+            }
+            if (random.nextDouble() < settings.errorRate()) {
+                exchange.sendResponseHeaders(503, -1);
+                return;
+            }
+
+            byte[] body = objectMapper.writeValueAsBytes(
+                responder.respond(query(exchange), exchange.getRequestURI().getPath()));
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * GET /eventbrite/organizations/{id}/events/?continuation=n
+     */
+    private ObjectNode eventbritePage(Map<String, String> query, String path) {
+        String organization = path.split("/")[3];
+        int page = Integer.parseInt(query.getOrDefault("continuation", "0"));
+
+        ObjectNode body = objectMapper.createObjectNode();
+        ArrayNode events = body.putArray("events");
+        for (int i = 0; i < settings.eventsPerPage(); i++) {
+            long seed = (organization.hashCode() * 31L + page) * 1_000 + i;
+            GeneratedEvent event = GeneratedEvent.generate(seed, firstDay);
+
+            ObjectNode node = events.addObject();
+            node.put("id", organization + "-" + page + "-" + i);
+            node.putObject("name").put("text", event.name);
+            node.putObject("description").put("text", description);
+            node.putObject("start").put("local", event.start.toString());
+            node.putObject("end").put("local", event.start.plusHours(2).toString());
+            node.put("is_free", event.free);
+            node.put("category_id", "103");
+            ObjectNode venue = node.putObject("venue");
+            venue.put("name", event.venue);
+            ObjectNode address = venue.putObject("address");
+            address.put("address_1", event.address);
+            address.put("city", event.city);
+            address.put("region", event.province);
+            // Leave some venues unplaced so ingest has to geocode them
+            if (seed % 4 != 0) {
+                address.put("latitude", event.latitude);
+                address.put("longitude", event.longitude);
+            }
+        }
+
+        ObjectNode pagination = body.putObject("pagination");
+        pagination.put("has_more_items", page + 1 < settings.pages());
+        pagination.put("continuation", String.valueOf(page + 1));
+        return body;
+    }
+
+    /**
+     * GET /canadagov/events?page=n&amp;size=m
+     */
+    private ObjectNode canadaGovPage(Map<String, String> query, String path) {
+        int page = Integer.parseInt(query.getOrDefault("page", "0"));
+
+        ObjectNode body = objectMapper.createObjectNode();
+        ArrayNode events = body.putArray("events");
+        SplittableRandom mirror = new SplittableRandom(page);
+        for (int i = 0; i < settings.eventsPerPage(); i++) {
+            // Mirrored listings reuse an Eventbrite event so that ingest deduplicates them
+            boolean duplicate = mirror.nextDouble() < settings.duplicateRatio();
+            long seed = duplicate
+                ? ("org-1".hashCode() * 31L + page) * 1_000 + i
+                : -((page + 1) * 1_000L + i);
+            GeneratedEvent event = GeneratedEvent.generate(seed, firstDay);
+
+            ObjectNode node = events.addObject();
+            node.put("id", "cg-" + page + "-" + i);
+            node.put("title", duplicate ? event.name.toUpperCase() : event.name);
+            node.put("description", description);
+            node.put("startDate", event.start.toString());
+            node.put("free", event.free);
+            node.put("category", event.category);
+            node.put("venue", event.venue);
+            node.put("address", event.address);
+            node.put("city", event.city);
+            node.put("province", event.province);
+        }
+        body.put("hasMore", page + 1 < settings.pages());
+        return body;
+    }
+
+    /**
+     * GET /maps/geocode/json?address=...
+     */
+    private ObjectNode geocode(Map<String, String> query, String path) {
+        SplittableRandom random = new SplittableRandom(query.getOrDefault("address", "").hashCode());
+        ObjectNode body = objectMapper.createObjectNode();
+        body.put("status", "OK");
+        ObjectNode location = body.putArray("results").addObject().putObject("geometry").putObject("location");
+        location.put("lat", 43 + random.nextDouble() * 4);
+        location.put("lng", -80 + random.nextDouble() * 10);
+        return body;
+    }
+
+    private static Map<String, String> query(HttpExchange exchange) {
+        Map<String, String> query = new HashMap<>();
+        String raw = exchange.getRequestURI().getRawQuery();
+        if (raw == null) {
+            return query;
+        }
+        for (String pair : raw.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                query.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                    URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return query;
+    }
+
+    /**
+     * Event fields derived from a seed, shared by both feeds.
+     */
+    private record GeneratedEvent(String name, String venue, String address, String city, String province,
+                                  double latitude, double longitude, LocalDateTime start, boolean free,
+                                  String category) {
+
+        static GeneratedEvent generate(long seed, LocalDate firstDay) {
+            SplittableRandom random = new SplittableRandom(seed);
+            int city = random.nextInt(CITIES.length);
+            String name = WORDS[random.nextInt(WORDS.length)] + ' ' + WORDS[random.nextInt(WORDS.length)]
+                + ' ' + WORDS[random.nextInt(WORDS.length)];
+            String venue = WORDS[random.nextInt(WORDS.length)] + " Hall " + random.nextInt(20);
+            LocalDateTime start = firstDay.plusDays(random.nextInt(30)).atTime(LocalTime.of(10 + random.nextInt(12), 0));
+            return new GeneratedEvent(name, venue, (100 + random.nextInt(900)) + " Main St",
+                CITIES[city], PROVINCES[city], 43 + random.nextDouble() * 4, -80 + random.nextDouble() * 10,
+                start, random.nextInt(3) == 0, CATEGORIES[random.nextInt(CATEGORIES.length)]);
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.cultureradar.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives the request mix of a {@link Scenario} against a running backend
+ * and records per-request latency histograms.
+ */
+public class WorkloadRunner {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    /**
+     * Latency and error counts of one request type in one phase.
+     */
+    public record RequestStats(String name, long count, long errors, double throughputPerSecond,
+                               double p50Ms, double p99Ms, double p999Ms, double maxMs) {
+
+        public double errorRate() {
+            return count == 0 ? 0 : (double) errors / count;
+        }
+    }
+
+    /**
+     * Results of one phase.
+     */
+    public record PhaseResult(String phase, int durationSeconds, int concurrency, int ratePerSecond,
+                              List<RequestStats> requests) {
+    }
+
+    private static final class Recorder {
+        // Nanoseconds, up to one minute, 3 significant digits
+        final Histogram latency = new ConcurrentHistogram(TimeUnit.MINUTES.toNanos(1), 3);
+        final LongAdder errors = new LongAdder();
+    }
+
+    private final String baseUrl;
+    private final Scenario scenario;
+    private final HttpClient client;
+    private final int totalWeight;
+
+    public WorkloadRunner(String baseUrl, Scenario scenario) {
+        this.baseUrl = baseUrl;
+        this.scenario = scenario;
+        this.client = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+        this.totalWeight = scenario.requests().stream().mapToInt(Scenario.RequestTemplate::weight).sum();
+    }
+
+    /**
+     * Runs one phase and returns its statistics.
+     */
+    public PhaseResult run(Scenario.Phase phase) throws InterruptedException {
+        Map<String, Recorder> recorders = new LinkedHashMap<>();
+        for (Scenario.RequestTemplate template : scenario.requests()) {
+            recorders.put(template.name(), new Recorder());
+        }
+
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.SECONDS.toNanos(phase.durationSeconds());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            if (phase.ratePerSecond() > 0) {
+                runOpenLoop(phase, executor, recorders, start, deadline);
+            } else {
+                runClosedLoop(phase, executor, recorders, deadline);
+            }
+        }
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+        List<RequestStats> stats = new ArrayList<>();
+        recorders.forEach((name, recorder) -> {
+            Histogram h = recorder.latency;
+            stats.add(new RequestStats(name, h.getTotalCount(), recorder.errors.sum(),
+                h.getTotalCount() / elapsedSeconds,
+                h.getValueAtPercentile(50) / 1e6, h.getValueAtPercentile(99) / 1e6,
+                h.getValueAtPercentile(99.9) / 1e6, h.getMaxValue() / 1e6));
+        });
+        return new PhaseResult(phase.name(), phase.durationSeconds(), phase.concurrency(), phase.ratePerSecond(), stats);
+    }
+
+    private void runClosedLoop(Scenario.Phase phase, ExecutorService executor, Map<String, Recorder> recorders,
+                               long deadline) {
+        for (int i = 0; i < phase.concurrency(); i++) {
+            executor.submit(() -> {
+                while (System.nanoTime() < deadline) {
+                    Scenario.RequestTemplate template = pick();
+                    send(template, System.nanoTime(), recorders.get(template.name()));
+                }
+            });
+        }
+    }
+
+    /**
+     * Starts requests on a fixed schedule. Latency is measured from the
+     * scheduled start, so when the server falls behind and all permits are
+     * taken the waiting time shows up in the percentiles instead of silently
+     * lowering the request rate.
+     */
+    private void runOpenLoop(Scenario.Phase phase, ExecutorService executor, Map<String, Recorder> recorders,
+                             long start, long deadline) throws InterruptedException {
+        Semaphore inFlight = new Semaphore(phase.concurrency());
+        long interval = TimeUnit.SECONDS.toNanos(1) / phase.ratePerSecond();
+        for (long n = 0; ; n++) {
+            long scheduled = start + n * interval;
+            if (scheduled >= deadline) {
+                break;
+            }
+            long wait = scheduled - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            inFlight.acquire();
+            Scenario.RequestTemplate template = pick();
+            executor.submit(() -> {
+                try {
+                    send(template, scheduled, recorders.get(template.name()));
+                } finally {
+                    inFlight.release();
+                }
+            });
+        }
+    }
+
+    private void send(Scenario.RequestTemplate template, long startedAt, Recorder recorder) {
+        boolean failed;
+        try {
+            HttpResponse<Void> response = client.send(request(template), HttpResponse.BodyHandlers.discarding());
+            failed = response.statusCode() >= 400;
+        } catch (Exception e) {
+            failed = true;
+        }
+        recorder.latency.recordValue(Math.min(System.nanoTime() - startedAt, recorder.latency.getHighestTrackableValue()));
+        if (failed) {
+            recorder.errors.increment();
+        }
+    }
+
+    private HttpRequest request(Scenario.RequestTemplate template) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + substitute(template.path())))
+            .timeout(REQUEST_TIMEOUT);
+        if (template.basicAuth() != null) {
+            builder.header("Authorization", "Basic "
+                + Base64.getEncoder().encodeToString(template.basicAuth().getBytes(StandardCharsets.UTF_8)));
+        }
+        if (template.body() != null) {
+            builder.header("Content-Type", "application/json")
+                .method(template.method(), HttpRequest.BodyPublishers.ofString(substitute(template.body())));
+        } else {
+            builder.method(template.method(), HttpRequest.BodyPublishers.noBody());
+        }
+        return builder.build();
+    }
+
+    private Scenario.RequestTemplate pick() {
+        int roll = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Scenario.RequestTemplate template : scenario.requests()) {
+            roll -= template.weight();
+            if (roll < 0) {
+                return template;
+            }
+        }
+        throw new IllegalStateException("Request weights changed during the run");
+    }
+
+    private String substitute(String text) {
+        if (scenario.variables() == null || text.indexOf('{') < 0) {
+            return text;
+        }
+        String result = text;
+        for (Map.Entry<String, List<String>> variable : scenario.variables().entrySet()) {
+            String placeholder = "{" + variable.getKey() + "}";
+            if (result.contains(placeholder)) {
+                List<String> values = variable.getValue();
+                result = result.replace(placeholder, values.get(ThreadLocalRandom.current().nextInt(values.size())));
+            }
+        }
+        return result;
+    }
+}